@@ -0,0 +1,619 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/** Compact, versioned binary format for auctions and bidders, replacing default Java
+ * serialization for auctions.bin, bidders.bin and the segment files.
+ * <p>
+ * A file starts with a 4 byte magic, a version byte and a kind byte, followed by a
+ * varint record count and the records. Ints are zigzag varints, timestamps are epoch
+ * seconds (UTC) so they keep whole-second precision, and strings go through a
+ * dictionary built while writing: the first use of a string writes it, every later
+ * use writes only its index. A bid that belongs to its item's auction only stores its
+ * bidder and amount; its item name, auction id and times are taken from the enclosing
+ * records. Files without the magic are read as legacy ObjectOutputStream files.
+ * <p>
+ * Since version 2 an auctions file holds a table of every string it uses, then every
+ * auction header with the length of its item payload, then the payloads. Reading a
+ * file decodes only the table and the headers and leaves each auction an
+ * AuctionItemLoader that decodes its items the first time they are asked for.
+ * Since version 3 each header also holds the item count and the names of every bidder
+ * with a bid in the payload, so listings and the bidder index need no payload.
+ * @version Oct 18, 2026
+ */
+public final class AuctionCodec {
+    /** "ACDB", never a valid ObjectOutputStream header (0xACED). **/
+    private static final int MAGIC = 0x41434442;
+    /** Format version written by this class. **/
+    private static final int VERSION = 3;
+    /** File holds auctions. **/
+    private static final int KIND_AUCTIONS = 1;
+    /** File holds bidders. **/
+    private static final int KIND_BIDDERS = 2;
+
+    /** Auction flag: auction is cancelled. **/
+    private static final int AUCTION_CANCELED = 1;
+    /** Bid flag: item name differs from the enclosing item's. **/
+    private static final int BID_OWN_ITEM = 1;
+    /** Bid flag: auction id differs from the enclosing auction's. **/
+    private static final int BID_OWN_AUCTION = 2;
+    /** Bid flag: start or end differs from the enclosing auction's. **/
+    private static final int BID_OWN_TIMES = 4;
+
+    /** Private constructor to prevent instantiation. **/
+    private AuctionCodec() { }
+
+    /** Writes auctions, with their items and bids.
+     * @param auctions the auctions
+     * @param out the destination; flushed but not closed
+     * @throws IOException exception risk */
+    public static void writeAuctions(Collection<Auction> auctions, OutputStream out) throws IOException {
+        write(capture(auctions), out);
+    }
+
+    /** Takes what writing needs from each auction without encoding anything: the loader
+     * of an auction whose items were never loaded, or else a copy of its item list.
+     * Cheap enough to run under a lock; capturedToBytes does the encoding afterwards.
+     * @param auctions the auctions
+     * @return the captures, in the auctions' order */
+    public static List<Captured> capture(Collection<Auction> auctions) {
+        ArrayList<Captured> toSend = new ArrayList<>(auctions.size());
+        for (Auction auction : auctions) {
+            toSend.add(new Captured(auction));
+        }
+        return toSend;
+    }
+
+    /** Encodes captured auctions in memory. Bids an item takes after the capture may or may
+     * not be included; each item's bids are copied whole, so they never come out torn.
+     * @param captured the captures
+     * @return the encoded bytes
+     * @throws IOException exception risk */
+    public static byte[] capturedToBytes(List<Captured> captured) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        write(captured, bytes);
+        return bytes.toByteArray();
+    }
+
+    private static void write(List<Captured> auctions, OutputStream out) throws IOException {
+        ArrayList<String> table = new ArrayList<>();
+        HashMap<String, Integer> strings = new HashMap<>();
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+        Writer headers = new Writer(headerBytes, strings, table);
+        Writer payloads = new Writer(payloadBytes, strings, table);
+        for (Captured captured : auctions) {
+            Auction auction = captured.auction;
+            int offset = payloads.out.size();
+            List<Item> items = captured.items();
+            LinkedHashSet<String> bidders = new LinkedHashSet<>();
+            payloads.items(auction, items, bidders);
+            headers.header(auction, payloads.out.size() - offset);
+            headers.unsigned(items.size());
+            headers.unsigned(bidders.size());
+            for (String bidder : bidders) {
+                headers.string(bidder);
+            }
+        }
+        headers.out.flush();
+        payloads.out.flush();
+
+        Writer writer = new Writer(out, KIND_AUCTIONS);
+        writer.varint(auctions.size());
+        writer.unsigned(table.size());
+        for (String value : table) {
+            writer.utf8(value);
+        }
+        headerBytes.writeTo(writer.out);
+        payloadBytes.writeTo(writer.out);
+        writer.out.flush();
+    }
+
+    /** Reads auctions written by writeAuctions, or a legacy serialized HashSet of auctions.
+     * @param in the source; not closed
+     * @return the auctions
+     * @throws IOException exception risk
+     * @throws ClassNotFoundException exception risk */
+    @SuppressWarnings("unchecked")
+    public static HashSet<Auction> readAuctions(InputStream in) throws IOException, ClassNotFoundException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        Reader reader = Reader.open(buffered, KIND_AUCTIONS);
+        if (reader == null) {
+            return (HashSet<Auction>) new ObjectInputStream(buffered).readObject();
+        }
+        int count = reader.varint();
+        HashSet<Auction> toSend = new HashSet<>(count * 2);
+        if (reader.version < 2) {
+            for (int i = 0; i < count; i++) {
+                Auction auction = reader.header();
+                reader.items(auction).forEach(auction::addItem);
+                toSend.add(auction);
+            }
+            return toSend;
+        }
+        String[] table = new String[(int) reader.unsigned()];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = reader.utf8();
+        }
+        reader.table = table;
+        Auction[] headers = new Auction[count];
+        int[] lengths = new int[count];
+        int[] itemCounts = new int[count];
+        int[][] bidderIds = new int[count][];
+        for (int i = 0; i < count; i++) {
+            headers[i] = reader.header();
+            lengths[i] = (int) reader.unsigned();
+            itemCounts[i] = -1;
+            if (reader.version >= 3) {
+                itemCounts[i] = (int) reader.unsigned();
+                bidderIds[i] = new int[(int) reader.unsigned()];
+                for (int j = 0; j < bidderIds[i].length; j++) {
+                    bidderIds[i][j] = NameDictionary.BIDDERS.idOf(reader.string());
+                }
+            }
+        }
+        int offset = reader.pos;
+        for (int i = 0; i < count; i++) {
+            if (lengths[i] > reader.limit - offset) {
+                throw new EOFException("Item payload of auction " + headers[i].getAuctionID() + " is truncated");
+            }
+            headers[i].setItemLoader(new Payload(reader.bytes, offset, lengths[i], table, reader.version,
+                    itemCounts[i], bidderIds[i]));
+            offset += lengths[i];
+            toSend.add(headers[i]);
+        }
+        return toSend;
+    }
+
+    /** Writes bidders' account details and bids.
+     * @param bidders the bidders
+     * @param out the destination; flushed but not closed
+     * @throws IOException exception risk */
+    public static void writeBidders(Collection<Bidder> bidders, OutputStream out) throws IOException {
+        Writer writer = new Writer(out, KIND_BIDDERS);
+        writer.varint(bidders.size());
+        for (Bidder bidder : bidders) {
+            writer.bidder(bidder);
+        }
+        writer.out.flush();
+    }
+
+    /** Reads bidders written by writeBidders, or a legacy serialized HashSet of bidders.
+     * @param in the source; not closed
+     * @return the bidders
+     * @throws IOException exception risk
+     * @throws ClassNotFoundException exception risk */
+    @SuppressWarnings("unchecked")
+    public static HashSet<Bidder> readBidders(InputStream in) throws IOException, ClassNotFoundException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        Reader reader = Reader.open(buffered, KIND_BIDDERS);
+        if (reader == null) {
+            return (HashSet<Bidder>) new ObjectInputStream(buffered).readObject();
+        }
+        int count = reader.varint();
+        HashSet<Bidder> toSend = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            toSend.add(reader.bidder());
+        }
+        return toSend;
+    }
+
+    /** Encodes auctions in memory.
+     * @param auctions the auctions
+     * @return the encoded bytes
+     * @throws IOException exception risk */
+    public static byte[] auctionsToBytes(Collection<Auction> auctions) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writeAuctions(auctions, bytes);
+        return bytes.toByteArray();
+    }
+
+    /** Encodes bidders in memory.
+     * @param bidders the bidders
+     * @return the encoded bytes
+     * @throws IOException exception risk */
+    public static byte[] biddersToBytes(Collection<Bidder> bidders) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writeBidders(bidders, bytes);
+        return bytes.toByteArray();
+    }
+
+    /** Encoder holding the string dictionary for one file. */
+    private static final class Writer {
+        private final DataOutputStream out;
+        private final HashMap<String, Integer> strings;
+        /** Strings in index order when they go to a table instead of inline, else null. **/
+        private final ArrayList<String> table;
+
+        Writer(OutputStream out, int kind) throws IOException {
+            this(out, new HashMap<>(), null);
+            this.out.writeInt(MAGIC);
+            this.out.writeByte(VERSION);
+            this.out.writeByte(kind);
+        }
+
+        /** Creates a writer with no file header whose strings go to a shared table. */
+        private Writer(OutputStream out, HashMap<String, Integer> strings, ArrayList<String> table) {
+            this.out = new DataOutputStream(new BufferedOutputStream(out));
+            this.strings = strings;
+            this.table = table;
+        }
+
+        void header(Auction auction, int payloadLength) throws IOException {
+            this.varint(auction.getAuctionID());
+            this.string(auction.getOrganization());
+            this.time(auction.getStart());
+            this.time(auction.getEnd());
+            this.time(auction.getOnlineStart());
+            this.time(auction.getCreationDate());
+            this.out.writeByte(auction.isCanceled() ? AUCTION_CANCELED : 0);
+            this.unsigned(payloadLength);
+        }
+
+        /** Writes an auction's items, adding the name of every bidder to bidders. */
+        void items(Auction auction, List<Item> items, Set<String> bidders) throws IOException {
+            this.varint(items.size());
+            for (Item item : items) {
+                this.string(item.getName());
+                this.varint(item.getQuantity());
+                this.varint(item.getStartingBid());
+                this.string(item.getDescription());
+                this.string(item.getImagePath());
+                ArrayList<Bid> bids = item.getBidsSnapshot();
+                this.varint(bids.size());
+                for (Bid bid : bids) {
+                    this.bid(bid, item.getName(), auction);
+                    bidders.add(bid.getBidder());
+                }
+            }
+        }
+
+        void bidder(Bidder bidder) throws IOException {
+            this.string(bidder.getName());
+            this.string(bidder.email);
+            this.string(bidder.getUsername());
+            this.string(bidder.address);
+            this.string(bidder.phoneNumber);
+            this.varint(bidder.getBalance());
+            this.varint(bidder.getBids().size());
+            for (Bid bid : bidder.getBids()) {
+                this.bid(bid, null, null);
+            }
+        }
+
+        /** Writes a bid, leaving out whatever matches the enclosing item and auction. */
+        void bid(Bid bid, String itemName, Auction auction) throws IOException {
+            int flags = 0;
+            if (itemName == null || !itemName.equals(bid.getItem())) {
+                flags |= BID_OWN_ITEM;
+            }
+            if (auction == null || auction.getAuctionID() != bid.getAuctionID()) {
+                flags |= BID_OWN_AUCTION;
+            }
+            if (auction == null || !Objects.equals(auction.getStart(), bid.getStart())
+                    || !Objects.equals(auction.getEnd(), bid.getEnd())) {
+                flags |= BID_OWN_TIMES;
+            }
+            this.out.writeByte(flags);
+            this.string(bid.getBidder());
+            this.varint(bid.getAmount());
+            if ((flags & BID_OWN_ITEM) != 0) {
+                this.string(bid.getItem());
+            }
+            if ((flags & BID_OWN_AUCTION) != 0) {
+                this.varint(bid.getAuctionID());
+            }
+            if ((flags & BID_OWN_TIMES) != 0) {
+                this.time(bid.getStart());
+                this.time(bid.getEnd());
+            }
+        }
+
+        /** Writes 0 for null, 1 and the UTF-8 bytes for a new string, or 2 + its dictionary index.
+         * With a table, writes 0 for null or 1 + its table index. */
+        void string(String value) throws IOException {
+            if (value == null) {
+                this.unsigned(0);
+                return;
+            }
+            Integer index = this.strings.get(value);
+            if (this.table != null) {
+                if (index == null) {
+                    index = this.table.size();
+                    this.strings.put(value, index);
+                    this.table.add(value);
+                }
+                this.unsigned(index + 1L);
+                return;
+            }
+            if (index != null) {
+                this.unsigned(index + 2L);
+                return;
+            }
+            this.strings.put(value, this.strings.size());
+            this.unsigned(1);
+            this.utf8(value);
+        }
+
+        void utf8(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            this.unsigned(bytes.length);
+            this.out.write(bytes);
+        }
+
+        /** Writes 0 for null, otherwise the zigzagged epoch second plus one. */
+        void time(LocalDateTime value) throws IOException {
+            if (value == null) {
+                this.unsigned(0);
+                return;
+            }
+            long seconds = value.toEpochSecond(ZoneOffset.UTC);
+            this.unsigned(((seconds << 1) ^ (seconds >> 63)) + 1);
+        }
+
+        void varint(int value) throws IOException {
+            this.unsigned(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+        }
+
+        void unsigned(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                this.out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            this.out.writeByte((int) value);
+        }
+    }
+
+    /** Decoder holding the string dictionary for one file. Works on the file's bytes in
+     * memory, as a stream costs a synchronized call per byte. */
+    private static final class Reader {
+        private final byte[] bytes;
+        private int pos;
+        private final int limit;
+        private final ArrayList<String> strings;
+        private final int version;
+        /** The file's string table from version 2 on, else null. **/
+        private String[] table;
+
+        private Reader(byte[] bytes, int offset, int length, int version) {
+            this.bytes = bytes;
+            this.pos = offset;
+            this.limit = offset + length;
+            this.strings = new ArrayList<>();
+            this.version = version;
+        }
+
+        /** Checks the header, leaving the stream untouched if it is not in this format.
+         * @return a reader positioned after the header, or null for a legacy file */
+        static Reader open(BufferedInputStream in, int kind) throws IOException {
+            in.mark(4);
+            DataInputStream header = new DataInputStream(in);
+            int magic;
+            try {
+                magic = header.readInt();
+            } catch (EOFException e) {
+                magic = 0;
+            }
+            if (magic != MAGIC) {
+                in.reset();
+                return null;
+            }
+            int version = header.readUnsignedByte();
+            if (version > VERSION) {
+                throw new InvalidObjectException("Unsupported auction file version " + version);
+            }
+            int found = header.readUnsignedByte();
+            if (found != kind) {
+                throw new InvalidObjectException("Expected record kind " + kind + " but found " + found);
+            }
+            byte[] rest = in.readAllBytes();
+            return new Reader(rest, 0, rest.length, version);
+        }
+
+        /** Reads an auction's fields; from version 2 on its items come from a Payload. */
+        Auction header() throws IOException {
+            Auction auction = new Auction();
+            auction.setAuctionId(this.varint());
+            auction.setOrganization(this.string());
+            auction.setStart(this.time());
+            auction.setEnd(this.time());
+            auction.setOnlineStart(this.time());
+            auction.setCreationDate(this.time());
+            auction.setIsCanceled((this.readByte() & AUCTION_CANCELED) != 0);
+            return auction;
+        }
+
+        /** Reads an auction's items, taking bid defaults from the already read header. */
+        ArrayList<Item> items(Auction auction) throws IOException {
+            int count = this.varint();
+            ArrayList<Item> toSend = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Item item = new Item(this.string(), this.varint(), this.varint(), this.string(), this.string());
+                int bidCount = this.varint();
+                ArrayList<Bid> bids = new ArrayList<>(bidCount);
+                for (int j = 0; j < bidCount; j++) {
+                    bids.add(this.bid(item.getName(), auction));
+                }
+                item.addBids(bids);
+                toSend.add(item);
+            }
+            return toSend;
+        }
+
+        Bidder bidder() throws IOException {
+            Bidder bidder;
+            try {
+                bidder = new Bidder(this.string(), this.string(), this.string(), this.string(),
+                        this.string(), this.varint());
+            } catch (ClassNotFoundException e) {
+                throw new InvalidObjectException(e.toString());
+            }
+            int bids = this.varint();
+            for (int i = 0; i < bids; i++) {
+                bidder.addBid(this.bid(null, null));
+            }
+            return bidder;
+        }
+
+        Bid bid(String itemName, Auction auction) throws IOException {
+            int flags = this.readByte();
+            String bidder = this.string();
+            int amount = this.varint();
+            String item = (flags & BID_OWN_ITEM) != 0 ? this.string() : itemName;
+            int auctionId = (flags & BID_OWN_AUCTION) != 0 ? this.varint() : auction.getAuctionID();
+            LocalDateTime start;
+            LocalDateTime end;
+            if ((flags & BID_OWN_TIMES) != 0) {
+                start = this.time();
+                end = this.time();
+            } else {
+                start = auction.getStart();
+                end = auction.getEnd();
+            }
+            return new Bid(bidder, item, amount, auctionId, start, end);
+        }
+
+        String string() throws IOException {
+            long code = this.unsigned();
+            if (code == 0) {
+                return null;
+            }
+            if (this.table != null) {
+                if (code > this.table.length) {
+                    throw new StreamCorruptedException("String index " + (code - 1) + " out of range");
+                }
+                return this.table[(int) (code - 1)];
+            }
+            if (code == 1) {
+                String value = this.utf8();
+                this.strings.add(value);
+                return value;
+            }
+            if (code - 2 >= this.strings.size()) {
+                throw new StreamCorruptedException("String index " + (code - 2) + " out of range");
+            }
+            return this.strings.get((int) (code - 2));
+        }
+
+        String utf8() throws IOException {
+            long length = this.unsigned();
+            if (length > this.limit - this.pos) {
+                throw new EOFException("String of " + length + " bytes runs past the end");
+            }
+            String value = new String(this.bytes, this.pos, (int) length, StandardCharsets.UTF_8);
+            this.pos += (int) length;
+            return value;
+        }
+
+        int readByte() throws EOFException {
+            if (this.pos >= this.limit) {
+                throw new EOFException();
+            }
+            return this.bytes[this.pos++] & 0xFF;
+        }
+
+        LocalDateTime time() throws IOException {
+            long code = this.unsigned();
+            if (code == 0) {
+                return null;
+            }
+            long zigzag = code - 1;
+            return LocalDateTime.ofEpochSecond((zigzag >>> 1) ^ -(zigzag & 1), 0, ZoneOffset.UTC);
+        }
+
+        int varint() throws IOException {
+            int zigzag = (int) this.unsigned();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        long unsigned() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = this.readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new StreamCorruptedException("Malformed varint");
+        }
+    }
+
+    /** An auction's items as they stood when captured, for encoding later. */
+    public static final class Captured {
+        private final Auction auction;
+        /** The payload of items never loaded, else null. **/
+        private final Payload payload;
+        /** A copy of the loaded items, else null. **/
+        private final List<Item> items;
+
+        private Captured(Auction auction) {
+            this.auction = auction;
+            AuctionItemLoader loader = auction.getItemLoader();
+            this.payload = loader instanceof Payload ? (Payload) loader : null;
+            this.items = this.payload != null ? null : new ArrayList<>(auction.getItems());
+        }
+
+        /** Gets the captured auction's id.
+         * @return the id */
+        public int getAuctionID() {
+            return this.auction.getAuctionID();
+        }
+
+        /** Gets the items, decoding them if they were never loaded; the auction stays unloaded. */
+        private List<Item> items() throws IOException {
+            return this.payload != null ? this.payload.decode(this.auction) : this.items;
+        }
+    }
+
+    /** One auction's encoded items, decoded the first time the auction needs them. */
+    private static final class Payload implements AuctionItemLoader {
+        /** Every payload of the file the auction was read from. **/
+        private final byte[] bytes;
+        private final int offset;
+        private final int length;
+        private final String[] table;
+        private final int version;
+        /** Item count from the header, -1 before version 3. **/
+        private final int itemCount;
+        /** Bidders from the header, null before version 3. **/
+        private final int[] bidderIds;
+
+        Payload(byte[] bytes, int offset, int length, String[] table, int version, int itemCount, int[] bidderIds) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+            this.table = table;
+            this.version = version;
+            this.itemCount = itemCount;
+            this.bidderIds = bidderIds;
+        }
+
+        ArrayList<Item> decode(Auction auction) throws IOException {
+            Reader reader = new Reader(this.bytes, this.offset, this.length, this.version);
+            reader.table = this.table;
+            return reader.items(auction);
+        }
+
+        @Override
+        public int getItemCount() {
+            return this.itemCount;
+        }
+
+        @Override
+        public int[] getBidderIds() {
+            return this.bidderIds;
+        }
+
+        @Override
+        public ArrayList<Item> loadItems(Auction auction) {
+            try {
+                return this.decode(auction);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read the items of auction " + auction.getAuctionID(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** Striped write locks for DataControlCenter, keyed by auction id, so writes to
+ * different auctions never wait for each other. Auctions share a stripe only when
+ * their ids hash to it, which makes the lock count fixed however many auctions exist.
+ * <p>
+ * Lock policy, which every caller must follow to stay free of deadlocks:
+ * <ol>
+ * <li>A write to one auction (bid, cancel, add) holds that auction's stripe.</li>
+ * <li>An operation that spans several auctions, such as applying a run of sequenced
+ * bids, takes the stripes of all those auctions through lockEach, which always
+ * acquires them in ascending stripe order.</li>
+ * <li>An operation that needs every auction to stand still, such as capturing a
+ * checkpoint, takes all stripes through lockAll, in the same ascending order.</li>
+ * <li>While holding stripes a caller may take the repository's monitor and then an
+ * auction's or item's monitor, never the other way round, and never a stripe while
+ * holding any of those monitors.</li>
+ * </ol>
+ * DataControlCenter keeps a second set keyed by bidder id, so a bidder's item limits
+ * are checked and used up in one step. A bid holds its bidder's stripe, or a batch
+ * holds every bidder's through lockEach, before any auction stripe; no bidder stripe
+ * is taken while an auction stripe is held.
+ * @version Oct 18, 2026
+ */
+public class AuctionLocks {
+    private final ReentrantLock[] stripes;
+    /** Stripe count minus one; the count is a power of two. **/
+    private final int mask;
+
+    /** Creates locks with a stripe count from auctioncentral.lockStripes, by default
+     * four per processor. */
+    public AuctionLocks() {
+        this(Integer.getInteger("auctioncentral.lockStripes",
+                4 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    /** Creates locks with at least the given number of stripes.
+     * @param stripes stripe count, rounded up to a power of two */
+    public AuctionLocks(int stripes) {
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[count];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = this.stripes.length - 1;
+    }
+
+    /** Locks the stripe of one auction.
+     * @param auctionId the auction id */
+    public void lock(int auctionId) {
+        this.stripes[this.stripeOf(auctionId)].lock();
+    }
+
+    /** Unlocks the stripe of one auction.
+     * @param auctionId the auction id */
+    public void unlock(int auctionId) {
+        this.stripes[this.stripeOf(auctionId)].unlock();
+    }
+
+    /** Locks the stripes of several auctions in ascending stripe order.
+     * @param auctionIds the auction ids, in any order and possibly repeated */
+    public void lockEach(int... auctionIds) {
+        for (int stripe : this.stripesOf(auctionIds)) {
+            this.stripes[stripe].lock();
+        }
+    }
+
+    /** Unlocks stripes taken by lockEach.
+     * @param auctionIds the same auction ids passed to lockEach */
+    public void unlockEach(int... auctionIds) {
+        int[] taken = this.stripesOf(auctionIds);
+        for (int i = taken.length - 1; i >= 0; i--) {
+            this.stripes[taken[i]].unlock();
+        }
+    }
+
+    /** Locks every stripe in ascending order. */
+    public void lockAll() {
+        for (ReentrantLock stripe : this.stripes) {
+            stripe.lock();
+        }
+    }
+
+    /** Unlocks every stripe taken by lockAll. */
+    public void unlockAll() {
+        for (int i = this.stripes.length - 1; i >= 0; i--) {
+            this.stripes[i].unlock();
+        }
+    }
+
+    /** Gets the number of stripes.
+     * @return stripe count */
+    public int size() {
+        return this.stripes.length;
+    }
+
+    /** Spreads sequential ids over the stripes. */
+    private int stripeOf(int auctionId) {
+        int h = auctionId * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & this.mask;
+    }
+
+    /** Gets the distinct stripes of some auctions in ascending order. */
+    private int[] stripesOf(int[] auctionIds) {
+        int[] toSend = new int[auctionIds.length];
+        for (int i = 0; i < auctionIds.length; i++) {
+            toSend[i] = this.stripeOf(auctionIds[i]);
+        }
+        Arrays.sort(toSend);
+        int n = 0;
+        for (int i = 0; i < toSend.length; i++) {
+            if (n == 0 || toSend[n - 1] != toSend[i]) {
+                toSend[n++] = toSend[i];
+            }
+        }
+        return Arrays.copyOf(toSend, n);
+    }
+}
@@ -0,0 +1,203 @@
+import java.util.*;
+
+/** Keeps every auction resident in memory once it has been loaded from disk.
+ * DataControlCenter answers all of its queries from here and keeps it up to date
+ * through the add, cancel and bid paths instead of re-reading auctions.bin.
+ * The item name and bidder indexes are each built the first time they are asked for,
+ * so a session that only browses auction headers never loads any items, and the
+ * bidder index only loads the auctions of the bidders it is asked about.
+ * @version Oct 18, 2026
+ */
+public class AuctionRepository implements AuctionItemListener {
+    /** Primary index: every known auction keyed by its auction id, without boxing. **/
+    private final IntHashMap<Auction> auctions;
+    /** Inverted index from item names to their auctions. **/
+    private final ItemNameIndex itemNames;
+    /** Bidder name to their bids, grouped by auction. **/
+    private final BidderBidIndex bidderBids;
+    /** Auctions ordered by start and end time. **/
+    private final AuctionTimeIndex times;
+    /** Auctions grouped and ordered by organization. **/
+    private final OrganizationIndex organizations;
+    /** Whether itemNames has been built and is being kept current. **/
+    private volatile boolean itemsIndexed;
+    /** Whether bidderBids has been built and is being kept current. **/
+    private volatile boolean biddersIndexed;
+
+    /** Creates a repository holding the given auctions.
+     * @param loaded the auctions read from disk */
+    public AuctionRepository(Collection<Auction> loaded) {
+        this.auctions = new IntHashMap<>(loaded.size());
+        this.itemNames = new ItemNameIndex();
+        this.bidderBids = new BidderBidIndex();
+        this.times = new AuctionTimeIndex();
+        this.organizations = new OrganizationIndex();
+        for (Auction auction : loaded) {
+            this.add(auction);
+        }
+    }
+
+    /** Gets every auction in the repository.
+     * @return read-only view of all auctions */
+    public Collection<Auction> getAll() {
+        return Collections.unmodifiableCollection(this.auctions.values());
+    }
+
+    /** Gets an auction by its id.
+     * @param auctionId the auction id
+     * @return the auction, or null if there is none */
+    public synchronized Auction getById(int auctionId) {
+        return this.auctions.get(auctionId);
+    }
+
+    /** Adds an auction, replacing any auction with the same id.
+     * @param auction the auction */
+    public synchronized void add(Auction auction) {
+        Auction replaced = this.auctions.put(auction.getAuctionID(), auction);
+        if (replaced != null) {
+            this.unindex(replaced);
+        }
+        if (this.itemsIndexed) {
+            this.itemNames.addAuction(auction);
+        }
+        if (this.biddersIndexed) {
+            this.bidderBids.addAuction(auction);
+        }
+        this.times.add(auction);
+        this.organizations.add(auction);
+        auction.setItemListener(this);
+    }
+
+    /** Removes an auction, used once it has been cancelled.
+     * @param auction the auction
+     * @return true if the auction was in the repository */
+    public synchronized boolean remove(Auction auction) {
+        Auction removed = this.auctions.remove(auction.getAuctionID());
+        if (removed == null) {
+            return false;
+        }
+        this.unindex(removed);
+        return true;
+    }
+
+    /** Gets the index of bids by bidder.
+     * @return the bidder bid index */
+    public BidderBidIndex getBidderBids() {
+        this.indexBidders();
+        return this.bidderBids;
+    }
+
+    /** Gets the index of auction start and end times.
+     * @return the time index */
+    public AuctionTimeIndex getTimes() {
+        return this.times;
+    }
+
+    /** Gets the index of auctions by organization.
+     * @return the organization index */
+    public OrganizationIndex getOrganizations() {
+        return this.organizations;
+    }
+
+    /** Gets the index of item names.
+     * @return the item name index */
+    public ItemNameIndex getItemNames() {
+        this.indexItems();
+        return this.itemNames;
+    }
+
+    /** Gets one item of an auction by name, without building the item indexes.
+     * @param auctionId the auction id
+     * @param name the exact item name
+     * @return the item, or null if there is no such auction or item */
+    public synchronized Item getItem(int auctionId, String name) {
+        int nameId = NameDictionary.ITEMS.find(name);
+        if (this.itemsIndexed) {
+            return this.itemNames.getItem(auctionId, nameId);
+        }
+        Auction auction = this.auctions.get(auctionId);
+        Item toSend = null;
+        if (auction != null && nameId != NameDictionary.NONE) {
+            for (Item item : auction.getItems()) {
+                if (item.getNameId() == nameId) {
+                    toSend = item;
+                }
+            }
+        }
+        return toSend;
+    }
+
+    @Override
+    public synchronized void itemAdded(Auction auction, Item item) {
+        if (this.itemsIndexed) {
+            this.itemNames.addItem(auction, item);
+        }
+    }
+
+    @Override
+    public synchronized void timesChanged(Auction auction) {
+        if (this.auctions.get(auction.getAuctionID()) == auction) {
+            this.times.add(auction);
+        }
+    }
+
+    /** Records a bid that has been placed on a resident item.
+     * If the auction was not resident yet (e.g. an auction object built outside
+     * the repository) it is adopted so later queries see the bid.
+     * @param auction the auction the item belongs to
+     * @param item the item that was bid on
+     * @param bid the bid */
+    public synchronized void recordBid(Auction auction, Item item, Bid bid) {
+        if (auction != null && !this.auctions.containsKey(auction.getAuctionID())) {
+            // Adopting the auction indexes its bids, including this one.
+            this.add(auction);
+            return;
+        }
+        if (this.biddersIndexed) {
+            this.bidderBids.addBid(auction == null ? bid.getAuctionID() : auction.getAuctionID(), item, bid.getBidderId());
+        }
+    }
+
+    /** Gets the number of auctions in the repository.
+     * @return auction count */
+    public synchronized int size() {
+        return this.auctions.size();
+    }
+
+    /** Drops an auction from the secondary indexes.
+     * @param auction the auction leaving the repository */
+    private void unindex(Auction auction) {
+        if (this.itemsIndexed) {
+            this.itemNames.removeAuction(auction);
+        }
+        if (this.biddersIndexed) {
+            this.bidderBids.removeAuction(auction);
+        }
+        this.times.remove(auction);
+        this.organizations.remove(auction);
+        auction.setItemListener(null);
+    }
+
+    /** Builds the item name index over every auction, loading their items. */
+    private synchronized void indexItems() {
+        if (this.itemsIndexed) {
+            return;
+        }
+        for (Auction auction : this.auctions.values()) {
+            this.itemNames.addAuction(auction);
+        }
+        this.itemsIndexed = true;
+    }
+
+    /** Builds the bidder index over every auction, from the bidder names in their
+     * headers where the file recorded them. */
+    private synchronized void indexBidders() {
+        if (this.biddersIndexed) {
+            return;
+        }
+        for (Auction auction : this.auctions.values()) {
+            this.bidderBids.addAuction(auction);
+        }
+        this.biddersIndexed = true;
+    }
+}
@@ -0,0 +1,121 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+/** Storage engine behind DataControlCenter, covering auctions with their items and bids,
+ * and every kind of user. Engines are picked by configuration, see AuctionStores.
+ * <p>
+ * DataControlCenter calls appendBid and prepareCheckpoint while holding its own lock,
+ * so both must only copy what they need, such as lists and references; encoding and the
+ * slow writes happen in Checkpoint.commit, which runs outside that lock.
+ * @version Oct 18, 2026
+ */
+public interface AuctionStore extends Closeable {
+
+    /** Writes a checkpoint captured by prepareCheckpoint. */
+    interface Checkpoint {
+        /** Writes the captured changes.
+         * @throws IOException exception risk */
+        void commit() throws IOException;
+    }
+
+    /** Loads every auction that is not cancelled.
+     * @return the auctions
+     * @throws IOException exception risk
+     * @throws ClassNotFoundException exception risk */
+    HashSet<Auction> loadAuctions() throws IOException, ClassNotFoundException;
+
+    /** Loads the highest id of a cancelled auction, so a new auction never takes an id
+     * that a cancelled one had.
+     * @return the id, or 0 if no auction was ever cancelled
+     * @throws IOException exception risk */
+    int loadHighestCancelledId() throws IOException;
+
+    /** Loads bids recorded by appendBid that loadAuctions does not yet include, with the
+     * proxy maximums recorded by appendMaximum that are still standing.
+     * @return the bids and maximums, oldest first
+     * @throws IOException exception risk */
+    List<BidJournal.Entry> loadPendingBids() throws IOException;
+
+    /** Loads every bidder.
+     * @return the bidders
+     * @throws IOException exception risk
+     * @throws ClassNotFoundException exception risk */
+    HashSet<Bidder> loadBidders() throws IOException, ClassNotFoundException;
+
+    /** Loads every non-profit contact.
+     * @return the contacts
+     * @throws IOException exception risk
+     * @throws ClassNotFoundException exception risk */
+    HashSet<NPContact> loadNPContacts() throws IOException, ClassNotFoundException;
+
+    /** Loads every employee.
+     * @return the employees
+     * @throws IOException exception risk
+     * @throws ClassNotFoundException exception risk */
+    HashSet<AuctionCentralEmployee> loadAdmins() throws IOException, ClassNotFoundException;
+
+    /** Loads the maximum number of upcoming auctions.
+     * @return the maximum
+     * @throws IOException exception risk
+     * @throws ClassNotFoundException exception risk */
+    int loadMaxAuctions() throws IOException, ClassNotFoundException;
+
+    /** Saves the maximum number of upcoming auctions.
+     * @param max the maximum
+     * @throws IOException exception risk */
+    void saveMaxAuctions(int max) throws IOException;
+
+    /** Durably records a bid the moment it is placed; the item already holds it.
+     * @param auction the auction
+     * @param item the item
+     * @param bid the bid
+     * @throws IOException exception risk */
+    void appendBid(Auction auction, Item item, Bid bid) throws IOException;
+
+    /** Durably records bids accepted together on one auction. Engines that can write them
+     * in one go should; by default each is recorded through appendBid.
+     * @param auction the auction
+     * @param items the item of each bid, in step with bids
+     * @param bids the bids, in the order they were accepted; the items already hold them
+     * @throws IOException exception risk */
+    default void appendBids(Auction auction, List<Item> items, List<Bid> bids) throws IOException {
+        for (int i = 0; i < bids.size(); i++) {
+            this.appendBid(auction, items.get(i), bids.get(i));
+        }
+    }
+
+    /** Durably records a proxy maximum the moment it is registered, in order with the bids.
+     * @param auction the auction
+     * @param item the item
+     * @param bidder the bidder's name
+     * @param maximum the most the bidder will pay
+     * @throws IOException exception risk */
+    void appendMaximum(Auction auction, Item item, String bidder, int maximum) throws IOException;
+
+    /** Forces recorded bids to disk, for engines that buffer them.
+     * @throws IOException exception risk */
+    void syncBids() throws IOException;
+
+    /** Gets the number of bids recorded since the last checkpoint.
+     * @return bid count */
+    int pendingBidCount();
+
+    /** Captures changed and cancelled auctions for a checkpoint.
+     * @param changed added or bid-on auctions
+     * @param cancelled cancelled auctions
+     * @param all every live auction, for engines that write full snapshots
+     * @param maxima the proxy maximums standing at the capture, oldest first, which
+     * loadPendingBids must still return once the bids before them are dropped
+     * @return the checkpoint to commit
+     * @throws IOException exception risk */
+    Checkpoint prepareCheckpoint(Collection<Auction> changed, Collection<Auction> cancelled,
+                                 Collection<Auction> all, List<BidJournal.Entry> maxima) throws IOException;
+
+    /** Saves a bidder's account details.
+     * @param bidder the bidder
+     * @throws IOException exception risk */
+    void saveBidder(Bidder bidder) throws IOException;
+}
@@ -0,0 +1,38 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/** Picks the storage engine from system properties:
+ * <ul>
+ * <li>auctioncentral.store: file (default) or memory</li>
+ * <li>auctioncentral.store.dir: asset directory, default ./JavaCode/Assets</li>
+ * </ul>
+ * The memory engine starts from a copy of the file engine's data.
+ * @version Oct 18, 2026
+ */
+public final class AuctionStores {
+    /** Default asset directory, relative to the working directory. **/
+    private static final String DEFAULT_DIRECTORY = "./JavaCode/Assets";
+
+    /** Private constructor to prevent instantiation. **/
+    private AuctionStores() { }
+
+    /** Opens the configured engine.
+     * @return the store
+     * @throws IOException exception risk
+     * @throws ClassNotFoundException exception risk */
+    public static AuctionStore open() throws IOException, ClassNotFoundException {
+        Path directory = Paths.get(System.getProperty("auctioncentral.store.dir", DEFAULT_DIRECTORY));
+        String engine = System.getProperty("auctioncentral.store", "file");
+        switch (engine) {
+            case "file":
+                return new FileAuctionStore(directory);
+            case "memory":
+                try (FileAuctionStore seed = new FileAuctionStore(directory)) {
+                    return InMemoryAuctionStore.copyOf(seed);
+                }
+            default:
+                throw new IllegalArgumentException("Unknown auctioncentral.store engine: " + engine);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/** Orders auctions by start and by end time so time-window queries only visit
+ * the auctions near the window instead of every auction ever held.
+ * Range, past and future queries cost O(log n + k); a running query also visits the
+ * auctions that started within one longest span before the instant.
+ * An auction is filed under the times it had when added. Changing them afterwards
+ * needs a remove and add, which AuctionRepository does whenever Auction.setStart or
+ * setEnd is called on an auction it holds.
+ * @version Oct 18, 2026
+ */
+public class AuctionTimeIndex {
+    /** Auctions keyed by start time. **/
+    private final TreeMap<LocalDateTime, List<Auction>> byStart;
+    /** Auctions keyed by end time. **/
+    private final TreeMap<LocalDateTime, List<Auction>> byEnd;
+    /** Start and end each auction is filed under, keyed by auction id. **/
+    private final IntHashMap<LocalDateTime[]> filed;
+    /** How many indexed auctions have each span; the last key bounds how far back a
+     * running auction can start, and falls again when the longest auction leaves. **/
+    private final TreeMap<Duration, Integer> spans;
+
+    /** Creates an empty index. */
+    public AuctionTimeIndex() {
+        this.byStart = new TreeMap<>();
+        this.byEnd = new TreeMap<>();
+        this.filed = new IntHashMap<>();
+        this.spans = new TreeMap<>();
+    }
+
+    /** Indexes an auction under its current times, replacing any earlier filing of the
+     * same id. Auctions without a start or end time are skipped.
+     * @param auction the auction */
+    public void add(Auction auction) {
+        this.remove(auction);
+        LocalDateTime start = auction.getStart();
+        LocalDateTime end = auction.getEnd();
+        if (start == null || end == null) {
+            return;
+        }
+        link(this.byStart, start, auction);
+        link(this.byEnd, end, auction);
+        this.filed.put(auction.getAuctionID(), new LocalDateTime[] {start, end});
+        this.spans.merge(Duration.between(start, end), 1, Integer::sum);
+    }
+
+    /** Removes an auction from the index, wherever it was filed.
+     * @param auction the auction */
+    public void remove(Auction auction) {
+        LocalDateTime[] times = this.filed.remove(auction.getAuctionID());
+        if (times == null) {
+            return;
+        }
+        unlink(this.byStart, times[0], auction);
+        unlink(this.byEnd, times[1], auction);
+        Duration span = Duration.between(times[0], times[1]);
+        if (this.spans.merge(span, -1, Integer::sum) == 0) {
+            this.spans.remove(span);
+        }
+    }
+
+    /** Gets auctions that start at or after the lower bound and end at or before the upper bound.
+     * @param from lower bound, inclusive
+     * @param to upper bound, inclusive
+     * @return matching auctions in start order */
+    public List<Auction> within(LocalDateTime from, LocalDateTime to) {
+        List<Auction> toSend = new ArrayList<>();
+        // An auction ending by 'to' also starts by 'to', so only this start range can match.
+        for (List<Auction> auctions : this.byStart.subMap(from, true, to, true).values()) {
+            for (Auction auction : auctions) {
+                if (!auction.getEnd().isAfter(to)) {
+                    toSend.add(auction);
+                }
+            }
+        }
+        return toSend;
+    }
+
+    /** Gets auctions that have started but not ended at the given instant.
+     * @param now the instant
+     * @return running auctions in start order */
+    public List<Auction> runningAt(LocalDateTime now) {
+        List<Auction> toSend = new ArrayList<>();
+        if (this.spans.isEmpty()) {
+            return toSend;
+        }
+        LocalDateTime earliest = now.minus(this.spans.lastKey());
+        for (List<Auction> auctions : this.byStart.subMap(earliest, true, now, false).values()) {
+            for (Auction auction : auctions) {
+                if (auction.getEnd().isAfter(now)) {
+                    toSend.add(auction);
+                }
+            }
+        }
+        return toSend;
+    }
+
+    /** Gets auctions that start after the given instant.
+     * @param now the instant
+     * @return future auctions in start order */
+    public List<Auction> startingAfter(LocalDateTime now) {
+        return flatten(this.byStart.tailMap(now, false).values());
+    }
+
+    /** Gets auctions that ended before the given instant.
+     * @param now the instant
+     * @return past auctions in end order */
+    public List<Auction> endedBefore(LocalDateTime now) {
+        return flatten(this.byEnd.headMap(now, false).values());
+    }
+
+    /** Gets every auction ordered by end time.
+     * @return lazy view in end order */
+    public Iterable<Auction> inEndOrder() {
+        return flatView(this.byEnd.values());
+    }
+
+    /** Gets every auction ordered by start time.
+     * @param ascending true for earliest first, false for latest first
+     * @return lazy view in start order */
+    public Iterable<Auction> inStartOrder(boolean ascending) {
+        return flatView(ascending ? this.byStart.values() : this.byStart.descendingMap().values());
+    }
+
+    /** Walks grouped auctions one at a time without copying them.
+     * @param groups the groups, in the order to walk them
+     * @return lazy view over every auction in every group */
+    static Iterable<Auction> flatView(Collection<List<Auction>> groups) {
+        return () -> new Iterator<Auction>() {
+            private final Iterator<List<Auction>> outer = groups.iterator();
+            private Iterator<Auction> inner = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!this.inner.hasNext() && this.outer.hasNext()) {
+                    this.inner = this.outer.next().iterator();
+                }
+                return this.inner.hasNext();
+            }
+
+            @Override
+            public Auction next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return this.inner.next();
+            }
+        };
+    }
+
+    private static List<Auction> flatten(Collection<List<Auction>> groups) {
+        List<Auction> toSend = new ArrayList<>();
+        for (List<Auction> auctions : groups) {
+            toSend.addAll(auctions);
+        }
+        return toSend;
+    }
+
+    private static void link(TreeMap<LocalDateTime, List<Auction>> map, LocalDateTime key, Auction auction) {
+        List<Auction> auctions = map.get(key);
+        if (auctions == null) {
+            auctions = new ArrayList<>(1);
+            map.put(key, auctions);
+        }
+        auctions.add(auction);
+    }
+
+    private static void unlink(TreeMap<LocalDateTime, List<Auction>> map, LocalDateTime key, Auction auction) {
+        List<Auction> auctions = map.get(key);
+        if (auctions == null) {
+            return;
+        }
+        auctions.removeIf(other -> other.getAuctionID() == auction.getAuctionID());
+        if (auctions.isEmpty()) {
+            map.remove(key);
+        }
+    }
+}
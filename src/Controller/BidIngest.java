@@ -0,0 +1,162 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+
+/** Ingestion stage for bids: any number of threads submit, one thread drains. The drain
+ * thread takes whatever has queued up, up to a batch size, groups it by auction and
+ * hands each auction's group to the applier in submission order. The applier owns the
+ * auction for the whole group, so locking, persistence and the checkpoint count are paid
+ * once per group instead of once per bid. When bids arrive faster than they are applied,
+ * batches simply grow; when the queue is full, submitters wait.
+ * @version Oct 18, 2026
+ */
+public class BidIngest {
+    /** Applies one auction's bids. */
+    public interface Applier {
+        /** Applies bids on one auction and completes each one's result.
+         * @param auction the auction every bid was placed in
+         * @param bids the bids, in submission order */
+        void apply(Auction auction, List<Pending> bids);
+    }
+
+    /** A bid waiting to be applied. */
+    public static final class Pending {
+        /** Auction the bid was placed in. **/
+        public final Auction auction;
+        /** Item bid on. **/
+        public final Item item;
+        /** The bid. **/
+        public final Bid bid;
+        /** Completes with true if the bid was accepted, false if it was refused. **/
+        public final CompletableFuture<Boolean> result;
+
+        Pending(Auction auction, Item item, Bid bid) {
+            this.auction = auction;
+            this.item = item;
+            this.bid = bid;
+            this.result = new CompletableFuture<>();
+        }
+    }
+
+    /** Queued by shutdown to wake the drain thread; interrupting it could close the
+     * store's channels mid-write. **/
+    private static final Pending STOP = new Pending(null, null, null);
+
+    /** Bids waiting for the drain thread. **/
+    private final ArrayBlockingQueue<Pending> queue;
+    /** Most bids applied per drain. **/
+    private final int maxBatch;
+    /** Where the bids go. **/
+    private final Applier applier;
+    /** The drain thread. **/
+    private final Thread drainer;
+    /** Set once shutdown is requested. **/
+    private volatile boolean stopping;
+    /** Set once the drain thread has taken its last batch. **/
+    private volatile boolean finished;
+
+    /** Creates and starts an ingestion stage.
+     * @param applier applies each auction's bids
+     * @param capacity most bids that may wait at once
+     * @param maxBatch most bids taken per drain */
+    public BidIngest(Applier applier, int capacity, int maxBatch) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.applier = applier;
+        this.drainer = new Thread(this::drain, "bid-ingest");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /** Queues a bid, waiting for room if the queue is full.
+     * @param auction the auction
+     * @param item the item
+     * @param bid the bid
+     * @return completes with true if the bid was accepted; completes exceptionally if it
+     * could not be stored, or could not be queued because the stage is stopping */
+    public CompletableFuture<Boolean> submit(Auction auction, Item item, Bid bid) {
+        Pending pending = new Pending(auction, item, bid);
+        if (this.stopping) {
+            pending.result.completeExceptionally(new IllegalStateException("Bid ingestion has stopped"));
+            return pending.result;
+        }
+        try {
+            this.queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.result.completeExceptionally(e);
+            return pending.result;
+        }
+        if (this.finished && this.queue.remove(pending)) {
+            // Raced with shutdown and missed the last drain.
+            pending.result.completeExceptionally(new IllegalStateException("Bid ingestion has stopped"));
+        }
+        return pending.result;
+    }
+
+    /** Gets the number of bids waiting.
+     * @return queue length */
+    public int size() {
+        return this.queue.size();
+    }
+
+    /** Applies the bids already queued, then stops the drain thread, waiting until it
+     * has unless called from the applier itself.
+     * @throws InterruptedException if interrupted while queuing the stop or waiting */
+    public void shutdown() throws InterruptedException {
+        if (!this.stopping) {
+            this.stopping = true;
+            this.queue.put(STOP);
+        }
+        if (Thread.currentThread() != this.drainer) {
+            this.drainer.join();
+        }
+    }
+
+    private void drain() {
+        ArrayList<Pending> batch = new ArrayList<>(this.maxBatch);
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(this.queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            this.queue.drainTo(batch, this.maxBatch - 1);
+            stop = batch.remove(STOP);
+            if (stop) {
+                // Submitters that got past the stopping check before it was set still get applied.
+                this.finished = true;
+                this.queue.drainTo(batch);
+            }
+            this.applyGrouped(batch);
+            batch.clear();
+        }
+    }
+
+    /** Splits a batch by auction, keeping submission order within each auction. */
+    private void applyGrouped(List<Pending> batch) {
+        IntHashMap<ArrayList<Pending>> byAuction = new IntHashMap<>();
+        ArrayList<ArrayList<Pending>> groups = new ArrayList<>();
+        for (Pending pending : batch) {
+            int auctionId = pending.auction.getAuctionID();
+            ArrayList<Pending> group = byAuction.get(auctionId);
+            if (group == null) {
+                group = new ArrayList<>();
+                byAuction.put(auctionId, group);
+                groups.add(group);
+            }
+            group.add(pending);
+        }
+        for (ArrayList<Pending> group : groups) {
+            try {
+                this.applier.apply(group.get(0).auction, group);
+            } catch (RuntimeException e) {
+                for (Pending pending : group) {
+                    pending.result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+}
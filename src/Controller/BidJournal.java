@@ -0,0 +1,373 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/** Append-only, checksummed log of every bid placed since the last auctions.bin snapshot.
+ * Each record is [int length][payload][int crc32], where the payload holds the
+ * auction id, bidder name, item name and amount. A proxy maximum is journaled the same
+ * way, its payload followed by a single 1 byte. A torn or corrupt tail left by a
+ * crash is detected on replay and cut off.
+ * <p>
+ * Fsync is group-committed: the channel is forced once {@code syncEvery} records are
+ * pending, and, when {@code syncMillis} is positive, at least that often in the background.
+ * {@code syncEvery = 1} forces every record; {@code syncEvery = 0} leaves it to the OS.
+ * A failed background force is thrown by the next call to sync.
+ * @version Oct 18, 2026
+ */
+public class BidJournal implements Closeable {
+    /** Length plus checksum bytes around each payload. **/
+    private static final int FRAME_OVERHEAD = 8;
+    /** Refuse records bigger than this when replaying, they can only be garbage. **/
+    private static final int MAX_RECORD = 1 << 16;
+
+    /** The journal file. **/
+    private final Path path;
+    /** Force after this many unsynced records, 0 for never. **/
+    private final int syncEvery;
+    /** Background force interval in milliseconds, 0 for none. **/
+    private final long syncMillis;
+    /** Open channel, created on the first append. **/
+    private FileChannel channel;
+    /** Records written but not yet forced. **/
+    private int pending;
+    /** Records in the journal since the last reset. **/
+    private int records;
+    /** Runs the interval sync, if configured. **/
+    private ScheduledExecutorService syncer;
+    /** Failure of the interval sync not yet thrown by sync. **/
+    private IOException syncFailure;
+
+    /** One journaled bid or proxy maximum. */
+    public static class Entry {
+        /** Auction the bid was placed in. **/
+        public final int auctionId;
+        /** Bidder's name. **/
+        public final String bidder;
+        /** Item's name. **/
+        public final String item;
+        /** Bid amount, or the most the bidder will pay for a proxy maximum. **/
+        public final int amount;
+        /** True for a proxy maximum, false for a bid. **/
+        public final boolean maximum;
+
+        public Entry(int auctionId, String bidder, String item, int amount) {
+            this(auctionId, bidder, item, amount, false);
+        }
+
+        public Entry(int auctionId, String bidder, String item, int amount, boolean maximum) {
+            this.auctionId = auctionId;
+            this.bidder = bidder;
+            this.item = item;
+            this.amount = amount;
+            this.maximum = maximum;
+        }
+    }
+
+    /** Creates a journal; nothing is opened until the first append.
+     * @param path the journal file
+     * @param syncEvery force after this many records, 1 for every record, 0 for never
+     * @param syncMillis also force this often in the background, 0 for never */
+    public BidJournal(Path path, int syncEvery, long syncMillis) {
+        this.path = path;
+        this.syncEvery = syncEvery;
+        this.syncMillis = syncMillis;
+    }
+
+    /** Reads every intact record, cutting off a torn or corrupt tail.
+     * @return the journaled bids and proxy maximums, oldest first
+     * @throws IOException exception risk */
+    public synchronized List<Entry> replay() throws IOException {
+        List<Entry> toSend = new ArrayList<>();
+        if (!Files.exists(this.path)) {
+            return toSend;
+        }
+        long good = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.path)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0 || length > MAX_RECORD) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                int crc;
+                try {
+                    in.readFully(payload);
+                    crc = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                CRC32 check = new CRC32();
+                check.update(payload);
+                if ((int) check.getValue() != crc) {
+                    break;
+                }
+                toSend.add(decode(payload));
+                good += length + FRAME_OVERHEAD;
+            }
+        }
+        if (good < Files.size(this.path)) {
+            try (FileChannel fc = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+                fc.truncate(good);
+            }
+        }
+        this.records = toSend.size();
+        return toSend;
+    }
+
+    /** Appends one bid.
+     * @param auctionId the auction id
+     * @param bid the bid
+     * @throws IOException exception risk */
+    public synchronized void append(int auctionId, Bid bid) throws IOException {
+        this.write(encode(new Entry(auctionId, bid.getBidder(), bid.getItem(), bid.getAmount())));
+    }
+
+    /** Appends a proxy maximum.
+     * @param auctionId the auction id
+     * @param bidder the bidder's name
+     * @param item the item's name
+     * @param maximum the most the bidder will pay
+     * @throws IOException exception risk */
+    public synchronized void appendMaximum(int auctionId, String bidder, String item, int maximum) throws IOException {
+        this.write(encode(new Entry(auctionId, bidder, item, maximum, true)));
+    }
+
+    /** Writes one framed record, forcing it if syncEvery says so. */
+    private void write(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(payload.length + FRAME_OVERHEAD);
+        frame.putInt(payload.length).put(payload).putInt((int) crc.getValue()).flip();
+        FileChannel fc = this.open();
+        while (frame.hasRemaining()) {
+            fc.write(frame);
+        }
+        this.records++;
+        this.pending++;
+        if (this.syncEvery > 0 && this.pending >= this.syncEvery) {
+            this.force();
+        }
+    }
+
+    /** Appends several bids with one write, counting them as one group towards the
+     * fsync, so a batch costs at most one force.
+     * @param auctionId the auction id every bid was placed in
+     * @param bids the bids
+     * @throws IOException exception risk */
+    public synchronized void appendAll(int auctionId, List<Bid> bids) throws IOException {
+        ByteArrayOutputStream frames = new ByteArrayOutputStream(bids.size() * 64);
+        DataOutputStream out = new DataOutputStream(frames);
+        CRC32 crc = new CRC32();
+        for (Bid bid : bids) {
+            byte[] payload = encode(new Entry(auctionId, bid.getBidder(), bid.getItem(), bid.getAmount()));
+            crc.reset();
+            crc.update(payload);
+            out.writeInt(payload.length);
+            out.write(payload);
+            out.writeInt((int) crc.getValue());
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(frames.toByteArray());
+        FileChannel fc = this.open();
+        while (buffer.hasRemaining()) {
+            fc.write(buffer);
+        }
+        this.records += bids.size();
+        this.pending += bids.size();
+        if (this.syncEvery > 0 && this.pending >= this.syncEvery) {
+            this.force();
+        }
+    }
+
+    /** Forces pending records to disk.
+     * @throws IOException if forcing fails, or if a background force failed since the
+     * last call, as the records it covered may not have reached the disk */
+    public synchronized void sync() throws IOException {
+        IOException failed = this.syncFailure;
+        if (failed != null) {
+            this.syncFailure = null;
+            throw failed;
+        }
+        this.force();
+    }
+
+    /** Empties the journal once its bids are safely in a snapshot.
+     * @throws IOException exception risk */
+    public synchronized void reset() throws IOException {
+        if (this.channel != null) {
+            this.channel.truncate(0);
+            this.channel.force(true);
+        } else if (Files.exists(this.path)) {
+            try (FileChannel fc = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+                fc.truncate(0);
+            }
+        }
+        this.pending = 0;
+        this.records = 0;
+    }
+
+    /** Gets the journal's current end, to be passed to discardUpTo once everything
+     * before it has been saved elsewhere.
+     * @return byte offset of the end of the journal
+     * @throws IOException exception risk */
+    public synchronized long mark() throws IOException {
+        if (this.channel != null) {
+            return this.channel.size();
+        }
+        return Files.exists(this.path) ? Files.size(this.path) : 0;
+    }
+
+    /** Drops every record before a mark, keeping records appended after it.
+     * The kept tail is written to a new file that atomically replaces the journal.
+     * @param mark an offset returned by mark()
+     * @throws IOException exception risk */
+    public synchronized void discardUpTo(long mark) throws IOException {
+        this.discardUpTo(mark, Collections.emptyList());
+    }
+
+    /** Drops every record before a mark, keeping records appended after it behind a set
+     * of records carried over, such as the proxy maximums still standing at the mark.
+     * The new journal is written to a new file that atomically replaces the journal.
+     * @param mark an offset returned by mark()
+     * @param carried records to keep in front of the tail, oldest first
+     * @throws IOException exception risk */
+    public synchronized void discardUpTo(long mark, List<Entry> carried) throws IOException {
+        long end = this.mark();
+        if (mark >= end && carried.isEmpty()) {
+            this.reset();
+            return;
+        }
+        this.sync();
+        ByteArrayOutputStream kept = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(kept);
+        CRC32 crc = new CRC32();
+        for (Entry entry : carried) {
+            byte[] payload = encode(entry);
+            crc.reset();
+            crc.update(payload);
+            out.writeInt(payload.length);
+            out.write(payload);
+            out.writeInt((int) crc.getValue());
+        }
+        byte[] tail = new byte[(int) Math.max(0, end - mark)];
+        if (tail.length > 0) {
+            try (FileChannel fc = FileChannel.open(this.path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.wrap(tail);
+                long position = mark;
+                while (buffer.hasRemaining()) {
+                    int read = fc.read(buffer, position);
+                    if (read < 0) {
+                        break;
+                    }
+                    position += read;
+                }
+            }
+        }
+        int count = carried.size();
+        for (int offset = 0; offset + 4 <= tail.length; count++) {
+            offset += ByteBuffer.wrap(tail, offset, 4).getInt() + FRAME_OVERHEAD;
+        }
+        out.write(tail);
+        if (this.channel != null) {
+            this.channel.close();
+            this.channel = null;
+        }
+        SnapshotFiles.writeAtomically(this.path, kept.toByteArray());
+        this.records = count;
+        this.pending = 0;
+    }
+
+    /** Gets the number of records since the last reset.
+     * @return record count */
+    public synchronized int size() {
+        return this.records;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.syncer != null) {
+            this.syncer.shutdownNow();
+            this.syncer = null;
+        }
+        if (this.channel != null) {
+            try {
+                this.sync();
+            } finally {
+                this.channel.close();
+                this.channel = null;
+            }
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        if (this.channel == null) {
+            this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            if (this.syncMillis > 0 && this.syncer == null) {
+                this.syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "bid-journal-sync");
+                    t.setDaemon(true);
+                    return t;
+                });
+                this.syncer.scheduleWithFixedDelay(this::backgroundSync,
+                        this.syncMillis, this.syncMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return this.channel;
+    }
+
+    private synchronized void force() throws IOException {
+        if (this.channel != null && this.pending > 0) {
+            this.channel.force(false);
+            this.pending = 0;
+        }
+    }
+
+    /** Interval sync; keeps a failure for the next sync call to throw. */
+    private synchronized void backgroundSync() {
+        try {
+            this.force();
+        } catch (IOException e) {
+            e.printStackTrace();
+            this.syncFailure = e;
+        }
+    }
+
+    private static byte[] encode(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(entry.auctionId);
+        out.writeUTF(entry.bidder);
+        out.writeUTF(entry.item);
+        out.writeInt(entry.amount);
+        if (entry.maximum) {
+            out.writeByte(1);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        return new Entry(in.readInt(), in.readUTF(), in.readUTF(), in.readInt(),
+                in.available() > 0 && in.readByte() == 1);
+    }
+
+    /** Gets a string for logging.
+     * @return path and record count */
+    @Override
+    public String toString() {
+        return this.path + " (" + this.records + " records)";
+    }
+}
@@ -0,0 +1,28 @@
+/** Thrown when a bid on a new item would take a bidder past
+ * Bidder.MAX_ITEMS_WITH_BID_IN_AN_AUCTION in its auction, or past
+ * Bidder.MAX_ITEMS_WITH_BID_IN_ALL_AUCTIONS across every upcoming auction.
+ * @version Oct 18, 2026
+ */
+public class BidLimitException extends RuntimeException {
+    private static final long serialVersionUID = 3198409265307725151L;
+
+    /** True for the limit across all auctions, false for the one in a single auction. **/
+    private final boolean allAuctions;
+
+    /** Creates the exception.
+     * @param allAuctions true if the limit across all upcoming auctions was reached,
+     * false if the limit in the bid's auction was */
+    public BidLimitException(boolean allAuctions) {
+        super(allAuctions
+                ? "Bidder has bids on " + Bidder.MAX_ITEMS_WITH_BID_IN_ALL_AUCTIONS + " items in upcoming auctions"
+                : "Bidder has bids on " + Bidder.MAX_ITEMS_WITH_BID_IN_AN_AUCTION + " items in this auction");
+        this.allAuctions = allAuctions;
+    }
+
+    /** Tells which limit was reached.
+     * @return true for the limit across all upcoming auctions, false for the one in the
+     * bid's auction */
+    public boolean isAllAuctions() {
+        return this.allAuctions;
+    }
+}
@@ -0,0 +1,13 @@
+/** Notified whenever DataControlCenter accepts a bid, whatever path placed it, so
+ * feeds of live prices can stay current without polling.
+ * @version Oct 18, 2026
+ */
+public interface BidListener {
+    /** Called right after a bid is applied in memory, before it is stored, while the
+     * auction's lock is held; must return quickly and must not call back into
+     * DataControlCenter.
+     * @param auction the auction
+     * @param item the item, already showing the bid as its current price
+     * @param bid the accepted bid */
+    void bidPlaced(Auction auction, Item item, Bid bid);
+}
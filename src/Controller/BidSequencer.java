@@ -0,0 +1,338 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/** Ring-buffer execution mode for the bid path. Bidding threads claim sequence numbers
+ * and publish their bids into a preallocated ring; a journaling consumer and a
+ * replication consumer, running side by side, each record every published bid; then one
+ * business thread applies the bids both have recorded, in sequence order, so items only
+ * ever see a single writer and never take a bid that is not on disk. A bid that either
+ * consumer failed to record is not applied. A bidding thread gets its answer once the
+ * business thread has passed its bid, and only then hands the slot back for reuse.
+ * <p>
+ * Each stage takes everything available since its last pass, so under load the work per
+ * bid shrinks: the journaling consumer writes a whole run with one appendBids per
+ * auction, and the business thread takes the stripes of a whole run at once.
+ * A barrier task runs on the business thread between the bids before it and after it,
+ * while the journaling consumer waits, so a checkpoint can capture the auctions at a
+ * point where they hold exactly the bids the journal holds.
+ * Slots are reused, never reallocated, and waiting threads spin briefly, yield, then park.
+ * The threads are daemons and run for the life of the process.
+ * @version Oct 18, 2026
+ */
+public class BidSequencer {
+    /** Business logic, run on the business thread. */
+    public interface Handler {
+        /** Applies a run of bids, in order, once both consumers have recorded them. Runs
+         * alone, so needs no locking of its own against other bids, only against writers
+         * outside the ring. If it throws, every slot in the run fails with that
+         * exception, so the handler must not leave a bid applied when it throws.
+         * @param run the slots, with auction, item and bid set; the handler sets accepted
+         * on each */
+        void apply(List<Slot> run);
+    }
+
+    /** Records the published bids before the business thread applies them. */
+    public interface Consumer {
+        /** Handles a run of published slots, in order, before anything is decided about
+         * them, so every bid is recorded whether or not it is then accepted.
+         * @param run the slots
+         * @throws IOException exception risk; every slot in the run then fails and is not
+         * applied, as on a RuntimeException */
+        void consume(List<Slot> run) throws IOException;
+    }
+
+    /** One entry of the ring. Fields are written by one thread at a time, handed on by
+     * the sequence cursors. */
+    public static final class Slot {
+        /** Auction the bid was placed in. **/
+        public Auction auction;
+        /** Item bid on. **/
+        public Item item;
+        /** The bid, or for a proxy registration the maximum. **/
+        public Bid bid;
+        /** Whether the bid is a proxy maximum to register rather than a bid to place. **/
+        public boolean maximum;
+        /** Set by the handler: whether the bid was accepted. **/
+        public boolean accepted;
+        /** Set by the handler when it refuses this bid with an exception, or by the
+         * handler or a consumer that failed on this slot's run; an I/O failure is
+         * wrapped in an UncheckedIOException. **/
+        RuntimeException error;
+        /** Barrier task in place of a bid, or null. **/
+        Runnable task;
+        /** Sequence of the bid in this slot once published. **/
+        volatile long published = -1;
+        /** Sequence of the bid whose owner has read its answer. **/
+        volatile long released;
+    }
+
+    /** The ring, its size a power of two. **/
+    private final Slot[] ring;
+    private final int mask;
+    /** Last sequence claimed by a bidding thread. **/
+    private final AtomicLong claimed;
+    /** Last sequence applied by the business thread. **/
+    private final AtomicLong applied;
+    /** Last sequence recorded by each consumer. **/
+    private final AtomicLong journaled;
+    private final AtomicLong replicated;
+    private final Handler handler;
+    private final Consumer journal;
+    private final Consumer replica;
+
+    /** Creates and starts a sequencer.
+     * @param size ring size, rounded up to a power of two
+     * @param handler the business logic
+     * @param journal the journaling consumer
+     * @param replica the replication consumer */
+    public BidSequencer(int size, Handler handler, Consumer journal, Consumer replica) {
+        int count = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.ring = new Slot[count];
+        for (int i = 0; i < count; i++) {
+            this.ring[i] = new Slot();
+            // A fresh slot counts as released by the lap before the first.
+            this.ring[i].released = i - (long) count;
+        }
+        this.mask = count - 1;
+        this.claimed = new AtomicLong(-1);
+        this.applied = new AtomicLong(-1);
+        this.journaled = new AtomicLong(-1);
+        this.replicated = new AtomicLong(-1);
+        this.handler = handler;
+        this.journal = journal;
+        this.replica = replica;
+        this.start("bid-sequencer-business", this::runBusiness);
+        this.start("bid-sequencer-journal", () -> this.runConsumer(this.journal, this.journaled, true));
+        this.start("bid-sequencer-replica", () -> this.runConsumer(this.replica, this.replicated, false));
+    }
+
+    /** Places a bid through the ring and waits for its answer.
+     * @param auction the auction
+     * @param item the item
+     * @param bid the bid
+     * @return true if the bid was journaled, replicated and accepted
+     * @throws UncheckedIOException if the journal or the replica could not record it, in
+     * which case it was not applied
+     * @throws RuntimeException whatever else failed the bid's run */
+    public boolean place(Auction auction, Item item, Bid bid) {
+        long seq = this.claim(1);
+        this.publish(seq, auction, item, bid, false);
+        return this.answer(seq);
+    }
+
+    /** Registers a proxy maximum through the ring, in sequence with the bids, and waits
+     * for its answer.
+     * @param auction the auction
+     * @param item the item
+     * @param maximum the maximum, as a bid of the most the bidder will pay
+     * @return true if the maximum was journaled, replicated and registered
+     * @throws UncheckedIOException if the journal or the replica could not record it
+     * @throws RuntimeException whatever else failed the maximum's run */
+    public boolean placeMaximum(Auction auction, Item item, Bid maximum) {
+        long seq = this.claim(1);
+        this.publish(seq, auction, item, maximum, true);
+        return this.answer(seq);
+    }
+
+    /** Places several bids through the ring, claiming their slots together, and
+     * completes each one's result.
+     * @param bids the bids */
+    public void placeAll(List<BidIngest.Pending> bids) {
+        for (int from = 0; from < bids.size(); from += this.ring.length) {
+            int n = Math.min(this.ring.length, bids.size() - from);
+            long first = this.claim(n) - n + 1;
+            for (int i = 0; i < n; i++) {
+                BidIngest.Pending pending = bids.get(from + i);
+                this.publish(first + i, pending.auction, pending.item, pending.bid, false);
+            }
+            for (int i = 0; i < n; i++) {
+                try {
+                    bids.get(from + i).result.complete(this.answer(first + i));
+                } catch (RuntimeException e) {
+                    bids.get(from + i).result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /** Runs a task on the business thread once every bid published before it is applied,
+     * and before the journaling consumer records any bid published after it.
+     * @param task the task
+     * @throws RuntimeException whatever the task threw */
+    public void barrier(Runnable task) {
+        long seq = this.claim(1);
+        Slot slot = this.ring[(int) seq & this.mask];
+        slot.task = task;
+        this.publish(seq, null, null, null, false);
+        this.answer(seq);
+    }
+
+    /** Gets the ring size.
+     * @return slot count */
+    public int size() {
+        return this.ring.length;
+    }
+
+    /** Claims the next n sequences, waiting until their slots are released.
+     * @return the last sequence claimed */
+    private long claim(int n) {
+        long last = this.claimed.addAndGet(n);
+        for (long seq = last - n + 1; seq <= last; seq++) {
+            Slot slot = this.ring[(int) seq & this.mask];
+            for (int spins = 0; slot.released != seq - this.ring.length; ) {
+                spins = idle(spins);
+            }
+        }
+        return last;
+    }
+
+    private void publish(long seq, Auction auction, Item item, Bid bid, boolean maximum) {
+        Slot slot = this.ring[(int) seq & this.mask];
+        slot.auction = auction;
+        slot.item = item;
+        slot.bid = bid;
+        slot.maximum = maximum;
+        slot.accepted = false;
+        slot.error = null;
+        slot.published = seq;
+    }
+
+    /** Waits for the business thread to pass a sequence, reads its answer and releases the slot. */
+    private boolean answer(long seq) {
+        for (int spins = 0; this.applied.get() < seq; ) {
+            spins = idle(spins);
+        }
+        Slot slot = this.ring[(int) seq & this.mask];
+        boolean accepted = slot.accepted;
+        RuntimeException error = slot.error;
+        slot.auction = null;
+        slot.item = null;
+        slot.bid = null;
+        slot.task = null;
+        slot.released = seq;
+        if (error != null) {
+            throw error;
+        }
+        return accepted;
+    }
+
+    private void runBusiness() {
+        ArrayList<Slot> run = new ArrayList<>();
+        long next = 0;
+        for (int spins = 0; ; ) {
+            long available = Math.min(this.journaled.get(), this.replicated.get());
+            if (available < next) {
+                spins = idle(spins);
+                continue;
+            }
+            spins = 0;
+            for (; next <= available; next++) {
+                Slot slot = this.ring[(int) next & this.mask];
+                if (slot.task != null) {
+                    this.apply(run, next - 1);
+                    try {
+                        slot.task.run();
+                    } catch (RuntimeException e) {
+                        slot.error = e;
+                    }
+                    this.applied.set(next);
+                } else if (slot.error == null) {
+                    run.add(slot);
+                }
+            }
+            this.apply(run, available);
+        }
+    }
+
+    /** Applies the recorded bids of a run and moves the applied cursor up to a sequence. */
+    private void apply(ArrayList<Slot> run, long upTo) {
+        if (!run.isEmpty()) {
+            try {
+                this.handler.apply(run);
+            } catch (RuntimeException e) {
+                fail(run, e);
+            }
+            run.clear();
+        }
+        if (upTo > this.applied.get()) {
+            this.applied.set(upTo);
+        }
+    }
+
+    /** Records published slots in runs, stopping at a gap or a barrier. At a barrier the
+     * journaling consumer waits for the business thread to run the task before it goes
+     * on; the replica has nothing to keep in step with and passes straight through. */
+    private void runConsumer(Consumer consumer, AtomicLong cursor, boolean holdsAtBarrier) {
+        ArrayList<Slot> run = new ArrayList<>();
+        long next = 0;
+        for (int spins = 0; ; ) {
+            Slot barrier = null;
+            while (run.size() < this.ring.length) {
+                Slot slot = this.ring[(int) next & this.mask];
+                if (slot.published != next) {
+                    break;
+                }
+                if (slot.task != null) {
+                    barrier = slot;
+                    break;
+                }
+                run.add(slot);
+                next++;
+            }
+            if (run.isEmpty() && barrier == null) {
+                spins = idle(spins);
+                continue;
+            }
+            spins = 0;
+            if (!run.isEmpty()) {
+                try {
+                    consumer.consume(run);
+                } catch (IOException e) {
+                    fail(run, new UncheckedIOException(e));
+                } catch (RuntimeException e) {
+                    fail(run, e);
+                }
+                run.clear();
+            }
+            if (barrier != null) {
+                cursor.set(next);
+                for (int waits = 0; holdsAtBarrier && this.applied.get() < next; ) {
+                    waits = idle(waits);
+                }
+                next++;
+            } else {
+                cursor.set(next - 1);
+            }
+        }
+    }
+
+    /** Fails every slot of a run; each bidding thread rethrows the error with its answer. */
+    private static void fail(List<Slot> run, RuntimeException error) {
+        for (Slot slot : run) {
+            slot.error = error;
+        }
+    }
+
+    private void start(String name, Runnable body) {
+        Thread thread = new Thread(body, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Spins, then yields, then parks, for longer once the ring has been quiet a while.
+     * @return the wait count to pass next time */
+    private static int idle(int spins) {
+        if (spins < 100) {
+            Thread.onSpinWait();
+        } else if (spins < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(spins < 1000 ? 50_000L : 1_000_000L);
+        }
+        return Math.min(spins + 1, 1000);
+    }
+}
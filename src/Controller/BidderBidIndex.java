@@ -0,0 +1,140 @@
+import java.util.*;
+
+/** Secondary index from a bidder's name id to the items they have bid on, grouped by
+ * auction id. Lets the "items I have bid on" views touch only that bidder's own items.
+ * The bids themselves stay packed in each item's history and are only built when asked
+ * for. An auction whose items are not loaded yet, but whose loader names its bidders,
+ * is indexed from those names alone; its items are loaded the first time one of its
+ * bidders' items are asked for.
+ * @version Oct 18, 2026
+ */
+public class BidderBidIndex {
+    /** Bidder name id to the items they bid on keyed by auction id. **/
+    private final IntHashMap<IntHashMap<ArrayList<Item>>> byBidder;
+    /** Auctions indexed by bidder name only, keyed by auction id, until their items load. **/
+    private final IntHashMap<Auction> unloaded;
+
+    /** Creates an empty index. */
+    public BidderBidIndex() {
+        this.byBidder = new IntHashMap<>();
+        this.unloaded = new IntHashMap<>();
+    }
+
+    /** Indexes every bid already placed in the auction.
+     * @param auction the auction */
+    public void addAuction(Auction auction) {
+        AuctionItemLoader loader = auction.getItemLoader();
+        int[] bidderIds = loader == null ? null : loader.getBidderIds();
+        if (bidderIds != null) {
+            for (int bidderId : bidderIds) {
+                this.itemsOf(bidderId, auction.getAuctionID());
+            }
+            this.unloaded.put(auction.getAuctionID(), auction);
+            return;
+        }
+        this.indexItems(auction);
+    }
+
+    private void indexItems(Auction auction) {
+        for (Item item : auction.getItems()) {
+            BidHistory history = item.getBidHistory();
+            for (int i = 0; i < history.size(); i++) {
+                this.addBid(auction.getAuctionID(), item, history.getBidderId(i));
+            }
+        }
+    }
+
+    /** Drops every bid placed in the auction.
+     * @param auction the auction */
+    public void removeAuction(Auction auction) {
+        this.unloaded.remove(auction.getAuctionID());
+        for (int bidderId : this.byBidder.keys()) {
+            IntHashMap<ArrayList<Item>> auctions = this.byBidder.get(bidderId);
+            auctions.remove(auction.getAuctionID());
+            if (auctions.isEmpty()) {
+                this.byBidder.remove(bidderId);
+            }
+        }
+    }
+
+    /** Indexes one bid.
+     * @param auctionId the auction the bid was placed in
+     * @param item the item that was bid on
+     * @param bidderId the bidder's id in NameDictionary.BIDDERS */
+    public void addBid(int auctionId, Item item, int bidderId) {
+        this.load(auctionId);
+        ArrayList<Item> items = this.itemsOf(bidderId, auctionId);
+        // A bidder raising their own bid is common, so the last item is checked first.
+        for (int i = items.size() - 1; i >= 0; i--) {
+            if (items.get(i) == item) {
+                return;
+            }
+        }
+        items.add(item);
+    }
+
+    /** Gets a bidder's item list for an auction, creating it empty. */
+    private ArrayList<Item> itemsOf(int bidderId, int auctionId) {
+        IntHashMap<ArrayList<Item>> auctions = this.byBidder.get(bidderId);
+        if (auctions == null) {
+            auctions = new IntHashMap<>();
+            this.byBidder.put(bidderId, auctions);
+        }
+        ArrayList<Item> items = auctions.get(auctionId);
+        if (items == null) {
+            items = new ArrayList<>(2);
+            auctions.put(auctionId, items);
+        }
+        return items;
+    }
+
+    /** Fills in the items of an auction indexed by bidder name only, loading them. */
+    private void load(int auctionId) {
+        Auction auction = this.unloaded.remove(auctionId);
+        if (auction != null) {
+            this.indexItems(auction);
+        }
+    }
+
+    /** Gets the ids of every auction the bidder has bid in.
+     * @param bidderId the bidder's id in NameDictionary.BIDDERS
+     * @return auction ids, empty if none */
+    public int[] getAuctionIds(int bidderId) {
+        IntHashMap<ArrayList<Item>> auctions = this.byBidder.get(bidderId);
+        return auctions == null ? new int[0] : auctions.keys();
+    }
+
+    /** Gets the items the bidder has bid on in one auction.
+     * @param bidderId the bidder's id in NameDictionary.BIDDERS
+     * @param auctionId the auction id
+     * @return read-only list of items, empty if none */
+    public List<Item> getItems(int bidderId, int auctionId) {
+        this.load(auctionId);
+        IntHashMap<ArrayList<Item>> auctions = this.byBidder.get(bidderId);
+        ArrayList<Item> items = auctions == null ? null : auctions.get(auctionId);
+        return items == null ? Collections.emptyList() : Collections.unmodifiableList(items);
+    }
+
+    /** Gets the bidder's bids in one auction.
+     * @param bidderId the bidder's id in NameDictionary.BIDDERS
+     * @param auctionId the auction id
+     * @return the bids, empty if none */
+    public List<Bid> getBids(int bidderId, int auctionId) {
+        ArrayList<Bid> toSend = new ArrayList<>();
+        for (Item item : this.getItems(bidderId, auctionId)) {
+            toSend.addAll(item.getBidHistory().toList(bidderId));
+        }
+        return toSend;
+    }
+
+    /** Gets all of the bidder's bids, grouped by auction.
+     * @param bidderId the bidder's id in NameDictionary.BIDDERS
+     * @return the per-auction bid lists */
+    public Collection<ArrayList<Bid>> getBidsByAuction(int bidderId) {
+        ArrayList<ArrayList<Bid>> toSend = new ArrayList<>();
+        for (int auctionId : this.getAuctionIds(bidderId)) {
+            toSend.add(new ArrayList<>(this.getBids(bidderId, auctionId)));
+        }
+        return toSend;
+    }
+}
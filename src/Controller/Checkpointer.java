@@ -0,0 +1,130 @@
+import java.io.IOException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Runs checkpoints on a background thread, on a fixed interval and whenever a
+ * number of changes have built up, so the UI thread never waits on disk writes.
+ * At most one checkpoint is queued at a time. The last background failure is kept
+ * until takeFailure or flush reports it.
+ * @version Oct 18, 2026
+ */
+public class Checkpointer {
+    /** A checkpoint that may fail with an IOException. */
+    public interface Task {
+        /** Runs the checkpoint.
+         * @throws IOException exception risk */
+        void run() throws IOException;
+    }
+
+    /** The checkpoint to run. **/
+    private final Task task;
+    /** Changes that trigger a checkpoint, 0 for interval only. **/
+    private final int changeThreshold;
+    /** Changes since the last triggered checkpoint. **/
+    private final AtomicInteger changes;
+    /** Completes when the queued checkpoint finishes; null while none is queued. Guarded by this. **/
+    private CompletableFuture<Void> queued;
+    /** Last background failure not yet reported. **/
+    private final AtomicReference<IOException> failure;
+    /** Single daemon thread running the checkpoints. **/
+    private final ScheduledExecutorService executor;
+
+    /** Creates and starts a checkpointer.
+     * @param task the checkpoint
+     * @param intervalSeconds seconds between checkpoints, 0 for none
+     * @param changeThreshold changes that trigger a checkpoint, 0 for none */
+    public Checkpointer(Task task, long intervalSeconds, int changeThreshold) {
+        this.task = task;
+        this.changeThreshold = changeThreshold;
+        this.changes = new AtomicInteger();
+        this.failure = new AtomicReference<>();
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "checkpoint");
+            t.setDaemon(true);
+            return t;
+        });
+        if (intervalSeconds > 0) {
+            this.executor.scheduleWithFixedDelay(this::runTask, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /** Counts one change and queues a checkpoint once enough have built up. */
+    public void noteChange() {
+        this.noteChanges(1);
+    }
+
+    /** Counts several changes at once, such as a batch of bids.
+     * @param count the number of changes */
+    public void noteChanges(int count) {
+        if (this.changeThreshold > 0 && this.changes.addAndGet(count) >= this.changeThreshold) {
+            this.changes.set(0);
+            this.request();
+        }
+    }
+
+    /** Queues a checkpoint unless one is already waiting.
+     * @return completes when a checkpoint started after this call has finished */
+    public synchronized CompletableFuture<Void> request() {
+        if (this.queued == null) {
+            this.queued = new CompletableFuture<>();
+            this.executor.execute(this::runTask);
+        }
+        return this.queued;
+    }
+
+    /** Queues a checkpoint and reports it together with any earlier failure, so a
+     * caller about to exit can wait off the UI thread and learn whether its changes and
+     * everything before them were saved.
+     * @return completes when the checkpoint has finished; fails with the earlier
+     * failure if there was one, else with this checkpoint's */
+    public CompletableFuture<Void> flush() {
+        IOException earlier = this.takeFailure();
+        CompletableFuture<Void> next = this.request();
+        if (earlier == null) {
+            return next;
+        }
+        return next.handle((done, e) -> {
+            if (e != null) {
+                earlier.addSuppressed(e);
+            }
+            throw new CompletionException(earlier);
+        });
+    }
+
+    /** Gets and clears the last failure of a background checkpoint.
+     * @return the failure, or null if none has failed since the last call */
+    public IOException takeFailure() {
+        return this.failure.getAndSet(null);
+    }
+
+    /** Stops the background thread, waiting for a running or already queued checkpoint
+     * to finish. Must not be called from a checkpoint or its future's callbacks.
+     * @throws InterruptedException if interrupted while waiting */
+    public void shutdown() throws InterruptedException {
+        this.executor.shutdown();
+        this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    private void runTask() {
+        CompletableFuture<Void> done;
+        synchronized (this) {
+            done = this.queued;
+            this.queued = null;
+        }
+        try {
+            this.task.run();
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            IOException failed = e instanceof IOException ? (IOException) e : new IOException("Checkpoint failed", e);
+            this.failure.set(failed);
+            if (done != null) {
+                done.completeExceptionally(failed);
+            }
+            return;
+        }
+        if (done != null) {
+            done.complete(null);
+        }
+    }
+}
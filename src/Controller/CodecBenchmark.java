@@ -0,0 +1,122 @@
+import java.io.*;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+/** Compares AuctionCodec with default Java serialization on a generated auction set.
+ * Prints the encoded size and the average encode and decode time of each. AuctionCodec
+ * decodes only the auction headers up front, so it is timed both with and without
+ * loading every auction's items afterwards.
+ * Usage: CodecBenchmark [auctions] [itemsPerAuction] [bidsPerItem] [rounds]
+ * @version Oct 18, 2026
+ */
+public class CodecBenchmark {
+    /** Private constructor to prevent instantiation. **/
+    private CodecBenchmark() { }
+
+    /**
+     *
+     * @param args auctions, items per auction, bids per item and timed rounds
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public static void main(String... args) throws IOException, ClassNotFoundException {
+        int auctions = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int items = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int bids = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        HashSet<Auction> data = generate(auctions, items, bids);
+
+        byte[] legacy = serialize(data);
+        byte[] compact = AuctionCodec.auctionsToBytes(data);
+        if (AuctionCodec.readAuctions(new ByteArrayInputStream(compact)).size() != data.size()) {
+            throw new IllegalStateException("AuctionCodec round trip lost auctions");
+        }
+
+        // Warm up both paths before timing them.
+        for (int i = 0; i < rounds; i++) {
+            serialize(data);
+            deserialize(legacy);
+            AuctionCodec.auctionsToBytes(data);
+            loadAll(AuctionCodec.readAuctions(new ByteArrayInputStream(compact)));
+        }
+
+        long oosWrite = 0;
+        long oosRead = 0;
+        long codecWrite = 0;
+        long codecRead = 0;
+        long codecLoad = 0;
+        for (int i = 0; i < rounds; i++) {
+            long t0 = System.nanoTime();
+            serialize(data);
+            long t1 = System.nanoTime();
+            deserialize(legacy);
+            long t2 = System.nanoTime();
+            AuctionCodec.auctionsToBytes(data);
+            long t3 = System.nanoTime();
+            AuctionCodec.readAuctions(new ByteArrayInputStream(compact));
+            long t4 = System.nanoTime();
+            loadAll(AuctionCodec.readAuctions(new ByteArrayInputStream(compact)));
+            long t5 = System.nanoTime();
+            oosWrite += t1 - t0;
+            oosRead += t2 - t1;
+            codecWrite += t3 - t2;
+            codecRead += t4 - t3;
+            codecLoad += t5 - t4;
+        }
+
+        System.out.println(auctions + " auctions, " + items + " items each, " + bids + " bids per item");
+        System.out.printf("%-18s %12s %12s %12s%n", "format", "bytes", "write ms", "read ms");
+        System.out.printf("%-18s %12d %12.2f %12.2f%n", "ObjectOutputStream", legacy.length,
+                oosWrite / 1e6 / rounds, oosRead / 1e6 / rounds);
+        System.out.printf("%-18s %12d %12.2f %12.2f%n", "AuctionCodec", compact.length,
+                codecWrite / 1e6 / rounds, codecRead / 1e6 / rounds);
+        System.out.printf("%-18s %12s %12s %12.2f%n", "  + load items", "", "", codecLoad / 1e6 / rounds);
+        System.out.printf("size ratio %.1fx, read speedup %.1fx (%.1fx with items)%n",
+                (double) legacy.length / compact.length, (double) oosRead / codecRead,
+                (double) oosRead / codecLoad);
+    }
+
+    /** Builds auctions shaped like the real ones: a few organizations, a pool of bidders
+     * and strictly increasing bids on every item. */
+    private static HashSet<Auction> generate(int auctions, int items, int bids) {
+        HashSet<Auction> toSend = new HashSet<>();
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 9, 0);
+        for (int a = 1; a <= auctions; a++) {
+            LocalDateTime start = base.plusDays(a % 365).plusHours(a % 8);
+            Auction auction = new Auction("Organization " + (a % 50), start, start.plusHours(4), a);
+            for (int i = 0; i < items; i++) {
+                Item item = new Item("Item " + i, 1 + i % 3, 10 + i, "Donated item number " + i,
+                        "images/item" + i + ".png");
+                for (int b = 0; b < bids; b++) {
+                    item.addBid(new Bid("bidder" + ((a * 31 + i * 7 + b) % 500), item.getName(),
+                            11 + i + b * 5, a, start, auction.getEnd()));
+                }
+                auction.addItem(item);
+            }
+            toSend.add(auction);
+        }
+        return toSend;
+    }
+
+    private static int loadAll(HashSet<Auction> data) {
+        int toSend = 0;
+        for (Auction auction : data) {
+            toSend += auction.getItems().size();
+        }
+        return toSend;
+    }
+
+    private static byte[] serialize(HashSet<Auction> data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return ois.readObject();
+        }
+    }
+}
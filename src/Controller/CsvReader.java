@@ -0,0 +1,298 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/** Streaming reader for the comma separated master*.txt files.
+ * Bytes are read through one reusable ByteBuffer and each record's fields are kept as
+ * offsets into one reusable byte array, so memory stays bounded by the longest record
+ * whatever the file size, and a field only becomes a String when asked for.
+ * <p>
+ * Unquoted fields are trimmed, which covers the "a, b, c" format. A field whose first
+ * non-blank character is a double quote is quoted: it may hold commas and line breaks,
+ * and "" stands for one quote. A quote anywhere else, as in 68" Recurve Long Bow, is
+ * plain text. Blank lines are skipped.
+ * @version Oct 18, 2026
+ */
+public class CsvReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int QUOTE = '"';
+    private static final int COMMA = ',';
+
+    /** Source of the bytes. **/
+    private final ReadableByteChannel channel;
+    /** Bytes read from the channel but not yet parsed. **/
+    private final ByteBuffer buffer;
+    /** Current record's field bytes, back to back. **/
+    private byte[] record;
+    /** Start of each field in record. **/
+    private int[] starts;
+    /** End of each field in record, exclusive. **/
+    private int[] ends;
+    /** Number of fields in the current record. **/
+    private int fieldCount;
+    /** Bytes used in record. **/
+    private int length;
+    /** Line the current record starts on, 1-based. **/
+    private long line;
+    /** Line the next record starts on. **/
+    private long nextLine;
+    /** True once the channel is exhausted. **/
+    private boolean eof;
+
+    /** Creates a reader over a channel.
+     * @param channel the source, closed by close() */
+    public CsvReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.flip();
+        this.record = new byte[256];
+        this.starts = new int[8];
+        this.ends = new int[8];
+        this.nextLine = 1;
+    }
+
+    /** Opens a file through a FileChannel.
+     * @param file the file
+     * @return the reader
+     * @throws IOException exception risk */
+    public static CsvReader open(Path file) throws IOException {
+        return new CsvReader(FileChannel.open(file, StandardOpenOption.READ));
+    }
+
+    /** Opens a stream, such as a classpath resource.
+     * @param in the stream
+     * @return the reader */
+    public static CsvReader open(InputStream in) {
+        return new CsvReader(Channels.newChannel(in));
+    }
+
+    /** Advances to the next non-blank record.
+     * @return false at the end of the input
+     * @throws IOException exception risk */
+    public boolean next() throws IOException {
+        while (true) {
+            this.line = this.nextLine;
+            int ended = this.readRecord();
+            boolean blank = this.fieldCount == 1 && this.starts[0] == this.ends[0];
+            if (!blank) {
+                return true;
+            }
+            if (ended < 0) {
+                return false;
+            }
+        }
+    }
+
+    /** Gets the number of fields in the current record.
+     * @return field count */
+    public int fieldCount() {
+        return this.fieldCount;
+    }
+
+    /** Gets the line the current record starts on.
+     * @return 1-based line number */
+    public long getLine() {
+        return this.line;
+    }
+
+    /** Gets a field as a string.
+     * @param index 0-based field index
+     * @return the field
+     * @throws IndexOutOfBoundsException if the record has no such field */
+    public String field(int index) {
+        this.check(index);
+        return new String(this.record, this.starts[index], this.ends[index] - this.starts[index],
+                StandardCharsets.UTF_8);
+    }
+
+    /** Parses a field as an int without creating a string.
+     * @param index 0-based field index
+     * @return the value
+     * @throws NumberFormatException if the field is not an int
+     * @throws IndexOutOfBoundsException if the record has no such field */
+    public int intField(int index) {
+        this.check(index);
+        return parseInt(this.record, this.starts[index], this.ends[index]);
+    }
+
+    /** Parses an int from a field's bytes without creating a string.
+     * @param bytes the bytes
+     * @param start first byte of the field
+     * @param end end of the field, exclusive
+     * @return the value
+     * @throws NumberFormatException if the bytes are not an int */
+    public static int parseInt(byte[] bytes, int start, int end) {
+        int i = start;
+        boolean negative = i < end && bytes[i] == '-';
+        if (negative || (i < end && bytes[i] == '+')) {
+            i++;
+        }
+        if (i == end) {
+            throw notAnInt(bytes, start, end);
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = bytes[i] - '0';
+            value = value * 10 + digit;
+            if (digit < 0 || digit > 9 || value > (long) Integer.MAX_VALUE + 1) {
+                throw notAnInt(bytes, start, end);
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw notAnInt(bytes, start, end);
+        }
+        return (int) value;
+    }
+
+    /** Copies the current record's field bytes, back to back, so they can be read after
+     * the reader moves on; fieldStart and fieldEnd give each field's place in the copy.
+     * @return the bytes */
+    public byte[] recordBytes() {
+        return Arrays.copyOf(this.record, this.length);
+    }
+
+    /** Gets where a field starts in the record's bytes.
+     * @param index 0-based field index
+     * @return offset of the field's first byte
+     * @throws IndexOutOfBoundsException if the record has no such field */
+    public int fieldStart(int index) {
+        this.check(index);
+        return this.starts[index];
+    }
+
+    /** Gets where a field ends in the record's bytes.
+     * @param index 0-based field index
+     * @return offset just past the field's last byte
+     * @throws IndexOutOfBoundsException if the record has no such field */
+    public int fieldEnd(int index) {
+        this.check(index);
+        return this.ends[index];
+    }
+
+    /** Gets the current record's fields as strings.
+     * @return the fields */
+    public String[] fields() {
+        String[] toSend = new String[this.fieldCount];
+        for (int i = 0; i < toSend.length; i++) {
+            toSend[i] = this.field(i);
+        }
+        return toSend;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /** Reads one record into record/starts/ends.
+     * @return the byte that ended it, '\n' or -1 for end of input */
+    private int readRecord() throws IOException {
+        this.fieldCount = 0;
+        this.length = 0;
+        while (true) {
+            int b = this.read();
+            while (b == ' ' || b == '\t') {
+                b = this.read();
+            }
+            int start = this.length;
+            int end;
+            if (b == QUOTE) {
+                b = this.readQuoted();
+            }
+            // Unquoted text, or whatever follows a closing quote, up to the delimiter.
+            end = this.length;
+            while (b != COMMA && b != '\n' && b >= 0) {
+                if (b != '\r') {
+                    this.append(b);
+                    if (b != ' ' && b != '\t') {
+                        end = this.length;
+                    }
+                }
+                b = this.read();
+            }
+            this.addField(start, end);
+            if (b != COMMA) {
+                return b;
+            }
+        }
+    }
+
+    /** Reads a quoted field's contents after its opening quote.
+     * @return the byte after the closing quote */
+    private int readQuoted() throws IOException {
+        while (true) {
+            int b = this.read();
+            if (b < 0) {
+                return b;
+            }
+            if (b == QUOTE) {
+                b = this.read();
+                if (b != QUOTE) {
+                    return b;
+                }
+            }
+            this.append(b);
+        }
+    }
+
+    private int read() throws IOException {
+        if (!this.buffer.hasRemaining()) {
+            if (this.eof) {
+                return -1;
+            }
+            this.buffer.clear();
+            int n;
+            do {
+                n = this.channel.read(this.buffer);
+            } while (n == 0);
+            this.buffer.flip();
+            if (n < 0) {
+                this.eof = true;
+                return -1;
+            }
+        }
+        int b = this.buffer.get() & 0xFF;
+        if (b == '\n') {
+            this.nextLine++;
+        }
+        return b;
+    }
+
+    private void append(int b) {
+        if (this.length == this.record.length) {
+            this.record = Arrays.copyOf(this.record, this.length * 2);
+        }
+        this.record[this.length++] = (byte) b;
+    }
+
+    private void addField(int start, int end) {
+        if (this.fieldCount == this.starts.length) {
+            this.starts = Arrays.copyOf(this.starts, this.fieldCount * 2);
+            this.ends = Arrays.copyOf(this.ends, this.fieldCount * 2);
+        }
+        this.starts[this.fieldCount] = start;
+        this.ends[this.fieldCount] = end;
+        this.fieldCount++;
+    }
+
+    private static NumberFormatException notAnInt(byte[] bytes, int start, int end) {
+        return new NumberFormatException("For input string: \"" + new String(bytes, start, end - start,
+                StandardCharsets.UTF_8) + "\"");
+    }
+
+    private void check(int index) {
+        if (index < 0 || index >= this.fieldCount) {
+            throw new IndexOutOfBoundsException("Line " + this.line + " has " + this.fieldCount
+                    + " fields, no field " + index);
+        }
+    }
+}
@@ -3,12 +3,16 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Shannon Weston
  * @version 5/7/2018
  */
-public class DataControlCenter {
+public class DataControlCenter implements Closeable {
 	/**Sets the farthest date an auction can be scheduled.*/
 	private static final int MAX_SCHEDULE_OUT_DAYS = 60;
 	/**Sets the soonest date an auction can be scheduled.*/
@@ -18,32 +22,253 @@ public class DataControlCenter {
 	/**Time distance (minimum) between end of one auction and start of next.*/
 	private static final int STOP_TO_START_HOUR_GAP = 2;
 	private static final int DEFAULT_MAX_AUCTIONS = 25;
-    private HashSet<Auction> addedAuctions;
-    private HashSet<Auction> updatedAuctions;
-    private HashSet<Auction> cancelledAuctions;
-    private HashSet<Auction> biddedAuctions;
-    private HashSet<Item> itemUpdates;
-    private Item updateItem;
-    private int nextAvailableAuctionId;
-    private int maxAuctionAllowed;
-
-    private static final String MAURICE_SPECIAL_STRING = "";
-
-    // Maurice's special string should be "." for maurice, "" for others
-
-    /**
-     *
+	/**Number of pending bids after which a bidder logout also runs a checkpoint.*/
+	private static final int SNAPSHOT_AFTER_BIDS = 500;
+	/**Refusals from scheduleAuction.*/
+	public static final String NO_MORE_AUCTIONS = "No more auctions can be scheduled right now.";
+	public static final String DATE_OUT_OF_RANGE = "Your requested date is too soon or too far away.";
+	public static final String DATE_UNAVAILABLE = "Your date or time is unavailable.";
+    private Set<Auction> addedAuctions;
+    /** Added auctions not yet in a checkpoint. addedAuctions keeps them after it, as the
+     * scheduling limits count every auction added this session. **/
+    private Set<Auction> unsavedAuctions;
+    private Set<Auction> updatedAuctions;
+    private Set<Auction> cancelledAuctions;
+    private Set<Auction> biddedAuctions;
+    private Set<Item> itemUpdates;
+    /** Per-auction write locks; see AuctionLocks for the lock policy. **/
+    private final AuctionLocks locks;
+    /** Per-bidder locks keyed by bidder name id, held around every bid that counts
+     * against a bidder's item limits, and always taken before any auction stripe. **/
+    private final AuctionLocks bidderLocks;
+    /** Proxy bids by auction id and item, each auction's books guarded by its lock.
+     * Maximums are journaled by the store with the bids and replayed at startup. **/
+    private final Map<Integer, Map<Item, ProxyBook>> proxies;
+    /** Resident copy of every auction, loaded once at startup. **/
+    private AuctionRepository repository;
+    /** Storage engine holding auctions, bids and users. **/
+    private final AuctionStore store;
+    /** Saves changes in the background between logouts. **/
+    private Checkpointer checkpointer;
+    /** Queues submitted bids and applies them in per-auction batches. **/
+    private final BidIngest ingest;
+    /** Ring-buffer bid path, or null when bids are applied under the auction locks. **/
+    private final BidSequencer sequencer;
+    /** Mirror journal fed by the sequencer's replication consumer, or null. **/
+    private final BidJournal replica;
+    /** Told about every accepted bid. **/
+    private final List<BidListener> bidListeners = new CopyOnWriteArrayList<>();
+    /** Lets only one checkpoint write files at a time. **/
+    private final Object checkpointLock = new Object();
+    /** Held by scheduleAuction from its checks to the add. **/
+    private final Object scheduleLock = new Object();
+    private final AtomicInteger nextAvailableAuctionId;
+    private volatile int maxAuctionAllowed;
+
+    /** Creates a controller over the storage engine picked by configuration.
      * @throws IOException
      * @throws ClassNotFoundException
      */
     public DataControlCenter() throws IOException, ClassNotFoundException {
-        this.addedAuctions = new HashSet<>();
-        this.updatedAuctions = new HashSet<>();
-        this.cancelledAuctions = new HashSet<>();
+        this(AuctionStores.open());
+    }
+
+    /** Creates a controller over a storage engine.
+     * @param store the storage engine
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public DataControlCenter(AuctionStore store) throws IOException, ClassNotFoundException {
+        this.store = store;
+        this.addedAuctions = ConcurrentHashMap.newKeySet();
+        this.unsavedAuctions = ConcurrentHashMap.newKeySet();
+        this.updatedAuctions = ConcurrentHashMap.newKeySet();
+        this.cancelledAuctions = ConcurrentHashMap.newKeySet();
+        this.biddedAuctions = ConcurrentHashMap.newKeySet();
+        this.itemUpdates = ConcurrentHashMap.newKeySet();
+        this.locks = new AuctionLocks();
+        this.bidderLocks = new AuctionLocks();
+        this.proxies = new ConcurrentHashMap<>();
         this.maxAuctionAllowed = this.deserializeMaxUpcomingAucAllowed();
-        this.nextAvailableAuctionId = findNextAvailableAuctionId();
-        this.biddedAuctions = new HashSet<>();
-        this.updateItem = null;
+        this.repository = new AuctionRepository(this.deserializeAllAuctions());
+        this.nextAvailableAuctionId = new AtomicInteger(findNextAvailableAuctionId());
+        this.replayPendingBids();
+        this.checkpointer = new Checkpointer(this::writeCheckpoint,
+                Long.getLong("auctioncentral.checkpoint.seconds", 60L),
+                Integer.getInteger("auctioncentral.checkpoint.changes", 100));
+        String bidPath = System.getProperty("auctioncentral.bidPath", "locks");
+        switch (bidPath) {
+            case "locks":
+                this.sequencer = null;
+                this.replica = null;
+                break;
+            case "sequencer":
+                String replicaPath = System.getProperty("auctioncentral.sequencer.replica");
+                this.replica = replicaPath == null ? null : new BidJournal(java.nio.file.Paths.get(replicaPath),
+                        Integer.getInteger("auctioncentral.journal.syncEvery", 1),
+                        Long.getLong("auctioncentral.journal.syncMillis", 0L));
+                this.sequencer = new BidSequencer(Integer.getInteger("auctioncentral.sequencer.size", 1024),
+                        this::applySequenced, this::journalSequenced, this::replicateSequenced);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown auctioncentral.bidPath: " + bidPath);
+        }
+        this.ingest = new BidIngest(this.sequencer == null ? this::applyBids : (auction, bids) -> this.sequencer.placeAll(bids),
+                Integer.getInteger("auctioncentral.ingest.capacity", 4096),
+                Integer.getInteger("auctioncentral.ingest.batch", 256));
+    }
+
+    /** Re-applies bids the store recorded after its last checkpoint, in order, on the
+     * same terms placeBid accepts them: a bid that no longer beats the price, such as one
+     * the auctions already hold or one that lost when it was placed, is skipped, and the
+     * counter bid of the item's proxies is worked out again after each bid. Counter bids
+     * therefore come out the same whether or not the journal holds them, and replaying
+     * after a crash between checkpoint and journal cleanup is harmless. Proxy maximums
+     * are registered again where they fall among the bids, on the terms placeProxyBid
+     * takes them. Item limits are checked against the clock at replay.
+     * Runs in the constructor, before any other thread can reach the auctions.
+     * @throws IOException exception risk */
+    private void replayPendingBids() throws IOException {
+        for (BidJournal.Entry entry : this.store.loadPendingBids()) {
+            Auction auction = this.repository.getById(entry.auctionId);
+            Item item = this.repository.getItem(entry.auctionId, entry.item);
+            if (auction == null || item == null || auction.isCanceled()) {
+                continue;
+            }
+            if (entry.maximum) {
+                int bidderId = NameDictionary.BIDDERS.idOf(entry.bidder);
+                if (this.checkLimits(auction, item, bidderId, null, null) == null
+                        && this.acceptsProxy(auction, item, bidderId, entry.amount)) {
+                    this.registerProxy(auction, item, bidderId, entry.amount);
+                }
+                continue;
+            }
+            if (entry.amount <= item.getCurrentBid()) {
+                continue;
+            }
+            Bid bid = new Bid(entry.bidder, entry.item, entry.amount, entry.auctionId,
+                    auction.getStart(), auction.getEnd());
+            if (this.checkLimits(auction, item, bid.getBidderId(), null, null) != null) {
+                continue;
+            }
+            Bid counter = this.counterTo(auction, item, bid);
+            this.apply(auction, item, bid);
+            if (counter != null) {
+                this.apply(auction, item, counter);
+            }
+        }
+    }
+
+    /** Saves only what changed, on the calling thread; see writeCheckpoint.
+     * A background checkpoint that failed since the last report is thrown here, after
+     * this checkpoint has been written.
+     * @throws IOException if this checkpoint or an earlier background one failed */
+    public void checkpoint() throws IOException {
+        IOException earlier = this.checkpointer.takeFailure();
+        try {
+            this.writeCheckpoint();
+        } catch (IOException e) {
+            if (earlier != null) {
+                e.addSuppressed(earlier);
+            }
+            throw e;
+        }
+        if (earlier != null) {
+            throw earlier;
+        }
+    }
+
+    /** Shuts down: applies the bids already submitted, stops the checkpointer, writes a
+     * final checkpoint and closes the replica journal and the store. Must not be called
+     * from a checkpoint's future callbacks, which run on the checkpointer's thread.
+     * @throws IOException if the final checkpoint or closing failed */
+    public void close() throws IOException {
+        try {
+            this.ingest.shutdown();
+            this.checkpointer.shutdown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while shutting down");
+        }
+        try {
+            this.checkpoint();
+        } finally {
+            try {
+                if (this.replica != null) {
+                    this.replica.close();
+                }
+            } finally {
+                this.store.close();
+            }
+        }
+    }
+
+    /** Saves only what changed: every added or bid-on auction and every cancelled one.
+     * The changes are captured by the store while holding every auction lock and written
+     * after releasing them, so bids keep flowing while the store writes. On the
+     * sequencer path the capture runs as a barrier on the business thread, so the
+     * auctions hold exactly the bids journaled before it. Run by the checkpointer and
+     * by checkpoint.
+     * @throws IOException exception risk */
+    private void writeCheckpoint() throws IOException {
+        synchronized (this.checkpointLock) {
+            HashSet<Auction> changed = new HashSet<>();
+            List<Auction> cancelled = new ArrayList<>();
+            AuctionStore.Checkpoint[] pending = new AuctionStore.Checkpoint[1];
+            Runnable capture = () -> {
+                this.locks.lockAll();
+                try {
+                    changed.addAll(this.unsavedAuctions);
+                    changed.addAll(this.biddedAuctions);
+                    changed.removeAll(this.cancelledAuctions);
+                    cancelled.addAll(this.cancelledAuctions);
+                    synchronized (this.repository) {
+                        pending[0] = this.store.prepareCheckpoint(changed, cancelled, this.repository.getAll(),
+                                this.standingMaxima());
+                    }
+                    this.unsavedAuctions.clear();
+                    this.biddedAuctions.clear();
+                    this.itemUpdates.clear();
+                    this.cancelledAuctions.clear();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    this.locks.unlockAll();
+                }
+            };
+            try {
+                if (this.sequencer == null) {
+                    capture.run();
+                } else {
+                    this.sequencer.barrier(capture);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            try {
+                pending[0].commit();
+            } catch (IOException e) {
+                // The store has not dropped anything yet, so retry these on the next checkpoint.
+                this.biddedAuctions.addAll(changed);
+                this.cancelledAuctions.addAll(cancelled);
+                throw e;
+            }
+        }
+    }
+
+    /** Lists every registered proxy maximum, each item's in registration order, for the
+     * store to keep past a checkpoint. Caller holds every auction lock. */
+    private List<BidJournal.Entry> standingMaxima() {
+        List<BidJournal.Entry> toSend = new ArrayList<>();
+        for (Map.Entry<Integer, Map<Item, ProxyBook>> auction : this.proxies.entrySet()) {
+            for (Map.Entry<Item, ProxyBook> item : auction.getValue().entrySet()) {
+                for (int bidderId : item.getValue().biddersInRegistrationOrder()) {
+                    toSend.add(new BidJournal.Entry(auction.getKey(), NameDictionary.BIDDERS.nameOf(bidderId),
+                            item.getKey().getName(), item.getValue().getMaximum(bidderId), true));
+                }
+            }
+        }
+        return toSend;
     }
 
     /**
@@ -53,11 +278,9 @@ public class DataControlCenter {
      * @throws ClassNotFoundException
      */
     public HashSet<Auction> getPastAuctions() throws IOException, ClassNotFoundException {
-        HashSet<Auction> toSend = new HashSet<>();
-        for (Auction auction : this.deserializeAllAuctions()) {
-            if (auction.getEnd().isBefore(LocalDateTime.now())) {
-                toSend.add(auction);
-            }
+        HashSet<Auction> toSend;
+        synchronized (this.repository) {
+            toSend = new HashSet<>(this.repository.getTimes().endedBefore(LocalDateTime.now()));
         }
         for (Auction auction : this.cancelledAuctions) {
             if (toSend.contains(auction)) {
@@ -67,20 +290,14 @@ public class DataControlCenter {
         return toSend;
     }
 
-    /**
-     *
-     * @param auctionId
-     * @return
+    /** Gets an auction from the primary id index in constant time.
+     * @param auctionId the auction id
+     * @return the auction, or null if there is none
      * @throws IOException
      * @throws ClassNotFoundException
      */
-    public Auction getAuctionById(Integer auctionId) throws IOException, ClassNotFoundException {
-        for (Auction auction : this.deserializeAllAuctions()) {
-            if (auction.getAuctionID() == auctionId) {
-                return auction;
-            }
-        }
-        return null;
+    public Auction getAuctionById(int auctionId) throws IOException, ClassNotFoundException {
+        return this.repository.getById(auctionId);
     }
 
     /**
@@ -89,16 +306,25 @@ public class DataControlCenter {
      * @return
      */
     public boolean cancelAuction(Auction auction) {
-        int bidCount = 0;
-        for (Item item : auction.getItems()) {
-            bidCount += item.getBids().size();
-        }
-        if (bidCount == 0) {
+        this.locks.lock(auction.getAuctionID());
+        try {
+            int bidCount = 0;
+            for (Item item : auction.getItems()) {
+                bidCount += item.getBidCount();
+            }
+            if (bidCount != 0) {
+                return false;
+            }
+            // placeBid checks this flag under the same lock, so no bid can slip in after the count.
             auction.setIsCanceled(true);
             this.cancelledAuctions.add(auction);
-            return true;
+            this.repository.remove(auction);
+            this.proxies.remove(auction.getAuctionID());
+        } finally {
+            this.locks.unlock(auction.getAuctionID());
         }
-        return false;
+        this.checkpointer.noteChange();
+        return true;
     }
 
     /**
@@ -108,7 +334,7 @@ public class DataControlCenter {
      * @throws ClassNotFoundException
      */
     private int deserializeMaxUpcomingAucAllowed() throws IOException, ClassNotFoundException {
-        return (int) new ObjectInputStream(getClass().getResourceAsStream("system.bin")).readObject();
+        return this.store.loadMaxAuctions();
     }
 
     /**
@@ -159,55 +385,57 @@ public class DataControlCenter {
     }
 
     /**
-     * Finds the next available auction id when creating auctions.
+     * Finds the next available auction id when creating auctions: one past the highest
+     * id in use or ever cancelled, so ids stay unique after cancels and restarts.
      * @return next available auction id
      * @throws IOException
      * @throws ClassNotFoundException
      */
     public int findNextAvailableAuctionId() throws IOException, ClassNotFoundException {
-        return this.deserializeAllAuctions().size() + this.addedAuctions.size() + 1;
+        int highest = this.store.loadHighestCancelledId();
+        synchronized (this.repository) {
+            for (Auction auction : this.repository.getAll()) {
+                highest = Math.max(highest, auction.getAuctionID());
+            }
+        }
+        for (Auction auction : this.cancelledAuctions) {
+            highest = Math.max(highest, auction.getAuctionID());
+        }
+        return highest + 1;
     }
 
     /** Gets the next available auction id.
      * @return next available auction id */
     public int getNextAvailableAuctionId() {
-        this.nextAvailableAuctionId++;
-        return this.nextAvailableAuctionId - 1;
-
+        return this.nextAvailableAuctionId.getAndIncrement();
     }
 
-    /** Deserializes all NPContacts from the bin file.
+    /** Loads all NPContacts from the store.
      * @return HashSet<NPContacts>
      * @throws IOException exception risk
      * @throws ClassNotFoundException exception risk
      */
     private HashSet<NPContact> deserializeAllNPContacts() throws IOException, ClassNotFoundException {
-        return (HashSet<NPContact>) new ObjectInputStream(getClass().
-                getResourceAsStream("npcontact.bin")).readObject();
+        return this.store.loadNPContacts();
     }
 
-    /** Deserializes all Bidders from the bin file.
+    /** Loads all Bidders from the store.
      * @return HashSet<Bidder>
      * @throws IOException exception risk
      * @throws ClassNotFoundException exception risk
      */
     private HashSet<Bidder> deserializeAllBidders() throws IOException, ClassNotFoundException {
-        HashSet<Bidder> bidderSet = (HashSet<Bidder>) new ObjectInputStream(getClass().
-                getResourceAsStream("bidders.bin")).readObject();
-        return (HashSet<Bidder>) new ObjectInputStream(getClass().
-                getResourceAsStream("bidders.bin")).readObject();
+        return this.store.loadBidders();
     }
 
-    /** Deserializes all Auctions from the bin file.
+    /** Loads all Auctions from the store.
+     * Only called once at startup to fill the repository; queries go through the repository.
      * @return HashSet<Auction>
      * @throws IOException exception risk
      * @throws ClassNotFoundException exception risk
      */
     public HashSet<Auction> deserializeAllAuctions() throws IOException, ClassNotFoundException {
-        HashSet<Auction> auctionSet = (HashSet<Auction>) new ObjectInputStream(getClass()
-                .getResourceAsStream("auctions.bin")).readObject();
-        return (HashSet<Auction>) new ObjectInputStream(getClass()
-                .getResourceAsStream("auctions.bin")).readObject();
+        return this.store.loadAuctions();
     }
 
     /** Returns boolean val if the bidder is valid
@@ -270,12 +498,11 @@ public class DataControlCenter {
      * @return HashSet<Auction> */
     public HashSet<Auction> getAuctionsCurrBidderHasBids(Bidder currBidder) throws ClassNotFoundException, IOException {
         HashSet<Auction> toSend = new HashSet<>();
-        for (Auction auction : this.deserializeAllAuctions()) {
-            for (Item item : auction.getItems()) {
-                for (Bid bid : item.getBids()) {
-                    if (bid.getBidder().equals(currBidder.getName())) {
-                            toSend.add(auction);
-                    }
+        synchronized (this.repository) {
+            for (int auctionId : this.repository.getBidderBids().getAuctionIds(currBidder.getNameId())) {
+                Auction auction = this.repository.getById(auctionId);
+                if (auction != null) {
+                    toSend.add(auction);
                 }
             }
         }
@@ -288,16 +515,8 @@ public class DataControlCenter {
      * @return HashSet<Item> */
     public HashSet<Item> getItemsCurrBidderHasBidsOnInAnAuction(Bidder currBidder, Auction specific) throws IOException, ClassNotFoundException {
         HashSet<Item> toSend = new HashSet<>();
-        for(Auction a : this.deserializeAllAuctions()) {
-	        	if(a.toString().equals(specific.toString())) {
-	            	for(Item i : a.getItems()) {
-	            		for(Bid b : i.getBids()) {
-	            			if(b.getBidder().equals(currBidder.getName())) {
-	            				toSend.add(i);
-	            			}
-	            		}
-	            	}
-	        	}
+        synchronized (this.repository) {
+            toSend.addAll(this.repository.getBidderBids().getItems(currBidder.getNameId(), specific.getAuctionID()));
         }
         return toSend;
     }
@@ -306,18 +525,9 @@ public class DataControlCenter {
      * @param currBidder the bidder
      * @return set of auctions */
     public HashSet<Auction> getAuctionsCurrBidderCanBidOn(Bidder currBidder) throws ClassNotFoundException, IOException {
-        HashSet<Auction> toSend = new HashSet<>();
-        //HashSet<Auction> test = this.deserializeAllAuctions();
-        HashSet<Auction> allAuctions = this.getAllAuctions();
-        for(Auction auc : allAuctions) {
-        	if(auc.getStart().isAfter(LocalDateTime.now())) {
-        		//if(a.getEnd().isAfter(LocalDateTime.now())) {
-                	toSend.add(auc);
-        		//}
-        	}
+        synchronized (this.repository) {
+            return new HashSet<>(this.repository.getTimes().startingAfter(LocalDateTime.now()));
         }
-
-        return toSend;
     }
 
     /**
@@ -327,46 +537,18 @@ public class DataControlCenter {
      * @throws IOException
      */
     public HashSet<Auction> getAllAuctions() throws ClassNotFoundException, IOException {
-        HashSet<Auction> toSend = new HashSet<>();
-        for(Auction a : this.deserializeAllAuctions()) {
-            toSend.add(a);
+        synchronized (this.repository) {
+            return new HashSet<>(this.repository.getAll());
         }
-        if (this.updateItem != null) {
-            Auction old = this.getAuctionById(this.updateItem.getBidWithHighestBid().getAuctionID());
-            Auction toReplace = new Auction(old);
-
-            toReplace.addItem(this.updateItem);
-
-            HashSet<Auction> temp = new HashSet<>();
-            for (Item item : old.getItems()) {
-                if (!item.getName().equals(updateItem.getName())){
-                    toReplace.addItem(item);
-                }
-            }
-
-            HashSet<Auction> newSend = new HashSet<>();
-            for (Auction auction : this.deserializeAllAuctions()) {
-                if (auction.getAuctionID() == toReplace.getAuctionID()) {
-                    newSend.add(toReplace);
-                } else {
-                    newSend.add(auction);
-                }
-            }
-            return newSend;
-
-        }
-        return toSend;
     }
 
     /** Gets a set of auctions that were submitted as requests by NPContact
      * @param currContact the NPContact
      * @return set of auctions */
     public HashSet<Auction> getSubmittedAuctionsByNPContact(NPContact currContact) throws ClassNotFoundException, IOException {
-        HashSet<Auction> toSend = new HashSet<>();
-        for(Auction a : this.deserializeAllAuctions()) {
-	        	if(a.getOrganization().equals(currContact.getName())) {
-	        		toSend.add(a);
-	        	}
+        HashSet<Auction> toSend;
+        synchronized (this.repository) {
+            toSend = new HashSet<>(this.repository.getOrganizations().get(currContact.getName()));
         }
         for (Auction a : this.addedAuctions) {
             toSend.add(a);
@@ -375,24 +557,54 @@ public class DataControlCenter {
     }
 
     /**
-     * Logs out the NPContact and serializes their information
+     * Logs out the NPContact; their submitted auctions are saved by a checkpoint on the
+     * checkpointer's thread.
+     * @return completes once saved; fails if this or an earlier checkpoint failed
      * @throws IOException
      * @throws ClassNotFoundException
      */
-    public void logOutNP() throws IOException, ClassNotFoundException {
-        HashSet<Auction> toSerialize = this.deserializeAllAuctions();
-        for (Auction a : this.addedAuctions) {
-            toSerialize.add(a);
-        }
-        ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(MAURICE_SPECIAL_STRING + "./JavaCode/Assets/auctions.bin"));
-        oos.writeObject(toSerialize);
-        this.addedAuctions.clear();
+    public CompletableFuture<Void> logOutNP() throws IOException, ClassNotFoundException {
+        return this.checkpointer.flush();
     }
 
     /** Adds an auction
      * @param auction the auction */
     public void addAuction(Auction auction) {
-        this.addedAuctions.add(auction);
+        this.locks.lock(auction.getAuctionID());
+        try {
+            this.addedAuctions.add(auction);
+            this.unsavedAuctions.add(auction);
+            this.repository.add(auction);
+        } finally {
+            this.locks.unlock(auction.getAuctionID());
+        }
+        this.checkpointer.noteChange();
+    }
+
+    /** Schedules a requested auction if there is still room under the maximum, its start
+     * is inside the scheduling window and its date and time are free. The checks, the id
+     * and the add happen under one lock, so two requests cannot both take the last place
+     * or the same slot.
+     * @param auction the auction, without an id yet
+     * @return null once scheduled, else NO_MORE_AUCTIONS, DATE_OUT_OF_RANGE or DATE_UNAVAILABLE
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public String scheduleAuction(Auction auction) throws IOException, ClassNotFoundException {
+        synchronized (this.scheduleLock) {
+            if (!this.isAuctionAllowed()) {
+                return NO_MORE_AUCTIONS;
+            }
+            if (!this.isRequestedAuctionDateValid(auction.getStart())) {
+                return DATE_OUT_OF_RANGE;
+            }
+            if (!this.isRequestedAuctionDateAvailable(auction.getStart(), auction.getEnd())) {
+                return DATE_UNAVAILABLE;
+            }
+            auction.setAuctionId(this.getNextAvailableAuctionId());
+            this.addAuction(auction);
+        }
+        return null;
     }
 
     /** Gets the auctions.
@@ -492,75 +704,517 @@ public class DataControlCenter {
     }
 
     /**
-     * Logs the bidder out and serializes the data.
+     * Logs the bidder out. Their bids are already recorded by the store, so this saves
+     * the bidder's own record and forces the bids to disk; the bid-on auctions are
+     * checkpointed on the checkpointer's thread once enough bids have built up.
      * @param currentBidder
-     * @throws IOException
+     * @return completes once saved; fails if this or an earlier checkpoint failed
+     * @throws IOException if the bids cannot be forced, or an earlier checkpoint failed
      * @throws ClassNotFoundException
      */
-    public void logOutBidder(Bidder currentBidder) throws IOException, ClassNotFoundException {
-        ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(MAURICE_SPECIAL_STRING + "./JavaCode/Assets/auctions.bin"));
-
-        //HashSet<Auction> toSerialize = new HashSet<>();
-        HashSet<Auction> toSerialize = this.getAllAuctions();
-
-//        for (Auction replace : this.updatedAuctions) {
-//            for (Auction original : this.deserializeAllAuctions()) {
-//                if (replace.getAuctionID() == original.getAuctionID()) {
-//                    toSerialize.add(replace);
-//                }
-//            }
-//        }
-//        for (Auction original : this.deserializeAllAuctions()) {
-//            if (!toSerialize.contains(original)) {
-//                toSerialize.add(original);
-//            }
-//        }
-
-        HashSet<Bidder> toSerializeBidders = this.deserializeAllBidders();
-        //toSerializeBidders.add(currentBidder);
-//        for (Bidder bidder : this.deserializeAllBidders()) {
-//            if (!bidder.getName().equals(currentBidder.getName())){
-//            //if (!toSerializeBidders.contains(currentBidder)) {
-//                toSerializeBidders.add(bidder);
-//            }
-//        }
-
+    public CompletableFuture<Void> logOutBidder(Bidder currentBidder) throws IOException, ClassNotFoundException {
+        // Bids are rebuilt from the auctions at login, so only the account details are saved.
+        this.store.saveBidder(new Bidder(currentBidder.getName(), currentBidder.email,
+                currentBidder.getUsername(), currentBidder.address, currentBidder.phoneNumber,
+                currentBidder.getBalance()));
         this.updatedAuctions.clear();
-        oos.writeObject(toSerialize);
-
-        oos = new ObjectOutputStream(new FileOutputStream(MAURICE_SPECIAL_STRING + "./JavaCode/Assets/bidders.bin"));
-        oos.writeObject(toSerializeBidders);
+        this.store.syncBids();
+        if (this.store.pendingBidCount() >= SNAPSHOT_AFTER_BIDS) {
+            return this.checkpointer.flush();
+        }
+        IOException earlier = this.checkpointer.takeFailure();
+        if (earlier != null) {
+            throw earlier;
+        }
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
-     *
+     * Logs the admin out, saving the auction limit; auction changes are saved by a
+     * checkpoint on the checkpointer's thread.
+     * @return completes once saved; fails if this or an earlier checkpoint failed
      * @throws IOException
      * @throws ClassNotFoundException
      */
-    public void logOutAdmin() throws IOException, ClassNotFoundException {
-        ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(MAURICE_SPECIAL_STRING + "./JavaCode/Assets/system.bin"));
-        oos.writeObject(this.maxAuctionAllowed);
-        oos = new ObjectOutputStream(new FileOutputStream(MAURICE_SPECIAL_STRING + "./JavaCode/Assets/auctions.bin"));
-        HashSet<Auction> toSerialize = this.deserializeAllAuctions();
-        HashSet<Auction> modifiedSerialize = new HashSet<>();
-        for (Auction auction : toSerialize) {
-            if (!this.cancelledAuctions.contains(auction)) {
-                modifiedSerialize.add(auction);
+    public CompletableFuture<Void> logOutAdmin() throws IOException, ClassNotFoundException {
+        this.store.saveMaxAuctions(this.maxAuctionAllowed);
+        return this.checkpointer.flush();
+    }
+
+    /** Places a bid if it still beats the item's current price, and records it in the store.
+     * Acceptance is serialized per auction: there is no compare-and-set path, because a
+     * bid must reach the store before the item takes it, and the store write has to sit
+     * inside the same critical section as the price check. A bid that is already beaten
+     * is dropped on a lock-free read of the price, before any lock is taken. Otherwise,
+     * while this auction's lock is held, the bid is checked against the price again, the
+     * counter bid the item's proxies call for is worked out, both are written to the
+     * store, and only then does the item take them. Bids on other auctions never wait,
+     * a cancel cannot race the bid, and nothing is seen that the store does not hold.
+     * The bidder's lock is held too, so the bidder's item limits are checked and used
+     * up in one step however many bids they send at once.
+     * <p>
+     * Started with auctioncentral.bidPath=sequencer, bids go through a BidSequencer
+     * instead: the bid is journaled and, when auctioncentral.sequencer.replica names a
+     * file, mirrored there, and only then does the single business thread apply it.
+     * @param auction the auction
+     * @param item the item
+     * @param bid the bid
+     * @return true if the bid was placed, false if another bid got there first or the
+     * auction is cancelled
+     * @throws BidLimitException if the bid is on a new item and the bidder is at an item limit
+     * @throws UncheckedIOException if the store cannot record the bid
+     */
+    public boolean placeBid(Auction auction, Item item, Bid bid) {
+        if (bid.getAmount() <= item.getCurrentBid()) {
+            return false;
+        }
+        if (this.sequencer != null) {
+            return this.sequencer.place(auction, item, bid);
+        }
+        this.bidderLocks.lock(bid.getBidderId());
+        this.locks.lock(auction.getAuctionID());
+        try {
+            if (auction.isCanceled() || bid.getAmount() <= item.getCurrentBid()) {
+                return false;
+            }
+            BidLimitException over = this.checkLimits(auction, item, bid.getBidderId(), null, null);
+            if (over != null) {
+                throw over;
+            }
+            Bid counter = this.counterTo(auction, item, bid);
+            if (counter == null) {
+                this.store.appendBid(auction, item, bid);
+            } else {
+                this.store.appendBids(auction, Arrays.asList(item, item), Arrays.asList(bid, counter));
             }
+            this.apply(auction, item, bid);
+            if (counter != null) {
+                this.apply(auction, item, counter);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.locks.unlock(auction.getAuctionID());
+            this.bidderLocks.unlock(bid.getBidderId());
         }
-        oos.writeObject(modifiedSerialize);
-        this.cancelledAuctions.clear();
+        this.checkpointer.noteChange();
+        return true;
     }
 
-    /**
-     *
-     * @param auction
-     * @param item
-     * @param bid
+    /** Queues a bid for the ingestion stage, which applies it together with whatever
+     * else was submitted meanwhile. The bid is accepted on the same terms as placeBid.
+     * @param auction the auction
+     * @param item the item
+     * @param bid the bid
+     * @return completes with true once the bid is placed and stored, false if another bid
+     * got there first or the auction is cancelled; completes exceptionally with a
+     * BidLimitException if the bidder is at an item limit, or with an
+     * UncheckedIOException if the store cannot record the bid
      */
-    public void placeBid(Auction auction, Item item, Bid bid) {
-        item.addBid(bid);
-        this.updateItem = item;
+    public CompletableFuture<Boolean> submitBid(Auction auction, Item item, Bid bid) {
+        return this.ingest.submit(auction, item, bid);
+    }
+
+    /** Settles one auction's queued bids under a single hold of its lock. Each bid is
+     * checked against the price the bids before it leave, and the counter bids of the
+     * item's proxies are worked out, then every accepted bid is stored with one write.
+     * Only once that write succeeds do the items take the bids and the results complete.
+     * The locks of every bidder in the batch are held too, for their item limits.
+     * Runs on the ingestion thread. */
+    private void applyBids(Auction auction, List<BidIngest.Pending> bids) {
+        boolean[] accepted = new boolean[bids.size()];
+        BidLimitException[] refused = new BidLimitException[bids.size()];
+        ArrayList<Item> items = new ArrayList<>(bids.size());
+        ArrayList<Bid> placed = new ArrayList<>(bids.size());
+        int[] bidderIds = new int[bids.size()];
+        for (int i = 0; i < bids.size(); i++) {
+            bidderIds[i] = bids.get(i).bid.getBidderId();
+        }
+        this.bidderLocks.lockEach(bidderIds);
+        this.locks.lock(auction.getAuctionID());
+        try {
+            if (!auction.isCanceled()) {
+                // The bid each item will be led by once the batch is in, as bids are settled.
+                IdentityHashMap<Item, Bid> leading = new IdentityHashMap<>();
+                for (int i = 0; i < bids.size(); i++) {
+                    BidIngest.Pending pending = bids.get(i);
+                    Bid lead = leading.get(pending.item);
+                    int price = lead == null ? pending.item.getCurrentBid() : lead.getAmount();
+                    if (pending.bid.getAmount() <= price) {
+                        continue;
+                    }
+                    refused[i] = this.checkLimits(auction, pending.item, bidderIds[i], items, placed);
+                    if (refused[i] != null) {
+                        continue;
+                    }
+                    accepted[i] = true;
+                    items.add(pending.item);
+                    placed.add(pending.bid);
+                    lead = pending.bid;
+                    Bid counter = this.counterTo(auction, pending.item, pending.bid);
+                    if (counter != null) {
+                        items.add(pending.item);
+                        placed.add(counter);
+                        lead = counter;
+                    }
+                    leading.put(pending.item, lead);
+                }
+                if (!placed.isEmpty()) {
+                    this.store.appendBids(auction, items, placed);
+                }
+                for (int i = 0; i < placed.size(); i++) {
+                    this.apply(auction, items.get(i), placed.get(i));
+                }
+            }
+        } catch (IOException e) {
+            for (BidIngest.Pending pending : bids) {
+                pending.result.completeExceptionally(new UncheckedIOException(e));
+            }
+            return;
+        } finally {
+            this.locks.unlock(auction.getAuctionID());
+            this.bidderLocks.unlockEach(bidderIds);
+        }
+        for (int i = 0; i < bids.size(); i++) {
+            if (refused[i] != null) {
+                bids.get(i).result.completeExceptionally(refused[i]);
+            } else {
+                bids.get(i).result.complete(accepted[i]);
+            }
+        }
+        if (!placed.isEmpty()) {
+            this.checkpointer.noteChanges(placed.size());
+        }
+    }
+
+    /** The sequencer's business logic: applies a run of bids in order, once the
+     * consumers have recorded them. The locks of every bidder and the stripes of every
+     * auction in the run are taken once, only to keep out cancels, proxy registrations,
+     * bids placed off the ring and checkpoint captures, which run on other threads; bids
+     * never contend with each other here. Counter bids are not journaled, as replay
+     * works them out again from the bids that called for them.
+     * A bid over the bidder's item limits fails with a BidLimitException.
+     * Runs on the sequencer's business thread. */
+    private void applySequenced(List<BidSequencer.Slot> run) {
+        int[] auctionIds = new int[run.size()];
+        int[] bidderIds = new int[run.size()];
+        for (int i = 0; i < run.size(); i++) {
+            auctionIds[i] = run.get(i).auction.getAuctionID();
+            bidderIds[i] = run.get(i).bid.getBidderId();
+        }
+        int count = 0;
+        this.bidderLocks.lockEach(bidderIds);
+        this.locks.lockEach(auctionIds);
+        try {
+            for (BidSequencer.Slot slot : run) {
+                if (slot.maximum) {
+                    count += this.registerSequenced(slot);
+                    continue;
+                }
+                if (slot.auction.isCanceled() || slot.bid.getAmount() <= slot.item.getCurrentBid()) {
+                    continue;
+                }
+                slot.error = this.checkLimits(slot.auction, slot.item, slot.bid.getBidderId(), null, null);
+                if (slot.error != null) {
+                    continue;
+                }
+                slot.accepted = true;
+                Bid counter = this.counterTo(slot.auction, slot.item, slot.bid);
+                this.apply(slot.auction, slot.item, slot.bid);
+                count++;
+                if (counter != null) {
+                    this.apply(slot.auction, slot.item, counter);
+                    count++;
+                }
+            }
+        } finally {
+            this.locks.unlockEach(auctionIds);
+            this.bidderLocks.unlockEach(bidderIds);
+        }
+        if (count > 0) {
+            this.checkpointer.noteChanges(count);
+        }
+    }
+
+    /** Registers a proxy maximum taken from the ring on the terms placeProxyBid takes
+     * it, placing the counter bid it calls for. Caller holds the locks.
+     * @return the number of bids placed */
+    private int registerSequenced(BidSequencer.Slot slot) {
+        int bidderId = slot.bid.getBidderId();
+        if (slot.auction.isCanceled()) {
+            return 0;
+        }
+        slot.error = this.checkLimits(slot.auction, slot.item, bidderId, null, null);
+        if (slot.error != null || !this.acceptsProxy(slot.auction, slot.item, bidderId, slot.bid.getAmount())) {
+            return 0;
+        }
+        slot.accepted = true;
+        return this.registerProxy(slot.auction, slot.item, bidderId, slot.bid.getAmount()) == null ? 0 : 1;
+    }
+
+    /** The sequencer's journaling consumer: stores a run's bids, before they are applied,
+     * with one appendBids per auction, and its proxy maximums in order between them. */
+    private void journalSequenced(List<BidSequencer.Slot> run) throws IOException {
+        for (Map.Entry<Auction, List<BidSequencer.Slot>> group : groupByAuction(run).entrySet()) {
+            Auction auction = group.getKey();
+            List<Item> items = new ArrayList<>();
+            List<Bid> bids = new ArrayList<>();
+            for (BidSequencer.Slot slot : group.getValue()) {
+                if (slot.maximum) {
+                    if (!bids.isEmpty()) {
+                        this.store.appendBids(auction, items, bids);
+                        items.clear();
+                        bids.clear();
+                    }
+                    this.store.appendMaximum(auction, slot.item, slot.bid.getBidder(), slot.bid.getAmount());
+                } else {
+                    items.add(slot.item);
+                    bids.add(slot.bid);
+                }
+            }
+            if (!bids.isEmpty()) {
+                this.store.appendBids(auction, items, bids);
+            }
+        }
+    }
+
+    /** The sequencer's replication consumer: mirrors a run's bids and proxy maximums to
+     * the replica journal, if one is configured. */
+    private void replicateSequenced(List<BidSequencer.Slot> run) throws IOException {
+        if (this.replica == null) {
+            return;
+        }
+        for (Map.Entry<Auction, List<BidSequencer.Slot>> group : groupByAuction(run).entrySet()) {
+            int auctionId = group.getKey().getAuctionID();
+            List<Bid> bids = new ArrayList<>();
+            for (BidSequencer.Slot slot : group.getValue()) {
+                if (slot.maximum) {
+                    if (!bids.isEmpty()) {
+                        this.replica.appendAll(auctionId, bids);
+                        bids.clear();
+                    }
+                    this.replica.appendMaximum(auctionId, slot.bid.getBidder(), slot.bid.getItem(), slot.bid.getAmount());
+                } else {
+                    bids.add(slot.bid);
+                }
+            }
+            if (!bids.isEmpty()) {
+                this.replica.appendAll(auctionId, bids);
+            }
+        }
+    }
+
+    /** Collects the slots of a run by auction, in order. */
+    private static LinkedHashMap<Auction, List<BidSequencer.Slot>> groupByAuction(List<BidSequencer.Slot> run) {
+        LinkedHashMap<Auction, List<BidSequencer.Slot>> toSend = new LinkedHashMap<>();
+        for (BidSequencer.Slot slot : run) {
+            toSend.computeIfAbsent(slot.auction, key -> new ArrayList<>()).add(slot);
+        }
+        return toSend;
+    }
+
+    /** Registers or raises a proxy bid: the engine bids for the bidder only as high as
+     * competing bids force it to, up to the maximum, instead of the bidder placing every
+     * step by hand. At most one bid is placed per call or per competing bid. The maximum
+     * is recorded by the store before it is registered, so it survives a restart; on the
+     * sequencer path it goes through the ring, in sequence with the bids.
+     * @param auction the auction
+     * @param item the item
+     * @param bidder the bidder's name
+     * @param maximum the most the bidder will pay
+     * @return true if the maximum was registered; false if the auction is cancelled, the
+     * maximum cannot beat the price or it does not raise the bidder's earlier maximum
+     * @throws BidLimitException if the item is new to the bidder and the bidder is at an item limit
+     * @throws UncheckedIOException if the store cannot record the maximum
+     */
+    public boolean placeProxyBid(Auction auction, Item item, String bidder, int maximum) {
+        if (this.sequencer != null) {
+            return this.sequencer.placeMaximum(auction, item, new Bid(bidder, item.getName(), maximum,
+                    auction.getAuctionID(), auction.getStart(), auction.getEnd()));
+        }
+        Bid placed;
+        int bidderId = NameDictionary.BIDDERS.idOf(bidder);
+        this.bidderLocks.lock(bidderId);
+        this.locks.lock(auction.getAuctionID());
+        try {
+            if (auction.isCanceled()) {
+                return false;
+            }
+            // Registering places a bid unless the bidder already leads, so the limits apply here.
+            BidLimitException over = this.checkLimits(auction, item, bidderId, null, null);
+            if (over != null) {
+                throw over;
+            }
+            if (!this.acceptsProxy(auction, item, bidderId, maximum)) {
+                return false;
+            }
+            this.store.appendMaximum(auction, item, bidder, maximum);
+            placed = this.registerProxy(auction, item, bidderId, maximum);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.locks.unlock(auction.getAuctionID());
+            this.bidderLocks.unlock(bidderId);
+        }
+        if (placed != null) {
+            this.checkpointer.noteChange();
+        }
+        return true;
+    }
+
+    /** Checks whether an item's proxies would take a maximum. Caller holds the auction's lock. */
+    private boolean acceptsProxy(Auction auction, Item item, int bidderId, int maximum) {
+        return this.bookFor(auction, item).accepts(bidderId, maximum, item.getCurrentBid(), this.leaderOf(item));
+    }
+
+    /** Registers a maximum the item's proxies accept and that is already in the store, then
+     * places the counter bid it calls for. Counter bids are not journaled: replaying the
+     * maximum works them out again. Caller holds the bidder's lock and the auction's lock.
+     * @return the bid placed, or null */
+    private Bid registerProxy(Auction auction, Item item, int bidderId, int maximum) {
+        this.bookFor(auction, item).register(bidderId, maximum, item.getCurrentBid(), this.leaderOf(item));
+        Bid placed = this.counterTo(auction, item, item.getCurrentBid(), this.leaderOf(item));
+        if (placed != null) {
+            this.apply(auction, item, placed);
+        }
+        return placed;
+    }
+
+    /** Gets an item's proxies, creating the book. Caller holds the auction's lock. */
+    private ProxyBook bookFor(Auction auction, Item item) {
+        return this.proxies.computeIfAbsent(auction.getAuctionID(), key -> new HashMap<>())
+                .computeIfAbsent(item, key -> new ProxyBook());
+    }
+
+    /** Gets an item's proxies, or null if it has none. Caller holds the auction's lock. */
+    private ProxyBook bookOf(Auction auction, Item item) {
+        Map<Item, ProxyBook> books = this.proxies.get(auction.getAuctionID());
+        return books == null ? null : books.get(item);
+    }
+
+    /** Gets a bidder's registered proxy maximum on an item.
+     * @param auction the auction
+     * @param item the item
+     * @param bidder the bidder's name
+     * @return the maximum, or 0 if the bidder has no proxy on the item */
+    public int getProxyMaximum(Auction auction, Item item, String bidder) {
+        this.locks.lock(auction.getAuctionID());
+        try {
+            ProxyBook book = this.bookOf(auction, item);
+            return book == null ? 0 : book.getMaximum(NameDictionary.BIDDERS.find(bidder));
+        } finally {
+            this.locks.unlock(auction.getAuctionID());
+        }
+    }
+
+    /** Works out the counter bid the item's proxies call for once a bid stands, without
+     * placing it. Caller holds the auction's lock. */
+    private Bid counterTo(Auction auction, Item item, Bid standing) {
+        return this.counterTo(auction, item, standing.getAmount(), standing.getBidderId());
+    }
+
+    /** Works out the counter bid the item's proxies call for at a price and leader,
+     * without placing it. Caller holds the auction's lock.
+     * @return the bid to place, or null */
+    private Bid counterTo(Auction auction, Item item, int price, int leader) {
+        ProxyBook book = this.bookOf(auction, item);
+        ProxyBook.CounterBid counter = book == null ? null : book.respond(price, leader);
+        if (counter == null) {
+            return null;
+        }
+        return new Bid(NameDictionary.BIDDERS.nameOf(counter.bidderId), item.getName(), counter.amount,
+                auction.getAuctionID(), auction.getStart(), auction.getEnd());
+    }
+
+    /** Checks a bid against the bidder's item limits. A bid on an item the bidder has
+     * already bid on always passes; otherwise the bidder's items in this auction, and in
+     * every upcoming auction, must stay under Bidder's limits. Items are counted from
+     * the bidder index plus any the caller has accepted but not applied yet. Caller
+     * holds the bidder's lock and the auction's lock.
+     * @param accepted items of bids the caller accepted in this auction but has not
+     * applied, or null; paired with acceptedBids
+     * @param acceptedBids those bids, or null
+     * @return null if the bid may go ahead, else the limit it would break */
+    private BidLimitException checkLimits(Auction auction, Item item, int bidderId,
+                                          List<Item> accepted, List<Bid> acceptedBids) {
+        ArrayList<Item> inAuction;
+        synchronized (this.repository) {
+            inAuction = new ArrayList<>(this.repository.getBidderBids().getItems(bidderId, auction.getAuctionID()));
+        }
+        for (int i = 0; accepted != null && i < accepted.size(); i++) {
+            if (acceptedBids.get(i).getBidderId() == bidderId && !containsItem(inAuction, accepted.get(i))) {
+                inAuction.add(accepted.get(i));
+            }
+        }
+        if (containsItem(inAuction, item)) {
+            return null;
+        }
+        if (inAuction.size() >= Bidder.MAX_ITEMS_WITH_BID_IN_AN_AUCTION) {
+            return new BidLimitException(false);
+        }
+        int inAll = inAuction.size();
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this.repository) {
+            BidderBidIndex index = this.repository.getBidderBids();
+            for (int auctionId : index.getAuctionIds(bidderId)) {
+                Auction other = this.repository.getById(auctionId);
+                if (auctionId != auction.getAuctionID() && other != null && other.getStart().isAfter(now)) {
+                    inAll += index.getItems(bidderId, auctionId).size();
+                }
+            }
+        }
+        return inAll >= Bidder.MAX_ITEMS_WITH_BID_IN_ALL_AUCTIONS ? new BidLimitException(true) : null;
+    }
+
+    private static boolean containsItem(List<Item> items, Item item) {
+        for (Item each : items) {
+            if (each == item) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Gets the id of the bidder leading an item, or NameDictionary.NONE if nobody has bid. */
+    private int leaderOf(Item item) {
+        return item.getBidCount() == 0 ? NameDictionary.NONE : item.getBidWithHighestBid().getBidderId();
+    }
+
+    /** Lets the item take a bid that has been checked against its price and is already in
+     * the store, then tells the indexes, dirty sets and listeners. Caller holds the
+     * auction's lock, so nothing can have raised the price since the check. */
+    private void apply(Auction auction, Item item, Bid bid) {
+        if (!item.tryBid(bid)) {
+            return;
+        }
+        ProxyBook book = this.bookOf(auction, item);
+        if (book != null) {
+            book.prune(bid.getAmount(), bid.getBidderId());
+        }
+        this.noteBid(auction, item, bid);
+    }
+
+    /** Records an accepted bid in the indexes and the dirty sets. Caller holds the auction's lock. */
+    private void noteBid(Auction auction, Item item, Bid bid) {
+        this.repository.recordBid(auction, item, bid);
+        this.biddedAuctions.add(auction);
+        this.itemUpdates.add(item);
+        for (BidListener listener : this.bidListeners) {
+            listener.bidPlaced(auction, item, bid);
+        }
+    }
+
+    /** Registers a listener to hear about every bid accepted from now on, counter bids
+     * included.
+     * @param listener the listener */
+    public void addBidListener(BidListener listener) {
+        this.bidListeners.add(listener);
+    }
+
+    /** Stops a listener hearing about bids.
+     * @param listener the listener */
+    public void removeBidListener(BidListener listener) {
+        this.bidListeners.remove(listener);
     }
 
     /**
@@ -587,8 +1241,7 @@ public class DataControlCenter {
      * @throws ClassNotFoundException
      */
     private HashSet<AuctionCentralEmployee> deserializeAllAdmins() throws IOException, ClassNotFoundException {
-        return (HashSet<AuctionCentralEmployee>) new ObjectInputStream(getClass().
-                getResourceAsStream("admins.bin")).readObject();
+        return this.store.loadAdmins();
     }
 
     /**
@@ -615,22 +1268,19 @@ public class DataControlCenter {
      */
     public HashSet<Auction> getActiveAuctions() throws IOException, ClassNotFoundException {
         HashSet<Auction> toSend = new HashSet<>();
-        for (Auction auction : this.deserializeAllAuctions()) {
-            if (auction.getEnd().isAfter(LocalDateTime.now()) &&
-                    auction.getStart().isBefore(LocalDateTime.now())) {
-                if (this.cancelledAuctions.contains(auction)) {
-                    auction.setIsCanceled(true);
-                }
-                toSend.add(auction);
-            }
+        List<Auction> running;
+        synchronized (this.repository) {
+            running = this.repository.getTimes().runningAt(LocalDateTime.now());
         }
-        HashSet<Auction> newSend = new HashSet<>();
-        for (Auction auction : toSend) {
+        for (Auction auction : running) {
+            if (this.cancelledAuctions.contains(auction)) {
+                auction.setIsCanceled(true);
+            }
             if (!auction.isCanceled()) {
-                newSend.add(auction);
+                toSend.add(auction);
             }
         }
-        return newSend;
+        return toSend;
     }
 
     /**
@@ -641,60 +1291,79 @@ public class DataControlCenter {
      */
     public HashSet<Auction> getFutureAuctions() throws IOException, ClassNotFoundException {
         HashSet<Auction> toSend = new HashSet<>();
-        for (Auction auction : this.deserializeAllAuctions()) {
-            if (auction.getStart().isAfter(LocalDateTime.now())) {
-                if (this.cancelledAuctions.contains(auction)) {
-                    auction.setIsCanceled(true);
-                }
-                toSend.add(auction);
-            }
+        List<Auction> upcoming;
+        synchronized (this.repository) {
+            upcoming = this.repository.getTimes().startingAfter(LocalDateTime.now());
         }
-        HashSet<Auction> newSend = new HashSet<>();
-        for (Auction auction : toSend) {
+        for (Auction auction : upcoming) {
+            if (this.cancelledAuctions.contains(auction)) {
+                auction.setIsCanceled(true);
+            }
             if (!auction.isCanceled()) {
-                newSend.add(auction);
+                toSend.add(auction);
             }
         }
-        return newSend;
+        return toSend;
     }
 
-    /**
-     *
-     * @param toSort
-     * @return
+    /** Sorts an arbitrary set of auctions by end date, earliest first.
+     * For listings of all auctions prefer getAuctionsSortedByEnd, which needs no sort.
+     * @param toSort the auctions
+     * @return sorted list
      */
     public ArrayList<Auction> sortAuctionSet(HashSet<Auction> toSort) {
-        ArrayList<Auction> toSend = new ArrayList<>();
-        for (Auction auc : toSort) { toSend.add(auc); }
-        int n = toSend.size();
-        for (int i = 0; i < n-1; i++)
-            for (int j = 0; j < n-i-1; j++)
-                if (toSend.get(j).getEnd().isAfter(toSend.get(j+1).getEnd())) {
-                    Auction temp = toSend.get(j);
-                    toSend.set(j, toSend.get(j+1));
-                    toSend.set(j+1, temp);
-                }
+        ArrayList<Auction> toSend = new ArrayList<>(toSort);
+        toSend.sort(Comparator.comparing(Auction::getEnd));
         return toSend;
     }
 
-    /**
-     *
-     * @param toSort
-     * @return
+    /** Sorts an arbitrary set of auctions by start date, latest first.
+     * @param toSort the auctions
+     * @return sorted list
      */
     public ArrayList<Auction> sortAuctionSetByStartDate (HashSet<Auction> toSort) {
-        ArrayList<Auction> toSend = new ArrayList<>();
-        for (Auction auc : toSort) {
-            toSend.add(auc);
-        }
-        int n = toSend.size();
-        for (int i = 0; i < n - 1; i++)
-            for (int j = 0; j < n - i - 1; j++)
-                if (toSend.get(j).getStart().isBefore(toSend.get(j + 1).getStart())) {
-                    Auction temp = toSend.get(j);
-                    toSend.set(j, toSend.get(j + 1));
-                    toSend.set(j + 1, temp);
-                }
+        ArrayList<Auction> toSend = new ArrayList<>(toSort);
+        toSend.sort(Comparator.comparing(Auction::getStart).reversed());
+        return toSend;
+    }
+
+    /** Gets every auction ordered by end date, earliest first, straight from the time index.
+     * The view reads the live index, so take copies through getAuctionPage.
+     * @return lazy ordered view */
+    public Iterable<Auction> getAuctionsSortedByEnd() {
+        return this.repository.getTimes().inEndOrder();
+    }
+
+    /** Gets every auction ordered by start date.
+     * @param ascending true for earliest first
+     * @return lazy ordered view */
+    public Iterable<Auction> getAuctionsSortedByStart(boolean ascending) {
+        return this.repository.getTimes().inStartOrder(ascending);
+    }
+
+    /** Gets every auction ordered by organization name.
+     * @return lazy ordered view */
+    public Iterable<Auction> getAuctionsSortedByOrganization() {
+        return this.repository.getOrganizations().inOrder();
+    }
+
+    /** Gets one page of an ordered view, copied under the repository lock so adds and
+     * cancels cannot change the indexes mid-walk.
+     * @param ordered an ordered view such as getAuctionsSortedByEnd()
+     * @param offset number of auctions to skip
+     * @param limit maximum number of auctions to return
+     * @return the page */
+    public ArrayList<Auction> getAuctionPage(Iterable<Auction> ordered, int offset, int limit) {
+        ArrayList<Auction> toSend = new ArrayList<>(Math.max(0, Math.min(limit, 64)));
+        synchronized (this.repository) {
+            Iterator<Auction> it = ordered.iterator();
+            for (int i = 0; i < offset && it.hasNext(); i++) {
+                it.next();
+            }
+            while (toSend.size() < limit && it.hasNext()) {
+                toSend.add(it.next());
+            }
+        }
         return toSend;
     }
 
@@ -708,16 +1377,10 @@ public class DataControlCenter {
      */
     public HashSet<Auction> getAuctionsWithBounds(LocalDateTime startTime, LocalDateTime endTime)
             throws IOException, ClassNotFoundException {
-        HashSet<Auction> toSend = new HashSet<>();
         if (endTime.isBefore(startTime)) {return  null;}
-        for (Auction auction : this.deserializeAllAuctions()) {
-            boolean isStartInclusiveOrBeyond = auction.getStart().equals(startTime)
-                                                || auction.getStart().isAfter(startTime);
-            boolean isEndInclusiveOrBefore = auction.getEnd().equals(endTime)
-                                                || auction.getEnd().isBefore(endTime);
-            if (isStartInclusiveOrBeyond && isEndInclusiveOrBefore) {
-                toSend.add(auction);
-            }
+        HashSet<Auction> toSend;
+        synchronized (this.repository) {
+            toSend = new HashSet<>(this.repository.getTimes().within(startTime, endTime));
         }
         for (Auction auction : this.cancelledAuctions) {
             if (toSend.contains(auction)) {
@@ -734,33 +1397,90 @@ public class DataControlCenter {
      * @throws ClassNotFoundException
      */
     public void linkBidItemsWithAuctionID(Bidder currBidder) throws IOException, ClassNotFoundException {
-        for (Auction auction : this.deserializeAllAuctions()) {
-            for (Item item : auction.getItems()) {
-                for (Bid bid : item.getBids()) {
-                    if (currBidder.getName().equals(bid.getBidder())) {
-                        currBidder.addBid(bid);
-                    }
+        synchronized (this.repository) {
+            for (ArrayList<Bid> bids : this.repository.getBidderBids().getBidsByAuction(currBidder.getNameId())) {
+                for (Bid bid : bids) {
+                    currBidder.addBid(bid);
                 }
             }
         }
+    }
 
+    /** Adds to a logged-in bidder the bids placed in their name that they do not hold
+     * yet, such as those the proxy engine placed for them, and pays for each.
+     * @param currBidder the bidder
+     * @return the number of bids added
+     */
+    public int collectPlacedBids(Bidder currBidder) {
+        List<Bid> placed = new ArrayList<>();
+        synchronized (this.repository) {
+            for (ArrayList<Bid> bids : this.repository.getBidderBids().getBidsByAuction(currBidder.getNameId())) {
+                placed.addAll(bids);
+            }
+        }
+        HashSet<Bid> held = new HashSet<>(currBidder.getBids());
+        int added = 0;
+        for (Bid bid : placed) {
+            if (held.add(bid)) {
+                currBidder.addBid(bid);
+                currBidder.payForBid(bid.getAmount());
+                added++;
+            }
+        }
+        return added;
     }
 
-    /**
-     *
-     * @param item
-     * @return
+    /** Gets the auction that lists an item, using the item name index.
+     * If several auctions list the same name the first one indexed is returned;
+     * use getAuctionsByItemName to see all of them.
+     * @param item the exact item name
+     * @return the auction, or null if no auction lists the item
      * @throws IOException
      * @throws ClassNotFoundException
      */
     public Auction getAuctionNameByItem(String item) throws IOException, ClassNotFoundException {
-        for (Auction auction : this.deserializeAllAuctions()) {
-            for (Item items : auction.getItems()) {
-                if (item.equals(items.getName())) {
-                    return auction;
-                }
-            }
+        synchronized (this.repository) {
+            List<Auction> owners = this.repository.getItemNames().find(item);
+            return owners.isEmpty() ? null : owners.get(0);
+        }
+    }
+
+    /** Gets every auction that lists an item with this name.
+     * @param item the item name
+     * @param ignoreCase true to match regardless of case
+     * @return copy of the matching auctions, empty if none */
+    public List<Auction> getAuctionsByItemName(String item, boolean ignoreCase) {
+        synchronized (this.repository) {
+            ItemNameIndex index = this.repository.getItemNames();
+            return new ArrayList<>(ignoreCase ? index.findIgnoreCase(item) : index.find(item));
+        }
+    }
+
+    /** Gets an item of a specific auction by its name.
+     * @param auctionId the auction id
+     * @param item the exact item name
+     * @return the item, or null if that auction does not list it */
+    public Item getItemInAuction(int auctionId, String item) {
+        synchronized (this.repository) {
+            return this.repository.getItem(auctionId, item);
+        }
+    }
+
+    /** Gets an item of a specific auction by the id of its name.
+     * @param auctionId the auction id
+     * @param itemId the item name's id in NameDictionary.ITEMS
+     * @return the item, or null if that auction does not list it */
+    public Item getItemInAuction(int auctionId, int itemId) {
+        synchronized (this.repository) {
+            return this.repository.getItemNames().getItem(auctionId, itemId);
+        }
+    }
+
+    /** Gets item names that more than one auction lists.
+     * @return map of colliding item names to the auctions listing them */
+    public Map<String, List<Auction>> getItemNameCollisions() {
+        synchronized (this.repository) {
+            return this.repository.getItemNames().getCollisions();
         }
-        return null;
     }
 }
@@ -0,0 +1,214 @@
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/** The serialized file engine: auctions.bin and bidders.bin snapshots in AuctionCodec
+ * format, per-record segments layered over them, a journal of bids placed since the
+ * last checkpoint, and the npcontact.bin, admins.bin and system.bin files.
+ * Files are read from the directory when present, otherwise from the classpath, and
+ * always written to the directory.
+ * @version Oct 18, 2026
+ */
+public class FileAuctionStore implements AuctionStore {
+    /** Number of auction segment files after which a checkpoint writes a full auctions.bin snapshot. **/
+    private static final int COMPACT_AFTER_SEGMENTS = 256;
+
+    /** Directory the files are written to. **/
+    private final Path directory;
+    /** Append-only log of bids placed since the last checkpoint. **/
+    private final BidJournal journal;
+    /** Per-auction and per-bidder files holding changes since the last full snapshot. **/
+    private final SegmentStore segments;
+    /** Auction segment files as of the last checkpoint. **/
+    private volatile int segmentFiles;
+
+    /** Creates a file engine over a directory.
+     * @param directory the asset directory
+     * @throws IOException exception risk */
+    public FileAuctionStore(Path directory) throws IOException {
+        this.directory = directory;
+        this.segments = new SegmentStore(directory.resolve("segments"));
+        this.journal = new BidJournal(directory.resolve("bids.journal"),
+                Integer.getInteger("auctioncentral.journal.syncEvery", 1),
+                Long.getLong("auctioncentral.journal.syncMillis", 0L));
+        this.segmentFiles = this.segments.auctionSegmentCount();
+    }
+
+    /** Loads the snapshot and layers auction segments and tombstones over it. */
+    @Override
+    public HashSet<Auction> loadAuctions() throws IOException, ClassNotFoundException {
+        HashSet<Auction> toSend;
+        try (InputStream in = this.open("auctions.bin")) {
+            toSend = AuctionCodec.readAuctions(in);
+        }
+        for (Auction auction : this.segments.readAuctions()) {
+            toSend.remove(auction);
+            toSend.add(auction);
+        }
+        HashSet<Integer> cancelled = new HashSet<>(this.segments.readCancelled());
+        if (!cancelled.isEmpty()) {
+            toSend.removeIf(auction -> cancelled.contains(auction.getAuctionID()));
+        }
+        return toSend;
+    }
+
+    @Override
+    public int loadHighestCancelledId() throws IOException {
+        int toSend = 0;
+        for (int auctionId : this.segments.readCancelled()) {
+            toSend = Math.max(toSend, auctionId);
+        }
+        return toSend;
+    }
+
+    @Override
+    public List<BidJournal.Entry> loadPendingBids() throws IOException {
+        return this.journal.replay();
+    }
+
+    @Override
+    public HashSet<Bidder> loadBidders() throws IOException, ClassNotFoundException {
+        HashSet<Bidder> toSend;
+        try (InputStream in = this.open("bidders.bin")) {
+            toSend = AuctionCodec.readBidders(in);
+        }
+        for (Bidder changed : this.segments.readBidders()) {
+            toSend.remove(changed);
+            toSend.add(changed);
+        }
+        return toSend;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public HashSet<NPContact> loadNPContacts() throws IOException, ClassNotFoundException {
+        return (HashSet<NPContact>) this.readObject("npcontact.bin");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public HashSet<AuctionCentralEmployee> loadAdmins() throws IOException, ClassNotFoundException {
+        return (HashSet<AuctionCentralEmployee>) this.readObject("admins.bin");
+    }
+
+    @Override
+    public int loadMaxAuctions() throws IOException, ClassNotFoundException {
+        return (int) this.readObject("system.bin");
+    }
+
+    @Override
+    public void saveMaxAuctions(int max) throws IOException {
+        SnapshotFiles.writeAtomically(this.directory.resolve("system.bin"), max);
+    }
+
+    @Override
+    public void appendBid(Auction auction, Item item, Bid bid) throws IOException {
+        this.journal.append(auction.getAuctionID(), bid);
+    }
+
+    @Override
+    public void appendBids(Auction auction, List<Item> items, List<Bid> bids) throws IOException {
+        this.journal.appendAll(auction.getAuctionID(), bids);
+    }
+
+    @Override
+    public void appendMaximum(Auction auction, Item item, String bidder, int maximum) throws IOException {
+        this.journal.appendMaximum(auction.getAuctionID(), bidder, item.getName(), maximum);
+    }
+
+    @Override
+    public void syncBids() throws IOException {
+        this.journal.sync();
+    }
+
+    @Override
+    public int pendingBidCount() {
+        return this.journal.size();
+    }
+
+    /** Captures each changed auction, or every auction once segments have piled up, and
+     * marks the journal; commit encodes them into segments or a snapshot and drops only
+     * the bids before the mark. A bid taken after the capture may land in the encoding
+     * as well as in the kept journal tail, which is harmless: replay skips any bid that
+     * does not beat the price. The
+     * standing proxy maximums are written back in front of the kept journal tail.
+     * A full snapshot keeps the tombstone of the highest cancelled id when no live
+     * auction has a higher one, for loadHighestCancelledId. */
+    @Override
+    public Checkpoint prepareCheckpoint(Collection<Auction> changed, Collection<Auction> cancelled,
+                                        Collection<Auction> all, List<BidJournal.Entry> maxima) throws IOException {
+        List<BidJournal.Entry> carried = new ArrayList<>(maxima);
+        long mark = this.journal.mark();
+        if (this.segmentFiles > COMPACT_AFTER_SEGMENTS) {
+            List<AuctionCodec.Captured> snapshot = AuctionCodec.capture(all);
+            int highestLive = 0;
+            for (Auction auction : all) {
+                highestLive = Math.max(highestLive, auction.getAuctionID());
+            }
+            int highestCancelled = 0;
+            for (Auction auction : cancelled) {
+                highestCancelled = Math.max(highestCancelled, auction.getAuctionID());
+            }
+            int live = highestLive;
+            int newlyCancelled = highestCancelled;
+            return () -> {
+                int keep = Math.max(newlyCancelled, this.loadHighestCancelledId());
+                SnapshotFiles.writeAtomically(this.directory.resolve("auctions.bin"),
+                        AuctionCodec.capturedToBytes(snapshot));
+                this.segments.clearAuctions();
+                if (keep > live) {
+                    this.segments.cancelAuction(keep);
+                }
+                this.journal.discardUpTo(mark, carried);
+                this.segmentFiles = 0;
+            };
+        }
+        List<AuctionCodec.Captured> captured = AuctionCodec.capture(changed);
+        List<Integer> tombstones = new ArrayList<>(cancelled.size());
+        for (Auction auction : cancelled) {
+            tombstones.add(auction.getAuctionID());
+        }
+        return () -> {
+            for (AuctionCodec.Captured each : captured) {
+                this.segments.writeAuction(each.getAuctionID(),
+                        AuctionCodec.capturedToBytes(Collections.singletonList(each)));
+            }
+            for (int auctionId : tombstones) {
+                this.segments.cancelAuction(auctionId);
+            }
+            // Every bid before the mark is now in a snapshot or a segment.
+            this.journal.discardUpTo(mark, carried);
+            this.segmentFiles = this.segments.auctionSegmentCount();
+        };
+    }
+
+    @Override
+    public void saveBidder(Bidder bidder) throws IOException {
+        this.segments.writeBidder(bidder);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.journal.close();
+    }
+
+    private Object readObject(String name) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(this.open(name)))) {
+            return ois.readObject();
+        }
+    }
+
+    /** Opens a file from the directory, falling back to the classpath. */
+    private InputStream open(String name) throws IOException {
+        Path file = this.directory.resolve(name);
+        if (Files.isRegularFile(file)) {
+            return Files.newInputStream(file);
+        }
+        InputStream resource = FileAuctionStore.class.getResourceAsStream(name);
+        if (resource == null) {
+            throw new FileNotFoundException(name + " is neither in " + this.directory + " nor on the classpath");
+        }
+        return resource;
+    }
+}
@@ -0,0 +1,265 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/** Three stage loader for the master files. The calling thread reads records and cuts
+ * them into chunks, a pool of workers parses and validates the chunks in parallel, and
+ * the calling thread assembles the results one chunk at a time in file order, so the
+ * assembler needs no locking. Only a bounded number of chunks are in flight at once.
+ * <p>
+ * A line that fails to parse or assemble is recorded as a rejection with its line
+ * number and reason instead of ending the import; writeReport lists them.
+ * @version Oct 18, 2026
+ */
+public class ImportPipeline implements Closeable {
+    private static final int DEFAULT_CHUNK = 4096;
+
+    /** One record as read from a file, kept as the reader's field bytes and offsets so
+     * a field only becomes a String or an int when a parser asks for it. */
+    public static final class Row {
+        /** Line the record starts on. **/
+        public final long line;
+        /** The record's trimmed field bytes, back to back. **/
+        private final byte[] bytes;
+        /** Start of each field in bytes. **/
+        private final int[] starts;
+        /** End of each field in bytes, exclusive. **/
+        private final int[] ends;
+
+        Row(CsvReader in) {
+            this.line = in.getLine();
+            this.bytes = in.recordBytes();
+            this.starts = new int[in.fieldCount()];
+            this.ends = new int[this.starts.length];
+            for (int i = 0; i < this.starts.length; i++) {
+                this.starts[i] = in.fieldStart(i);
+                this.ends[i] = in.fieldEnd(i);
+            }
+        }
+
+        /** Gets the number of fields.
+         * @return field count */
+        public int size() {
+            return this.starts.length;
+        }
+
+        /** Gets a field as a string.
+         * @param index 0-based field index
+         * @return the field
+         * @throws IndexOutOfBoundsException if the row has no such field */
+        public String field(int index) {
+            return new String(this.bytes, this.starts[index], this.ends[index] - this.starts[index],
+                    StandardCharsets.UTF_8);
+        }
+
+        /** Parses a field as an int without creating a string.
+         * @param index 0-based field index
+         * @return the value
+         * @throws NumberFormatException if the field is not an int
+         * @throws IndexOutOfBoundsException if the row has no such field */
+        public int intField(int index) {
+            return CsvReader.parseInt(this.bytes, this.starts[index], this.ends[index]);
+        }
+
+        @Override
+        public String toString() {
+            StringJoiner toSend = new StringJoiner(", ");
+            for (int i = 0; i < this.size(); i++) {
+                toSend.add(this.field(i));
+            }
+            return toSend.toString();
+        }
+    }
+
+    /** Turns a row into a value on a worker thread.
+     * @param <T> the value type */
+    public interface Parser<T> {
+        /** Parses and validates a row.
+         * @param row the row
+         * @return the value
+         * @throws RuntimeException to reject the row; the message becomes the reason */
+        T parse(Row row);
+    }
+
+    /** Takes parsed values on the calling thread, in file order.
+     * @param <T> the value type */
+    public interface Assembler<T> {
+        /** Adds a value to what is being built.
+         * @param value the parsed value
+         * @param row the row it came from
+         * @throws RuntimeException to reject the row; the message becomes the reason */
+        void accept(T value, Row row);
+    }
+
+    /** A row that was left out of the import. */
+    public static final class Rejection {
+        /** File the row came from. **/
+        public final String source;
+        /** The row. **/
+        public final Row row;
+        /** Why it was rejected. **/
+        public final String reason;
+
+        Rejection(String source, Row row, String reason) {
+            this.source = source;
+            this.row = row;
+            this.reason = reason;
+        }
+
+        @Override
+        public String toString() {
+            return this.source + ":" + this.row.line + ": " + this.reason + ": " + this.row;
+        }
+    }
+
+    /** Outcome of parsing one row. */
+    private static final class Parsed<T> {
+        private final Row row;
+        private final T value;
+        private final String error;
+
+        Parsed(Row row, T value, String error) {
+            this.row = row;
+            this.value = value;
+            this.error = error;
+        }
+    }
+
+    /** Parse workers. **/
+    private final ExecutorService workers;
+    /** Rows per chunk. **/
+    private final int chunkSize;
+    /** Chunks allowed to be parsed or waiting to be assembled. **/
+    private final int maxInFlight;
+    /** Rejected rows, in file order per source. **/
+    private final List<Rejection> rejections;
+
+    /** Creates a pipeline with a worker per core. */
+    public ImportPipeline() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK);
+    }
+
+    /** Creates a pipeline.
+     * @param threads number of parse workers
+     * @param chunkSize rows handed to a worker at a time */
+    public ImportPipeline(int threads, int chunkSize) {
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "import-parse");
+            t.setDaemon(true);
+            return t;
+        });
+        this.chunkSize = chunkSize;
+        this.maxInFlight = threads * 2;
+        this.rejections = new ArrayList<>();
+    }
+
+    /** Loads one file through the pipeline.
+     * @param source name used in the error report
+     * @param input the records; closed when done
+     * @param parser run on the workers
+     * @param assembler run on the calling thread in file order
+     * @param <T> the parsed value type
+     * @return number of rows assembled
+     * @throws IOException exception risk */
+    public <T> int run(String source, CsvReader input, Parser<T> parser, Assembler<T> assembler)
+            throws IOException {
+        ArrayDeque<Future<List<Parsed<T>>>> inFlight = new ArrayDeque<>();
+        int assembled = 0;
+        try (CsvReader in = input) {
+            List<Row> chunk = new ArrayList<>(this.chunkSize);
+            while (in.next()) {
+                chunk.add(new Row(in));
+                if (chunk.size() == this.chunkSize) {
+                    inFlight.add(this.submit(chunk, parser));
+                    chunk = new ArrayList<>(this.chunkSize);
+                    while (inFlight.size() > this.maxInFlight) {
+                        assembled += this.assemble(source, inFlight.poll(), assembler);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.add(this.submit(chunk, parser));
+            }
+            while (!inFlight.isEmpty()) {
+                assembled += this.assemble(source, inFlight.poll(), assembler);
+            }
+        } finally {
+            for (Future<List<Parsed<T>>> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+        return assembled;
+    }
+
+    /** Gets every rejected row so far.
+     * @return read-only list of rejections */
+    public List<Rejection> getRejections() {
+        return Collections.unmodifiableList(this.rejections);
+    }
+
+    /** Writes one line per rejected row.
+     * @param report the report file
+     * @throws IOException exception risk */
+    public void writeReport(Path report) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            for (Rejection rejection : this.rejections) {
+                out.write(rejection.toString());
+                out.newLine();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        this.workers.shutdownNow();
+    }
+
+    private <T> Future<List<Parsed<T>>> submit(List<Row> chunk, Parser<T> parser) {
+        return this.workers.submit(() -> {
+            List<Parsed<T>> toSend = new ArrayList<>(chunk.size());
+            for (Row row : chunk) {
+                try {
+                    toSend.add(new Parsed<>(row, parser.parse(row), null));
+                } catch (RuntimeException e) {
+                    toSend.add(new Parsed<>(row, null, reason(e)));
+                }
+            }
+            return toSend;
+        });
+    }
+
+    private <T> int assemble(String source, Future<List<Parsed<T>>> chunk, Assembler<T> assembler)
+            throws IOException {
+        List<Parsed<T>> parsed;
+        try {
+            parsed = chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import of " + source + " interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Import of " + source + " failed", e.getCause());
+        }
+        int assembled = 0;
+        for (Parsed<T> result : parsed) {
+            if (result.error != null) {
+                this.rejections.add(new Rejection(source, result.row, result.error));
+                continue;
+            }
+            try {
+                assembler.accept(result.value, result.row);
+                assembled++;
+            } catch (RuntimeException e) {
+                this.rejections.add(new Rejection(source, result.row, reason(e)));
+            }
+        }
+        return assembled;
+    }
+
+    private static String reason(RuntimeException e) {
+        return e.getMessage() == null ? e.getClass().getSimpleName()
+                : e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+}
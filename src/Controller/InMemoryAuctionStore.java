@@ -0,0 +1,151 @@
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.*;
+
+/** Pure in-memory engine for tests and benchmarks. Nothing touches the disk and nothing
+ * survives the process. Auctions and bidders are kept in AuctionCodec form, so every
+ * load returns fresh objects and callers never share state through the store.
+ * Bids reach the store with the next checkpoint, as there is no crash to recover from.
+ * @version Oct 18, 2026
+ */
+public class InMemoryAuctionStore implements AuctionStore {
+    /** Encoded auctions keyed by id. **/
+    private final IntHashMap<byte[]> auctions;
+    /** Encoded bidders keyed by username. **/
+    private final HashMap<String, byte[]> bidders;
+    /** Non-profit contacts. **/
+    private final HashSet<NPContact> contacts;
+    /** Employees. **/
+    private final HashSet<AuctionCentralEmployee> admins;
+    /** Maximum number of upcoming auctions. **/
+    private int maxAuctions;
+    /** Highest id of a cancelled auction, 0 for none. **/
+    private int highestCancelled;
+
+    /** Creates an empty store.
+     * @param maxAuctions the maximum number of upcoming auctions */
+    public InMemoryAuctionStore(int maxAuctions) {
+        this.auctions = new IntHashMap<>();
+        this.bidders = new HashMap<>();
+        this.contacts = new HashSet<>();
+        this.admins = new HashSet<>();
+        this.maxAuctions = maxAuctions;
+    }
+
+    /** Creates a store holding a copy of everything in another store.
+     * @param seed the store to copy
+     * @return the new store
+     * @throws IOException exception risk
+     * @throws ClassNotFoundException exception risk */
+    public static InMemoryAuctionStore copyOf(AuctionStore seed) throws IOException, ClassNotFoundException {
+        InMemoryAuctionStore toSend = new InMemoryAuctionStore(seed.loadMaxAuctions());
+        HashSet<Auction> auctions = seed.loadAuctions();
+        toSend.prepareCheckpoint(auctions, Collections.emptyList(), auctions, Collections.emptyList()).commit();
+        for (Bidder bidder : seed.loadBidders()) {
+            toSend.saveBidder(bidder);
+        }
+        toSend.contacts.addAll(seed.loadNPContacts());
+        toSend.admins.addAll(seed.loadAdmins());
+        return toSend;
+    }
+
+    @Override
+    public synchronized HashSet<Auction> loadAuctions() throws IOException, ClassNotFoundException {
+        HashSet<Auction> toSend = new HashSet<>();
+        for (byte[] encoded : this.auctions.values()) {
+            toSend.addAll(AuctionCodec.readAuctions(new ByteArrayInputStream(encoded)));
+        }
+        return toSend;
+    }
+
+    @Override
+    public synchronized int loadHighestCancelledId() {
+        return this.highestCancelled;
+    }
+
+    @Override
+    public List<BidJournal.Entry> loadPendingBids() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public synchronized HashSet<Bidder> loadBidders() throws IOException, ClassNotFoundException {
+        HashSet<Bidder> toSend = new HashSet<>();
+        for (byte[] encoded : this.bidders.values()) {
+            toSend.addAll(AuctionCodec.readBidders(new ByteArrayInputStream(encoded)));
+        }
+        return toSend;
+    }
+
+    @Override
+    public synchronized HashSet<NPContact> loadNPContacts() {
+        return new HashSet<>(this.contacts);
+    }
+
+    @Override
+    public synchronized HashSet<AuctionCentralEmployee> loadAdmins() {
+        return new HashSet<>(this.admins);
+    }
+
+    @Override
+    public synchronized int loadMaxAuctions() {
+        return this.maxAuctions;
+    }
+
+    @Override
+    public synchronized void saveMaxAuctions(int max) {
+        this.maxAuctions = max;
+    }
+
+    @Override
+    public void appendBid(Auction auction, Item item, Bid bid) {
+    }
+
+    @Override
+    public void appendMaximum(Auction auction, Item item, String bidder, int maximum) {
+    }
+
+    @Override
+    public void syncBids() {
+    }
+
+    @Override
+    public int pendingBidCount() {
+        return 0;
+    }
+
+    @Override
+    public Checkpoint prepareCheckpoint(Collection<Auction> changed, Collection<Auction> cancelled,
+                                        Collection<Auction> all, List<BidJournal.Entry> maxima) throws IOException {
+        List<AuctionCodec.Captured> captured = AuctionCodec.capture(changed);
+        int[] removed = new int[cancelled.size()];
+        int n = 0;
+        for (Auction auction : cancelled) {
+            removed[n++] = auction.getAuctionID();
+        }
+        return () -> {
+            IntHashMap<byte[]> encoded = new IntHashMap<>(captured.size());
+            for (AuctionCodec.Captured each : captured) {
+                encoded.put(each.getAuctionID(), AuctionCodec.capturedToBytes(Collections.singletonList(each)));
+            }
+            synchronized (this) {
+                for (int auctionId : encoded.keys()) {
+                    this.auctions.put(auctionId, encoded.get(auctionId));
+                }
+                for (int auctionId : removed) {
+                    this.auctions.remove(auctionId);
+                    this.highestCancelled = Math.max(this.highestCancelled, auctionId);
+                }
+            }
+        };
+    }
+
+    @Override
+    public synchronized void saveBidder(Bidder bidder) throws IOException {
+        this.bidders.put(bidder.getUsername(), AuctionCodec.biddersToBytes(Collections.singletonList(bidder)));
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,231 @@
+import java.util.*;
+
+/** Open-addressing hash map keyed by primitive ints, so lookups never box the key.
+ * Uses linear probing with backward-shift deletion; null values are not allowed
+ * and a null slot marks an empty bucket.
+ * @param <V> the value type
+ * @version Oct 18, 2026
+ */
+public class IntHashMap<V> {
+    /** Initial number of buckets, always a power of two. **/
+    private static final int DEFAULT_CAPACITY = 16;
+    /** Table grows once it is more than this full. **/
+    private static final float LOAD_FACTOR = 0.5f;
+
+    /** Keys, parallel to values. **/
+    private int[] keys;
+    /** Values; null means the bucket is empty. **/
+    private Object[] values;
+    /** Number of mappings. **/
+    private int size;
+    /** Size at which the table is doubled. **/
+    private int threshold;
+
+    /** Creates an empty map. */
+    public IntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /** Creates an empty map sized for the expected number of entries.
+     * @param expected expected number of mappings */
+    public IntHashMap(int expected) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * LOAD_FACTOR < expected) {
+            capacity <<= 1;
+        }
+        this.allocate(capacity);
+    }
+
+    /** Gets the value for a key.
+     * @param key the key
+     * @return the value, or null if the key is absent */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = this.keys.length - 1;
+        for (int i = mix(key) & mask; this.values[i] != null; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                return (V) this.values[i];
+            }
+        }
+        return null;
+    }
+
+    /** Returns true if the key is mapped.
+     * @param key the key
+     * @return true if present */
+    public boolean containsKey(int key) {
+        return this.get(key) != null;
+    }
+
+    /** Maps a key to a value.
+     * @param key the key
+     * @param value the value, must not be null
+     * @return the previous value, or null */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("IntHashMap does not accept null values");
+        }
+        int mask = this.keys.length - 1;
+        int i = mix(key) & mask;
+        for (; this.values[i] != null; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                V old = (V) this.values[i];
+                this.values[i] = value;
+                return old;
+            }
+        }
+        this.keys[i] = key;
+        this.values[i] = value;
+        if (++this.size > this.threshold) {
+            this.resize(this.keys.length << 1);
+        }
+        return null;
+    }
+
+    /** Removes a key.
+     * @param key the key
+     * @return the removed value, or null */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int mask = this.keys.length - 1;
+        int i = mix(key) & mask;
+        for (; this.values[i] != null; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                V old = (V) this.values[i];
+                this.shiftBack(i);
+                this.size--;
+                return old;
+            }
+        }
+        return null;
+    }
+
+    /** Gets the number of mappings.
+     * @return size */
+    public int size() {
+        return this.size;
+    }
+
+    /** Returns true if there are no mappings.
+     * @return true if empty */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /** Removes every mapping. */
+    public void clear() {
+        Arrays.fill(this.values, null);
+        this.size = 0;
+    }
+
+    /** Gets a snapshot of the keys.
+     * @return the keys, in table order */
+    public int[] keys() {
+        int[] toSend = new int[this.size];
+        int n = 0;
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.values[i] != null) {
+                toSend[n++] = this.keys[i];
+            }
+        }
+        return toSend;
+    }
+
+    /** Gets a live, read-only view of the values.
+     * @return the values */
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return IntHashMap.this.size;
+            }
+        };
+    }
+
+    /** Closes the gap left at a removed bucket so probe chains stay intact.
+     * @param gap the emptied bucket */
+    private void shiftBack(int gap) {
+        int mask = this.keys.length - 1;
+        int i = (gap + 1) & mask;
+        while (this.values[i] != null) {
+            int home = mix(this.keys[i]) & mask;
+            // Move the entry back if its home bucket is not between the gap and its slot.
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                this.keys[gap] = this.keys[i];
+                this.values[gap] = this.values[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        this.values[gap] = null;
+    }
+
+    /** Rehashes every entry into a table of the given capacity.
+     * @param capacity the new capacity, a power of two */
+    private void resize(int capacity) {
+        int[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        this.allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != null) {
+                int i = mix(oldKeys[j]) & mask;
+                while (this.values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                this.keys[i] = oldKeys[j];
+                this.values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /** Allocates empty tables.
+     * @param capacity the capacity, a power of two */
+    private void allocate(int capacity) {
+        this.keys = new int[capacity];
+        this.values = new Object[capacity];
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /** Spreads sequential ids across the table.
+     * @param key the key
+     * @return the mixed hash */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** Walks the occupied buckets in table order. */
+    private class ValueIterator implements Iterator<V> {
+        private int next = this.advance(0);
+
+        private int advance(int from) {
+            while (from < values.length && values[from] == null) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next < values.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            V value = (V) values[this.next];
+            this.next = this.advance(this.next + 1);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+import java.util.*;
+
+/** Inverted index from item names to the auctions that list them.
+ * Supports exact and case-insensitive lookups, direct (auction id, item name)
+ * lookups, and reports names that appear in more than one auction. Exact names are
+ * keyed by their NameDictionary.ITEMS id.
+ * @version Oct 18, 2026
+ */
+public class ItemNameIndex {
+    /** Exact item name id to the auctions listing it, in insertion order. **/
+    private final IntHashMap<List<Auction>> byName;
+    /** Lower-cased item name to the auctions listing it. **/
+    private final HashMap<String, List<Auction>> byFoldedName;
+    /** Auction id to that auction's items keyed by exact name id. **/
+    private final IntHashMap<IntHashMap<Item>> byAuction;
+    /** Ids of exact names currently listed by more than one auction. **/
+    private final HashSet<Integer> collisions;
+
+    /** Creates an empty index. */
+    public ItemNameIndex() {
+        this.byName = new IntHashMap<>();
+        this.byFoldedName = new HashMap<>();
+        this.byAuction = new IntHashMap<>();
+        this.collisions = new HashSet<>();
+    }
+
+    /** Indexes every item currently in the auction.
+     * @param auction the auction */
+    public void addAuction(Auction auction) {
+        for (Item item : auction.getItems()) {
+            this.addItem(auction, item);
+        }
+    }
+
+    /** Indexes one item of an auction.
+     * @param auction the owning auction
+     * @param item the item */
+    public void addItem(Auction auction, Item item) {
+        int nameId = item.getNameId();
+        IntHashMap<Item> items = this.byAuction.get(auction.getAuctionID());
+        if (items == null) {
+            items = new IntHashMap<>();
+            this.byAuction.put(auction.getAuctionID(), items);
+        }
+        items.put(nameId, item);
+
+        List<Auction> owners = this.byName.get(nameId);
+        if (owners == null) {
+            owners = new ArrayList<>(1);
+            this.byName.put(nameId, owners);
+        }
+        if (!containsById(owners, auction)) {
+            owners.add(auction);
+        }
+        if (owners.size() > 1) {
+            this.collisions.add(nameId);
+        }
+        link(this.byFoldedName, fold(item.getName()), auction);
+    }
+
+    /** Drops every item of the auction from the index.
+     * @param auction the auction */
+    public void removeAuction(Auction auction) {
+        IntHashMap<Item> items = this.byAuction.remove(auction.getAuctionID());
+        if (items == null) {
+            return;
+        }
+        for (int nameId : items.keys()) {
+            List<Auction> owners = this.byName.get(nameId);
+            if (owners != null) {
+                owners.removeIf(owner -> owner.getAuctionID() == auction.getAuctionID());
+                if (owners.isEmpty()) {
+                    this.byName.remove(nameId);
+                }
+            }
+            if (owners == null || owners.size() < 2) {
+                this.collisions.remove(nameId);
+            }
+            unlink(this.byFoldedName, fold(NameDictionary.ITEMS.nameOf(nameId)), auction);
+        }
+    }
+
+    /** Gets the auctions listing an item with exactly this name.
+     * @param name the item name
+     * @return read-only list of auctions, empty if none */
+    public List<Auction> find(String name) {
+        return view(this.byName.get(NameDictionary.ITEMS.find(name)));
+    }
+
+    /** Gets the auctions listing an item with this name, ignoring case.
+     * @param name the item name
+     * @return read-only list of auctions, empty if none */
+    public List<Auction> findIgnoreCase(String name) {
+        return view(this.byFoldedName.get(fold(name)));
+    }
+
+    /** Gets one item of one auction by name.
+     * @param auctionId the auction id
+     * @param name the exact item name
+     * @return the item, or null if that auction has no such item */
+    public Item getItem(int auctionId, String name) {
+        return this.getItem(auctionId, NameDictionary.ITEMS.find(name));
+    }
+
+    /** Gets one item of one auction by name id.
+     * @param auctionId the auction id
+     * @param nameId the exact item name's id in NameDictionary.ITEMS
+     * @return the item, or null if that auction has no such item */
+    public Item getItem(int auctionId, int nameId) {
+        IntHashMap<Item> items = this.byAuction.get(auctionId);
+        return items == null ? null : items.get(nameId);
+    }
+
+    /** Gets every item name that is listed in more than one auction.
+     * @return map of colliding names to the auctions listing them */
+    public Map<String, List<Auction>> getCollisions() {
+        Map<String, List<Auction>> toSend = new HashMap<>();
+        for (int nameId : this.collisions) {
+            toSend.put(NameDictionary.ITEMS.nameOf(nameId), view(this.byName.get(nameId)));
+        }
+        return toSend;
+    }
+
+    /** Returns true if the name is listed in more than one auction.
+     * @param name the exact item name
+     * @return true on a collision */
+    public boolean isCollision(String name) {
+        return this.collisions.contains(NameDictionary.ITEMS.find(name));
+    }
+
+    private static List<Auction> link(HashMap<String, List<Auction>> map, String key, Auction auction) {
+        List<Auction> owners = map.get(key);
+        if (owners == null) {
+            owners = new ArrayList<>(1);
+            map.put(key, owners);
+        }
+        if (!containsById(owners, auction)) {
+            owners.add(auction);
+        }
+        return owners;
+    }
+
+    private static List<Auction> unlink(HashMap<String, List<Auction>> map, String key, Auction auction) {
+        List<Auction> owners = map.get(key);
+        if (owners == null) {
+            return null;
+        }
+        owners.removeIf(owner -> owner.getAuctionID() == auction.getAuctionID());
+        if (owners.isEmpty()) {
+            map.remove(key);
+            return null;
+        }
+        return owners;
+    }
+
+    private static boolean containsById(List<Auction> owners, Auction auction) {
+        for (Auction owner : owners) {
+            if (owner.getAuctionID() == auction.getAuctionID()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Auction> view(List<Auction> owners) {
+        return owners == null ? Collections.emptyList() : Collections.unmodifiableList(owners);
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
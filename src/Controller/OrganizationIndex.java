@@ -0,0 +1,64 @@
+import java.util.*;
+
+/** Keeps auctions grouped by organization name in sorted order, so listings by
+ * organization and an organization's own auctions need no scan or sort. Lookups go
+ * through the organization's NameDictionary id; the names are only compared to keep
+ * the order.
+ * @version Oct 18, 2026
+ */
+public class OrganizationIndex {
+    /** Organization name to its auctions, in insertion order. **/
+    private final TreeMap<String, List<Auction>> byOrganization;
+    /** Organization id to the same lists. **/
+    private final IntHashMap<List<Auction>> byOrganizationId;
+
+    /** Creates an empty index. */
+    public OrganizationIndex() {
+        this.byOrganization = new TreeMap<>();
+        this.byOrganizationId = new IntHashMap<>();
+    }
+
+    /** Indexes an auction. Auctions without an organization are skipped.
+     * @param auction the auction */
+    public void add(Auction auction) {
+        if (auction.getOrganization() == null) {
+            return;
+        }
+        List<Auction> auctions = this.byOrganizationId.get(auction.getOrganizationId());
+        if (auctions == null) {
+            auctions = new ArrayList<>();
+            this.byOrganization.put(auction.getOrganization(), auctions);
+            this.byOrganizationId.put(auction.getOrganizationId(), auctions);
+        }
+        auctions.add(auction);
+    }
+
+    /** Removes an auction from the index.
+     * @param auction the auction */
+    public void remove(Auction auction) {
+        List<Auction> auctions = auction.getOrganization() == null
+                ? null : this.byOrganizationId.get(auction.getOrganizationId());
+        if (auctions == null) {
+            return;
+        }
+        auctions.removeIf(other -> other.getAuctionID() == auction.getAuctionID());
+        if (auctions.isEmpty()) {
+            this.byOrganization.remove(auction.getOrganization());
+            this.byOrganizationId.remove(auction.getOrganizationId());
+        }
+    }
+
+    /** Gets one organization's auctions.
+     * @param organization the organization name
+     * @return read-only list, empty if none */
+    public List<Auction> get(String organization) {
+        List<Auction> auctions = this.byOrganizationId.get(NameDictionary.ORGANIZATIONS.find(organization));
+        return auctions == null ? Collections.emptyList() : Collections.unmodifiableList(auctions);
+    }
+
+    /** Gets every auction ordered by organization name.
+     * @return lazy view in organization order */
+    public Iterable<Auction> inOrder() {
+        return AuctionTimeIndex.flatView(this.byOrganization.values());
+    }
+}
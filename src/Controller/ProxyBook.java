@@ -0,0 +1,162 @@
+import java.util.*;
+
+/** The proxy (maximum) bids registered on one item, ordered by maximum, highest first,
+ * with the earliest registration winning a tie. After every change in the item's price
+ * the book answers with at most one counter bid: just enough for the strongest proxy to
+ * beat its strongest rival, or the visible price, and never above its own maximum. The
+ * outcome is the one a bidding war in steps of INCREMENT would reach, without the war.
+ * Bidders are named by their NameDictionary.BIDDERS ids, so every comparison is an
+ * int compare. Every operation costs O(log n). Not thread safe; DataControlCenter guards each book
+ * with its auction's lock.
+ * @version Oct 18, 2026
+ */
+public class ProxyBook {
+    /** Smallest raise over the price to beat. **/
+    public static final int INCREMENT = 1;
+
+    /** Highest maximum first, then earliest registration. **/
+    private static final Comparator<Proxy> ORDER = (a, b) -> a.maximum != b.maximum
+            ? Integer.compare(b.maximum, a.maximum) : Long.compare(a.sequence, b.sequence);
+
+    /** Proxies in bidding order. **/
+    private final TreeSet<Proxy> book;
+    /** Each bidder's current proxy, keyed by bidder id. **/
+    private final IntHashMap<Proxy> byBidder;
+    /** Registration counter, used to break ties. **/
+    private long sequence;
+
+    /** A bid the book wants placed for its strongest proxy. */
+    public static final class CounterBid {
+        /** Id of the bidder whose proxy bids. **/
+        public final int bidderId;
+        /** Amount to bid. **/
+        public final int amount;
+
+        CounterBid(int bidderId, int amount) {
+            this.bidderId = bidderId;
+            this.amount = amount;
+        }
+    }
+
+    /** One bidder's maximum. */
+    private static final class Proxy {
+        private final int bidder;
+        private final int maximum;
+        private final long sequence;
+
+        Proxy(int bidder, int maximum, long sequence) {
+            this.bidder = bidder;
+            this.maximum = maximum;
+            this.sequence = sequence;
+        }
+    }
+
+    /** Creates an empty book. */
+    public ProxyBook() {
+        this.book = new TreeSet<>(ORDER);
+        this.byBidder = new IntHashMap<>();
+    }
+
+    /** Registers or raises a bidder's maximum. A maximum that cannot beat the price, or
+     * that does not raise the bidder's earlier maximum, is refused.
+     * @param bidder the bidder's id
+     * @param maximum the most the bidder will pay
+     * @param price the item's price to beat
+     * @param leader the id of the bidder currently leading the item, or NameDictionary.NONE
+     * @return true if the maximum was registered */
+    public boolean register(int bidder, int maximum, int price, int leader) {
+        if (!this.accepts(bidder, maximum, price, leader)) {
+            return false;
+        }
+        Proxy old = this.byBidder.get(bidder);
+        if (old != null) {
+            this.book.remove(old);
+        }
+        Proxy proxy = new Proxy(bidder, maximum, this.sequence++);
+        this.book.add(proxy);
+        this.byBidder.put(bidder, proxy);
+        return true;
+    }
+
+    /** Checks whether register would take a maximum, without registering it.
+     * @param bidder the bidder's id
+     * @param maximum the most the bidder will pay
+     * @param price the item's price to beat
+     * @param leader the id of the bidder currently leading the item, or NameDictionary.NONE
+     * @return true if the maximum would be registered */
+    public boolean accepts(int bidder, int maximum, int price, int leader) {
+        Proxy old = this.byBidder.get(bidder);
+        if (old != null && maximum <= old.maximum) {
+            return false;
+        }
+        return maximum > price || (maximum == price && bidder == leader);
+    }
+
+    /** Works out the bid the strongest proxy needs once the item's price has changed.
+     * The book is not changed, so a caller can ask before the price actually moves.
+     * @param price the item's price to beat
+     * @param leader the id of the bidder leading the item at that price, or NameDictionary.NONE
+     * @return the bid to place, or null if the strongest proxy already leads at a safe
+     * price or cannot beat the price */
+    public CounterBid respond(int price, int leader) {
+        if (this.book.isEmpty()) {
+            return null;
+        }
+        Proxy top = this.book.first();
+        Proxy rival = this.book.higher(top);
+        int target;
+        if (top.bidder == leader) {
+            if (rival == null || rival.maximum <= price) {
+                return null;
+            }
+            target = Math.min(top.maximum, rival.maximum + INCREMENT);
+        } else {
+            int toBeat = rival == null ? price : Math.max(price, rival.maximum);
+            target = Math.min(top.maximum, toBeat + INCREMENT);
+        }
+        return target > price ? new CounterBid(top.bidder, target) : null;
+    }
+
+    /** Gets a bidder's registered maximum.
+     * @param bidder the bidder's id
+     * @return the maximum, or 0 if the bidder has no proxy here */
+    public int getMaximum(int bidder) {
+        Proxy proxy = this.byBidder.get(bidder);
+        return proxy == null ? 0 : proxy.maximum;
+    }
+
+    /** Gets the bidders with a proxy here, earliest registration first, so registering
+     * their maximums again in this order rebuilds the book.
+     * @return bidder ids */
+    public int[] biddersInRegistrationOrder() {
+        ArrayList<Proxy> byAge = new ArrayList<>(this.book);
+        byAge.sort(Comparator.comparingLong(proxy -> proxy.sequence));
+        int[] toSend = new int[byAge.size()];
+        for (int i = 0; i < toSend.length; i++) {
+            toSend[i] = byAge.get(i).bidder;
+        }
+        return toSend;
+    }
+
+    /** Gets the number of proxies still able to bid.
+     * @return proxy count */
+    public int size() {
+        return this.book.size();
+    }
+
+    /** Drops proxies at the weak end that can no longer beat the price, once the price
+     * has moved. Their maximums stay out of every later answer, which is what respond
+     * would give without them.
+     * @param price the item's price
+     * @param leader the id of the bidder leading the item, or NameDictionary.NONE */
+    public void prune(int price, int leader) {
+        while (!this.book.isEmpty()) {
+            Proxy weakest = this.book.last();
+            if (weakest.maximum > price || weakest.bidder == leader) {
+                return;
+            }
+            this.book.pollLast();
+            this.byBidder.remove(weakest.bidder);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** Per-record segment files layered over the auctions.bin and bidders.bin snapshots.
+ * Each changed auction is written to its own auction-&lt;id&gt;.bin, a cancelled auction
+ * leaves an auction-&lt;id&gt;.cancelled tombstone, and each changed bidder is written to
+ * bidder-&lt;username&gt;.bin. Saving therefore costs time proportional to what changed.
+ * Segments win over the snapshot when loading and are cleared when a new full
+ * snapshot is written. Segments use the AuctionCodec format.
+ * @version Oct 18, 2026
+ */
+public class SegmentStore {
+    private static final String AUCTION_PREFIX = "auction-";
+    private static final String BIDDER_PREFIX = "bidder-";
+    private static final String SEGMENT_SUFFIX = ".bin";
+    private static final String TOMBSTONE_SUFFIX = ".cancelled";
+
+    /** Directory holding the segment files. **/
+    private final Path directory;
+
+    /** Creates a store over a directory; the directory is created on the first write.
+     * @param directory the segment directory */
+    public SegmentStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /** Writes one auction's segment, replacing any older segment or tombstone.
+     * @param auction the changed auction
+     * @throws IOException exception risk */
+    public void writeAuction(Auction auction) throws IOException {
+        this.writeAuction(auction.getAuctionID(), AuctionCodec.auctionsToBytes(Collections.singletonList(auction)));
+    }
+
+    /** Writes one auction's segment from bytes encoded earlier.
+     * @param auctionId the auction id
+     * @param serialized the auction, encoded by AuctionCodec.auctionsToBytes
+     * @throws IOException exception risk */
+    public void writeAuction(int auctionId, byte[] serialized) throws IOException {
+        Files.deleteIfExists(this.auctionPath(auctionId, TOMBSTONE_SUFFIX));
+        SnapshotFiles.writeAtomically(this.auctionPath(auctionId, SEGMENT_SUFFIX), serialized);
+    }
+
+    /** Records that an auction was cancelled and drops its segment.
+     * @param auctionId the cancelled auction's id
+     * @throws IOException exception risk */
+    public void cancelAuction(int auctionId) throws IOException {
+        Files.createDirectories(this.directory);
+        Files.deleteIfExists(this.auctionPath(auctionId, SEGMENT_SUFFIX));
+        Path tombstone = this.auctionPath(auctionId, TOMBSTONE_SUFFIX);
+        if (!Files.exists(tombstone)) {
+            Files.createFile(tombstone);
+        }
+    }
+
+    /** Writes one bidder's segment.
+     * @param bidder the changed bidder
+     * @throws IOException exception risk */
+    public void writeBidder(Bidder bidder) throws IOException {
+        SnapshotFiles.writeAtomically(this.directory.resolve(BIDDER_PREFIX + bidder.getUsername() + SEGMENT_SUFFIX),
+                AuctionCodec.biddersToBytes(Collections.singletonList(bidder)));
+    }
+
+    /** Reads every auction segment.
+     * @return the changed auctions
+     * @throws IOException exception risk
+     * @throws ClassNotFoundException exception risk */
+    public List<Auction> readAuctions() throws IOException, ClassNotFoundException {
+        List<Auction> toSend = new ArrayList<>();
+        for (Path segment : this.list(AUCTION_PREFIX, SEGMENT_SUFFIX)) {
+            try (InputStream in = Files.newInputStream(segment)) {
+                toSend.addAll(AuctionCodec.readAuctions(in));
+            }
+        }
+        return toSend;
+    }
+
+    /** Reads the ids of every auction with a tombstone.
+     * @return cancelled auction ids
+     * @throws IOException exception risk */
+    public List<Integer> readCancelled() throws IOException {
+        List<Integer> toSend = new ArrayList<>();
+        for (Path tombstone : this.list(AUCTION_PREFIX, TOMBSTONE_SUFFIX)) {
+            String name = tombstone.getFileName().toString();
+            toSend.add(Integer.parseInt(name.substring(AUCTION_PREFIX.length(),
+                    name.length() - TOMBSTONE_SUFFIX.length())));
+        }
+        return toSend;
+    }
+
+    /** Reads every bidder segment.
+     * @return the changed bidders
+     * @throws IOException exception risk
+     * @throws ClassNotFoundException exception risk */
+    public List<Bidder> readBidders() throws IOException, ClassNotFoundException {
+        List<Bidder> toSend = new ArrayList<>();
+        for (Path segment : this.list(BIDDER_PREFIX, SEGMENT_SUFFIX)) {
+            try (InputStream in = Files.newInputStream(segment)) {
+                toSend.addAll(AuctionCodec.readBidders(in));
+            }
+        }
+        return toSend;
+    }
+
+    /** Gets the number of auction segments and tombstones.
+     * @return segment count
+     * @throws IOException exception risk */
+    public int auctionSegmentCount() throws IOException {
+        return this.list(AUCTION_PREFIX, SEGMENT_SUFFIX).size()
+                + this.list(AUCTION_PREFIX, TOMBSTONE_SUFFIX).size();
+    }
+
+    /** Deletes every auction segment and tombstone once a full snapshot holds them.
+     * @throws IOException exception risk */
+    public void clearAuctions() throws IOException {
+        for (Path segment : this.list(AUCTION_PREFIX, SEGMENT_SUFFIX)) {
+            Files.deleteIfExists(segment);
+        }
+        for (Path tombstone : this.list(AUCTION_PREFIX, TOMBSTONE_SUFFIX)) {
+            Files.deleteIfExists(tombstone);
+        }
+    }
+
+    private Path auctionPath(int auctionId, String suffix) {
+        return this.directory.resolve(AUCTION_PREFIX + auctionId + suffix);
+    }
+
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        List<Path> toSend = new ArrayList<>();
+        if (!Files.isDirectory(this.directory)) {
+            return toSend;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, prefix + "*" + suffix)) {
+            for (Path file : files) {
+                toSend.add(file);
+            }
+        }
+        return toSend;
+    }
+}
@@ -1,16 +1,14 @@
 import java.io.*;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashSet;
-import java.util.Scanner;
+import java.util.*;
 
 /** Responsible for serializing data and outputing bin files.
  * @author Hari Kuduva
  * @version May 29, 2018
  * */
 public class SerializeData {
-    /** Scanner to scan input. **/
-    private static Scanner inputScanner;
     /** Formatter needed to format dates. **/
     private static DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
     /** Private constructor to prevent instantiation. **/
@@ -30,11 +28,18 @@ public class SerializeData {
     public static void main(String... args) throws IOException, ClassNotFoundException {
         /* NOTICE::: ONLY RUN THIS WHEN BIDDERS.BIN AND NPCONTACT.BIN ARE NOT IN ASSETS FOLDER
             OR IF THEIR ORIGINAL TXT FILES HAVE BEEN UPDATED (THEN DELETE THE OLD .BIN FILES AND RUN THIS) */
-        serializeBidders(MAURICE_CONSTANT +"bidders.bin");
-        serializeNPContact(MAURICE_CONSTANT +"npcontact.bin");
-        serializeAuctions(MAURICE_CONSTANT +"auctions.bin");
-        serializeAdmins(MAURICE_CONSTANT +"admins.bin");
-        serializeSystemDependencies(MAURICE_CONSTANT +"system.bin");
+        try (ImportPipeline pipeline = new ImportPipeline()) {
+            serializeBidders(MAURICE_CONSTANT +"bidders.bin", pipeline);
+            serializeNPContact(MAURICE_CONSTANT +"npcontact.bin");
+            serializeAuctions(MAURICE_CONSTANT +"auctions.bin", pipeline);
+            serializeAdmins(MAURICE_CONSTANT +"admins.bin");
+            serializeSystemDependencies(MAURICE_CONSTANT +"system.bin");
+            if (!pipeline.getRejections().isEmpty()) {
+                pipeline.writeReport(Paths.get(MAURICE_CONSTANT + "import-errors.txt"));
+                System.err.println(pipeline.getRejections().size() + " lines rejected, see "
+                        + MAURICE_CONSTANT + "import-errors.txt");
+            }
+        }
     }
 
     /**
@@ -44,10 +49,11 @@ public class SerializeData {
      */
     private static void serializeSystemDependencies(String output) throws IOException {
         ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(output));
-        inputScanner = new Scanner(SerializeData.class
-            .getResourceAsStream("masterSystemDetails.txt"));
-        Integer maxUpcomingAuctionsAllowed = inputScanner.nextInt();
-        oos.writeObject(maxUpcomingAuctionsAllowed);
+        try (CsvReader input = open("masterSystemDetails.txt")) {
+            input.next();
+            Integer maxUpcomingAuctionsAllowed = input.intField(0);
+            oos.writeObject(maxUpcomingAuctionsAllowed);
+        }
     }
 
     /** Serializes the admins into admins.bin.
@@ -55,15 +61,13 @@ public class SerializeData {
      * @throws IOException exception risk */
     private static void serializeAdmins(String output) throws IOException {
         ObjectOutputStream oos = new ObjectOutputStream((new FileOutputStream(output)));
-        inputScanner = new Scanner(SerializeData.class
-                .getResourceAsStream("masterAdminUserList.txt"));
         HashSet<AuctionCentralEmployee> toSerialize = new HashSet<>();
-        while (inputScanner.hasNextLine()) {
-            String parts[] = inputScanner.nextLine().split(",");
-            cleanParts(parts);
-            AuctionCentralEmployee test = new AuctionCentralEmployee(parts[2], parts[1], parts[3],
-                    parts[4], parts[0]);
-            toSerialize.add(test);
+        try (CsvReader input = open("masterAdminUserList.txt")) {
+            while (input.next()) {
+                AuctionCentralEmployee test = new AuctionCentralEmployee(input.field(2), input.field(1),
+                        input.field(3), input.field(4), input.field(0));
+                toSerialize.add(test);
+            }
         }
         oos.writeObject(toSerialize);
 
@@ -71,19 +75,22 @@ public class SerializeData {
 
     /** Serializes the bidders into bidders.bin.
      * @param output the output destination
+     * @param pipeline the import pipeline
      * @throws IOException exception risk */
-    private static void serializeBidders(String output) throws IOException, ClassNotFoundException {
-        ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(output));
-        inputScanner = new Scanner(SerializeData.class
-                .getResourceAsStream("masterBidderList.txt"));
+    private static void serializeBidders(String output, ImportPipeline pipeline) throws IOException {
         HashSet<Bidder> toSerialize = new HashSet<>();
-        while (inputScanner.hasNextLine()) {
-            String parts[] = inputScanner.nextLine().split(",");
-            cleanParts(parts);
-            toSerialize.add(new Bidder(parts[0], parts[1], parts[2],
-                    parts[3], parts[4], Integer.parseInt(parts[5].trim())));
+        pipeline.run("masterBidderList.txt", open("masterBidderList.txt"), row -> {
+            require(row, 6);
+            try {
+                return new Bidder(row.field(0), row.field(1), row.field(2),
+                        row.field(3), row.field(4), row.intField(5));
+            } catch (IOException | ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }, (bidder, row) -> toSerialize.add(bidder));
+        try (OutputStream out = new FileOutputStream(output)) {
+            AuctionCodec.writeBidders(toSerialize, out);
         }
-        oos.writeObject(toSerialize);
     }
 
     /** Serializes the NPContacts into npcontact.bin.
@@ -91,72 +98,143 @@ public class SerializeData {
      * @throws IOException exception risk */
     private static void serializeNPContact(String output) throws IOException {
         ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(output));
-        inputScanner = new Scanner(SerializeData.class
-                .getResourceAsStream("masterNPContactList.txt"));
         HashSet<NPContact> toSerialize = new HashSet<>();
-        while (inputScanner.hasNextLine()) {
-            String parts[] = inputScanner.nextLine().split(",");
-            cleanParts(parts);
-            toSerialize.add(new NPContact(parts[0], parts[1], parts[2],
-                    parts[3], parts[4]));
+        try (CsvReader input = open("masterNPContactList.txt")) {
+            while (input.next()) {
+                toSerialize.add(new NPContact(input.field(0), input.field(1), input.field(2),
+                        input.field(3), input.field(4)));
+            }
         }
         oos.writeObject(toSerialize);
     }
 
     /** Serializes the Auctions into auctions.bin.
+     * Each master file goes through the pipeline once: auctions are keyed by id, items
+     * are attached to their auction as they are assembled, and bids are joined to items
+     * by auction id and item name.
      * @param output the output destination
+     * @param pipeline the import pipeline
      * @throws IOException exception risk */
-    private static void serializeAuctions(String output) throws IOException {
-        ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(output));
-        inputScanner = new Scanner(SerializeData.class
-                .getResourceAsStream("masterAuctionList.txt"));
-        HashSet<Auction> toSerialize = new HashSet<Auction>();
-        while (inputScanner.hasNextLine()) {
-            String parts[] = inputScanner.nextLine().split(",");
-            cleanParts(parts);
-            Auction temp = new Auction(parts[0],
-                    LocalDateTime.parse(parts[1], formatter),
-                    LocalDateTime.parse(parts[2], formatter),
-                    Integer.parseInt(parts[3]));
-            addItemsForAuction(temp);
-            toSerialize.add(temp);
+    private static void serializeAuctions(String output, ImportPipeline pipeline) throws IOException {
+        IntHashMap<Auction> auctions = readAuctions(pipeline);
+        IntHashMap<HashMap<String, ArrayList<Item>>> items = readItems(auctions, pipeline);
+        addBidsToItems(auctions, items, pipeline);
+        try (OutputStream out = new FileOutputStream(output)) {
+            AuctionCodec.writeAuctions(new HashSet<>(auctions.values()), out);
         }
-        oos.writeObject(toSerialize);
     }
 
-    /** Adds the items for the specific auctions.
-     * @param auction the specific auction */
-    private static void addItemsForAuction(Auction auction) {
-        Scanner scanItem = new Scanner(SerializeData.class
-                .getResourceAsStream("masterItemList.txt"));
-        while (scanItem.hasNextLine()) {
-            String parts[] = scanItem.nextLine().split(",");
-            cleanParts(parts);
-            if (auction.getAuctionID() == Integer.parseInt(parts[0])) {
-                Item temp = new Item(parts[1], Integer.parseInt(parts[2]),
-                        Integer.parseInt(parts[3]), parts[4], parts[5]);
-                Scanner scanBidsOnItems = new Scanner(SerializeData.class
-                .getResourceAsStream("masterItemBiddingList.txt"));
-                while (scanBidsOnItems.hasNextLine()) {
-                    String parts2[] = scanBidsOnItems.nextLine().split(",");
-                    cleanParts(parts2);
-                    if (auction.getAuctionID() == Integer.parseInt(parts2[1]) &&
-                            temp.getName().equals(parts2[2])) {
-                        temp.addBid(new Bid(parts2[0], temp.getName(),
-                                Integer.parseInt(parts2[3]), auction.getAuctionID(),
-                                auction.getStart(), auction.getEnd()));
-                    }
-                }
-                auction.addItem(temp);
+    /** Reads masterAuctionList.txt.
+     * @param pipeline the import pipeline
+     * @return auctions keyed by id
+     * @throws IOException exception risk */
+    private static IntHashMap<Auction> readAuctions(ImportPipeline pipeline) throws IOException {
+        IntHashMap<Auction> auctions = new IntHashMap<>();
+        pipeline.run("masterAuctionList.txt", open("masterAuctionList.txt"), row -> {
+            require(row, 4);
+            return new Auction(row.field(0), LocalDateTime.parse(row.field(1), formatter),
+                    LocalDateTime.parse(row.field(2), formatter), row.intField(3));
+        }, (auction, row) -> auctions.put(auction.getAuctionID(), auction));
+        return auctions;
+    }
+
+    /** Reads masterItemList.txt, adding each item to its auction in file order.
+     * @param auctions auctions keyed by id
+     * @param pipeline the import pipeline
+     * @return items keyed by auction id, then by name
+     * @throws IOException exception risk */
+    private static IntHashMap<HashMap<String, ArrayList<Item>>> readItems(IntHashMap<Auction> auctions,
+                                                                         ImportPipeline pipeline) throws IOException {
+        IntHashMap<HashMap<String, ArrayList<Item>>> items = new IntHashMap<>();
+        pipeline.run("masterItemList.txt", open("masterItemList.txt"), row -> {
+            require(row, 6);
+            return new ItemRow(row.intField(0),
+                    new Item(row.field(1), row.intField(2), row.intField(3), row.field(4), row.field(5)));
+        }, (parsed, row) -> {
+            Auction auction = auctions.get(parsed.auctionId);
+            if (auction == null) {
+                throw new IllegalArgumentException("no auction " + parsed.auctionId);
+            }
+            auction.addItem(parsed.item);
+            HashMap<String, ArrayList<Item>> byName = items.get(parsed.auctionId);
+            if (byName == null) {
+                byName = new HashMap<>();
+                items.put(parsed.auctionId, byName);
+            }
+            byName.computeIfAbsent(parsed.item.getName(), name -> new ArrayList<>(1)).add(parsed.item);
+        });
+        return items;
+    }
+
+    /** Reads masterItemBiddingList.txt and adds each bid to the items it names.
+     * Bids are gathered per item and added once the file is read, in file order.
+     * @param auctions auctions keyed by id
+     * @param items items keyed by auction id, then by name
+     * @param pipeline the import pipeline
+     * @throws IOException exception risk */
+    private static void addBidsToItems(IntHashMap<Auction> auctions,
+                                       IntHashMap<HashMap<String, ArrayList<Item>>> items,
+                                       ImportPipeline pipeline) throws IOException {
+        IdentityHashMap<Item, ArrayList<Bid>> bids = new IdentityHashMap<>();
+        pipeline.run("masterItemBiddingList.txt", open("masterItemBiddingList.txt"), row -> {
+            require(row, 4);
+            return new BidRow(row.field(0), row.intField(1), row.field(2), row.intField(3));
+        }, (parsed, row) -> {
+            HashMap<String, ArrayList<Item>> byName = items.get(parsed.auctionId);
+            ArrayList<Item> matches = byName == null ? null : byName.get(parsed.itemName);
+            if (matches == null) {
+                throw new IllegalArgumentException("no item " + parsed.itemName + " in auction " + parsed.auctionId);
             }
+            Auction auction = auctions.get(parsed.auctionId);
+            for (Item temp : matches) {
+                bids.computeIfAbsent(temp, item -> new ArrayList<>()).add(new Bid(parsed.bidder, temp.getName(),
+                        parsed.amount, auction.getAuctionID(), auction.getStart(), auction.getEnd()));
+            }
+        });
+        for (Map.Entry<Item, ArrayList<Bid>> entry : bids.entrySet()) {
+            entry.getKey().addBids(entry.getValue());
         }
     }
 
-    /** Method helps clean up scanned data.
-     * @param parts the data array */
-    private static void cleanParts(String parts[]) {
-        for (int i = 0; i < parts.length; i++) {
-            parts[i] = parts[i].trim();
+    /** Rejects a row with too few fields.
+     * @param row the row
+     * @param count fields needed */
+    private static void require(ImportPipeline.Row row, int count) {
+        if (row.size() < count) {
+            throw new IllegalArgumentException("expected " + count + " fields, found " + row.size());
         }
     }
+
+    /** A parsed masterItemList.txt row. */
+    private static final class ItemRow {
+        private final int auctionId;
+        private final Item item;
+
+        ItemRow(int auctionId, Item item) {
+            this.auctionId = auctionId;
+            this.item = item;
+        }
+    }
+
+    /** A parsed masterItemBiddingList.txt row. */
+    private static final class BidRow {
+        private final String bidder;
+        private final int auctionId;
+        private final String itemName;
+        private final int amount;
+
+        BidRow(String bidder, int auctionId, String itemName, int amount) {
+            this.bidder = bidder;
+            this.auctionId = auctionId;
+            this.itemName = itemName;
+            this.amount = amount;
+        }
+    }
+
+    /** Opens a master file from the classpath.
+     * @param resource the file name
+     * @return a reader over it */
+    private static CsvReader open(String resource) {
+        return CsvReader.open(SerializeData.class.getResourceAsStream(resource));
+    }
 }
@@ -1,6 +1,9 @@
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.*;
 
@@ -13,9 +16,13 @@ import java.util.*;
  */
 public class Auction implements Serializable {
 	private static final int MIN_SCHEDULE_OUT_DAYS = 14;
+    /** Pinned so auctions.bin files written before the listener hook still load. **/
+    private static final long serialVersionUID = -4481660547944172625L;
 	
     /** Organization's name **/
     private String organization;
+    /** Organization's id in NameDictionary.ORGANIZATIONS. Not persisted. **/
+    private transient int organizationId;
     /** List of items that the auction has **/
     protected ArrayList<Item> items;
     /** Start time of the auction **/
@@ -33,12 +40,19 @@ public class Auction implements Serializable {
     /** Creation date for the auction **/
     private LocalDateTime creationDate;
 
+    /** Told about new items and time changes so the indexes stay current. Not persisted. **/
+    private transient AuctionItemListener itemListener;
+
+    /** Loads the items on first use when only the header was read. Not persisted. **/
+    private transient volatile AuctionItemLoader itemLoader;
+
     /** Creates an auction with 3 parameters
      * @param organization the organization name
      * @param startClock the start time
      * @param endClock the end time
      */
     public Auction (String organization, LocalDateTime startClock, LocalDateTime endClock) {
+        this.organizationId = NameDictionary.NONE;
         this.items = new ArrayList<Item>();
         this.onlineStart = startClock.minusDays(MIN_SCHEDULE_OUT_DAYS);
         this.isCanceled = false;
@@ -69,6 +83,7 @@ public class Auction implements Serializable {
      */
     public Auction(String organization, LocalDateTime startClock, LocalDateTime endClock, int auctionID) {
         this.organization = organization;
+        this.organizationId = NameDictionary.ORGANIZATIONS.idOf(organization);
         this.start = startClock;
         this.end = endClock;
         this.items = new ArrayList<Item>();
@@ -83,6 +98,7 @@ public class Auction implements Serializable {
      * @param organization the organization name */
     public Auction (String organization) {
         this.organization = organization;
+        this.organizationId = NameDictionary.ORGANIZATIONS.idOf(organization);
         this.creationDate = LocalDateTime.now();
         this.items = new ArrayList<Item>();
         //fmt = DateTimeFormatter.ofLocalizedDate(FormatStyle.SHORT);
@@ -106,6 +122,7 @@ public class Auction implements Serializable {
      */
     public Auction(Auction other) {
         this.organization = other.organization;
+        this.organizationId = other.organizationId;
         this.auctionID = other.auctionID;
         this.items = new ArrayList<>();
         this.start = other.start;
@@ -128,6 +145,7 @@ public class Auction implements Serializable {
      */
     public void setOrganization(String organization) {
     	this.organization = organization;
+    	this.organizationId = NameDictionary.ORGANIZATIONS.idOf(organization);
     }
 
     /**
@@ -138,6 +156,13 @@ public class Auction implements Serializable {
     	return this.organization;
     }
 
+    /** Gets the organization's id, so organizations can be compared without comparing names.
+     * @return the id in NameDictionary.ORGANIZATIONS, or NameDictionary.NONE if unset
+     */
+    public int getOrganizationId() {
+        return this.organizationId;
+    }
+
     /**
      *
      * @return
@@ -152,6 +177,9 @@ public class Auction implements Serializable {
      */
     public void setStart(LocalDateTime date) {
         this.start = date;
+        if (this.itemListener != null) {
+            this.itemListener.timesChanged(this);
+        }
     }
 
     /**
@@ -160,6 +188,9 @@ public class Auction implements Serializable {
      */
     public void setEnd(LocalDateTime date) {
         this.end = date;
+        if (this.itemListener != null) {
+            this.itemListener.timesChanged(this);
+        }
     }
 
     /**
@@ -186,12 +217,56 @@ public class Auction implements Serializable {
     	return onlineStart;
     }
 
+    /**
+     *
+     * @return
+     */
+    public LocalDateTime getCreationDate() {
+        return this.creationDate;
+    }
+
+    /**
+     *
+     * @param date
+     */
+    public void setCreationDate(LocalDateTime date) {
+        this.creationDate = date;
+    }
+
     /**
      *
      * @param item
      */
     public void addItem(Item item) {
+        this.loadItems();
         this.items.add(item);
+        if (this.itemListener != null) {
+            this.itemListener.itemAdded(this, item);
+        }
+    }
+
+    /**
+     *
+     * @param listener notified on every addItem, or null to stop notifying
+     */
+    public void setItemListener(AuctionItemListener listener) {
+        this.itemListener = listener;
+    }
+
+    /**
+     *
+     * @param loader supplies the items on first use, or null if they are already here
+     */
+    public void setItemLoader(AuctionItemLoader loader) {
+        this.itemLoader = loader;
+    }
+
+    /**
+     *
+     * @return the loader still waiting to supply the items, or null once they are loaded
+     */
+    public AuctionItemLoader getItemLoader() {
+        return this.itemLoader;
     }
 
     /**
@@ -199,9 +274,43 @@ public class Auction implements Serializable {
      * @return
      */
     public ArrayList<Item> getItems() {
+        this.loadItems();
     	return this.items;
     }
 
+    /** Gets the number of items, without loading them when the loader knows it.
+     * @return item count */
+    public int getItemCount() {
+        AuctionItemLoader loader = this.itemLoader;
+        int count = loader == null ? -1 : loader.getItemCount();
+        return count >= 0 ? count : this.getItems().size();
+    }
+
+    /** Replaces the empty item list with the loader's items the first time they are needed. */
+    private void loadItems() {
+        if (this.itemLoader != null) {
+            synchronized (this) {
+                AuctionItemLoader loader = this.itemLoader;
+                if (loader != null) {
+                    this.items = loader.loadItems(this);
+                    this.itemLoader = null;
+                }
+            }
+        }
+    }
+
+    /** Loads the items before default serialization writes them. */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        this.loadItems();
+        out.defaultWriteObject();
+    }
+
+    /** Looks up the organization id, which is not serialized. */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.organizationId = NameDictionary.ORGANIZATIONS.idOf(this.organization);
+    }
+
     /**
      *
      * @return
@@ -221,7 +330,7 @@ public class Auction implements Serializable {
     @Override
     public String toString() {
     	StringBuilder sb = new StringBuilder();
-    	sb.append("Auction by " + this.organization + " has " + this.items.size() + " items.\n");
+    	sb.append("Auction by " + this.organization + " has " + this.getItems().size() + " items.\n");
     	sb.append("\tStart Time : " + this.start.toString());
     	sb.append("\n\tEnd Time : " + this.end.toString());
     	sb.append("\n\tOnline Launch: " + this.onlineStart.toString());
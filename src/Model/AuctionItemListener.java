@@ -0,0 +1,14 @@
+/** Notified whenever an item is added to an auction or its times change, so
+ * indexes over auction contents can stay current without rescanning.
+ * @version Oct 18, 2026
+ */
+public interface AuctionItemListener {
+    /** Called after an item has been added to an auction.
+     * @param auction the auction
+     * @param item the new item */
+    void itemAdded(Auction auction, Item item);
+
+    /** Called after an auction's start or end time has changed.
+     * @param auction the auction */
+    void timesChanged(Auction auction);
+}
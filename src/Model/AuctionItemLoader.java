@@ -0,0 +1,24 @@
+import java.util.ArrayList;
+
+/** Supplies an auction's items the first time they are needed, so an auction can be
+ * read from disk as a header alone.
+ * @version Oct 18, 2026
+ */
+public interface AuctionItemLoader {
+    /** Loads the auction's items with their bids.
+     * @param auction the auction whose items are wanted
+     * @return the items, in order */
+    ArrayList<Item> loadItems(Auction auction);
+
+    /** Gets the number of items loadItems will supply, without loading them.
+     * @return item count, or -1 if the loader cannot tell */
+    default int getItemCount() {
+        return -1;
+    }
+
+    /** Gets every bidder with a bid on the items, without loading them.
+     * @return NameDictionary.BIDDERS ids, or null if the loader cannot tell */
+    default int[] getBidderIds() {
+        return null;
+    }
+}
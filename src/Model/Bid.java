@@ -1,3 +1,5 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -20,7 +22,13 @@ public class Bid implements Serializable {
 
     private int auctionId;
 
+    /** Bidder's id in NameDictionary.BIDDERS. **/
+    private transient int bidderId;
+    /** Item's id in NameDictionary.ITEMS. **/
+    private transient int itemId;
 
+    /** Pinned to the value computed before the name ids were added. **/
+    private static final long serialVersionUID = 7195969463332295940L;
 
     /** Creates a bid with 3 parameters
      * @param bidderName the bidder's name
@@ -35,6 +43,8 @@ public class Bid implements Serializable {
 
         this.start = start;
         this.end = end;
+        this.bidderId = NameDictionary.BIDDERS.idOf(bidderName);
+        this.itemId = NameDictionary.ITEMS.idOf(itemName);
     }
 
     /**
@@ -63,6 +73,18 @@ public class Bid implements Serializable {
         return this.itemName;
     }
 
+    /** Gets the bidder's id, so bidders can be compared without comparing names.
+     * @return the id in NameDictionary.BIDDERS */
+    public int getBidderId() {
+        return this.bidderId;
+    }
+
+    /** Gets the item's id, so items can be compared without comparing names.
+     * @return the id in NameDictionary.ITEMS */
+    public int getItemId() {
+        return this.itemId;
+    }
+
     /**
      *
      * @return
@@ -89,13 +111,30 @@ public class Bid implements Serializable {
      */
     public LocalDateTime getEnd() { return this.end; }
 
+    /** Two bids are equal when the same bidder bid the same amount on the same item of
+     * the same auction. */
     @Override
     public boolean equals(Object obj) {
-        return this.itemName == ((Bid) obj).itemName;
+        if (!(obj instanceof Bid)) {
+            return false;
+        }
+        Bid other = (Bid) obj;
+        return this.bidderId == other.bidderId && this.itemId == other.itemId
+                && this.amount == other.amount && this.auctionId == other.auctionId;
     }
 
     @Override
     public int hashCode() {
-        return this.amount;
+        int h = this.bidderId;
+        h = 31 * h + this.itemId;
+        h = 31 * h + this.amount;
+        return 31 * h + this.auctionId;
+    }
+
+    /** Looks up the name ids, which are not serialized. */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.bidderId = NameDictionary.BIDDERS.idOf(this.bidderName);
+        this.itemId = NameDictionary.ITEMS.idOf(this.itemName);
     }
 }
@@ -0,0 +1,154 @@
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/** An item's bids packed into one long per bid: the bidder's NameDictionary id in the high
+ * half and the amount in the low half. The item name, auction id and auction times
+ * are the same for nearly every bid of an item, so they are kept once, taken from the
+ * first bid; the rare bid that differs is also kept whole on the side. Bid objects are
+ * only built when asked for, as views of the packed data.
+ * @version Oct 18, 2026
+ */
+public class BidHistory {
+    private long[] packed;
+    /** Whole bids at the positions whose details differ from the shared ones, else null. **/
+    private Bid[] irregular;
+    private int size;
+
+    private boolean shared;
+    private String itemName;
+    private int itemId;
+    private int auctionId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    /** Creates an empty history. */
+    public BidHistory() {
+        this.packed = new long[2];
+    }
+
+    /** Gets the number of bids.
+     * @return bid count */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /** Appends a bid.
+     * @param bid the bid */
+    public synchronized void add(Bid bid) {
+        this.append(bid);
+    }
+
+    /** Gets one bid's amount without building the bid.
+     * @param index the position
+     * @return the amount */
+    public synchronized int getAmount(int index) {
+        Objects.checkIndex(index, this.size);
+        return amount(this.packed[index]);
+    }
+
+    /** Gets one bid's bidder without building the bid.
+     * @param index the position
+     * @return the bidder's name */
+    public synchronized String getBidder(int index) {
+        return NameDictionary.BIDDERS.nameOf(this.getBidderId(index));
+    }
+
+    /** Gets one bid's bidder id without building the bid.
+     * @param index the position
+     * @return the bidder's id in NameDictionary.BIDDERS */
+    public synchronized int getBidderId(int index) {
+        Objects.checkIndex(index, this.size);
+        return bidder(this.packed[index]);
+    }
+
+    /** Builds a view of one bid.
+     * @param index the position
+     * @return the bid */
+    public synchronized Bid get(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.view(index);
+    }
+
+    /** Builds views of every bid.
+     * @return the bids, oldest first */
+    public synchronized ArrayList<Bid> toList() {
+        ArrayList<Bid> toSend = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            toSend.add(this.view(i));
+        }
+        return toSend;
+    }
+
+    /** Builds views of one bidder's bids.
+     * @param bidderId the bidder's id in NameDictionary.BIDDERS
+     * @return the bidder's bids, oldest first */
+    public synchronized ArrayList<Bid> toList(int bidderId) {
+        ArrayList<Bid> toSend = new ArrayList<>();
+        for (int i = 0; i < this.size; i++) {
+            if (bidder(this.packed[i]) == bidderId) {
+                toSend.add(this.view(i));
+            }
+        }
+        return toSend;
+    }
+
+    /** Checks for a bid without building any bids.
+     * @param bidderId the bidder's id in NameDictionary.BIDDERS
+     * @param amount the amount
+     * @return true if the bidder has bid exactly that amount */
+    public synchronized boolean contains(int bidderId, int amount) {
+        long entry = ((long) bidderId << 32) | (amount & 0xFFFFFFFFL);
+        for (int i = 0; i < this.size; i++) {
+            if (this.packed[i] == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Bid view(int index) {
+        if (this.irregular != null && this.irregular[index] != null) {
+            return this.irregular[index];
+        }
+        long entry = this.packed[index];
+        return new Bid(NameDictionary.BIDDERS.nameOf(bidder(entry)), this.itemName, amount(entry),
+                this.auctionId, this.start, this.end);
+    }
+
+    private void append(Bid bid) {
+        if (!this.shared) {
+            this.shared = true;
+            this.itemName = bid.getItem();
+            this.itemId = bid.getItemId();
+            this.auctionId = bid.getAuctionID();
+            this.start = bid.getStart();
+            this.end = bid.getEnd();
+        }
+        if (this.size == this.packed.length) {
+            this.packed = Arrays.copyOf(this.packed, this.size * 2);
+            if (this.irregular != null) {
+                this.irregular = Arrays.copyOf(this.irregular, this.packed.length);
+            }
+        }
+        this.packed[this.size] = ((long) bid.getBidderId() << 32) | (bid.getAmount() & 0xFFFFFFFFL);
+        boolean regular = this.auctionId == bid.getAuctionID() && this.itemId == bid.getItemId()
+                && Objects.equals(this.start, bid.getStart()) && Objects.equals(this.end, bid.getEnd());
+        if (!regular && this.irregular == null) {
+            this.irregular = new Bid[this.packed.length];
+        }
+        if (this.irregular != null) {
+            this.irregular[this.size] = regular ? null : bid;
+        }
+        this.size++;
+    }
+
+    private static int bidder(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    private static int amount(long entry) {
+        return (int) entry;
+    }
+}
@@ -1,4 +1,5 @@
 import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -14,6 +15,11 @@ public class Bidder extends User implements Serializable {
     private String name;
     /** Bidder's bank balance. **/
     private int balance;
+    /** Bidder's id in NameDictionary.BIDDERS. **/
+    private transient int nameId;
+
+    /** Pinned to the value computed before the name id was added. **/
+    private static final long serialVersionUID = 6934907753937075720L;
     /** Number of items the bidder has bids on. */
     //private int currentItemCount;
     /** Max number of bids a bidder can have in an auction. **/
@@ -32,26 +38,24 @@ public class Bidder extends User implements Serializable {
         final String address, final String phoneNumber, final int balance) throws IOException, ClassNotFoundException {
     	super(email, username, address, phoneNumber);
     	this.name = name;
+    	this.nameId = NameDictionary.BIDDERS.idOf(name);
     	this.balance = balance;
         this.bids = new ArrayList<Bid>();
     }
 
-    /**
-     *
+    /** Two bidders are equal when they have the same name.
      * @param obj
      * @return
      */
     public boolean equals(Object obj) {
-        Bidder other = (Bidder) obj;
-        return this.name.equals(other.name);
+        return obj instanceof Bidder && this.nameId == ((Bidder) obj).nameId;
     }
 
-    /**
-     *
+    /** Hashes the name's id, which unlike the bids never changes.
      * @return
      */
     public int hashCode() {
-        return this.getBids().size();
+        return this.nameId;
     }
 
 
@@ -65,6 +69,13 @@ public class Bidder extends User implements Serializable {
         return this.name;
     }
 
+    /** Gets the name's id, so bidders can be compared without comparing names.
+     * @return the id in NameDictionary.BIDDERS
+     */
+    public int getNameId() {
+        return this.nameId;
+    }
+
 //    public boolean bidPriceCheck(final Item item, final Bid bid) {
 //        return (item.getCurrentBid() <= bid.getAmount());
 //    }
@@ -142,4 +153,10 @@ public class Bidder extends User implements Serializable {
     public void addBid(Bid bid) {
         this.bids.add(bid);
     }
+
+    /** Looks up the name id, which is not serialized. */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.nameId = NameDictionary.BIDDERS.idOf(this.name);
+    }
 }
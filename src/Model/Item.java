@@ -1,5 +1,8 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.time.LocalDateTime;
 import java.util.*;
 
 /** Represents an item in an auction.
@@ -10,6 +13,8 @@ public class Item implements Serializable {
     //Group
     /** Item's name **/
     private String name;
+    /** Item's id in NameDictionary.ITEMS **/
+    private transient int nameId;
     /** Item's quantity **/
     private int quantity;
     /** Item's description **/
@@ -18,15 +23,29 @@ public class Item implements Serializable {
     private int startingBid;
     /** Item's imagePath **/
     private String imagePath;
-    /** Item's current list of bids **/
-    private ArrayList<Bid> bids;
+    /** Item's bids, packed; serialized as the ArrayList of bids older versions wrote **/
+    private transient BidHistory bids;
 
-    private int highestBid;
-
-    private Bid bidWithHighestBid;
+    /** Earliest bid with the highest amount, or NO_BIDS; replaced only while holding this item's lock **/
+    private transient volatile Bid bidWithHighestBid;
 
     private static final long serialVersionUID = 1;
 
+    /** The serialized form, unchanged since bids were kept in an ArrayList. **/
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("name", String.class),
+        new ObjectStreamField("quantity", int.class),
+        new ObjectStreamField("description", String.class),
+        new ObjectStreamField("startingBid", int.class),
+        new ObjectStreamField("imagePath", String.class),
+        new ObjectStreamField("bids", ArrayList.class),
+        new ObjectStreamField("highestBid", int.class),
+        new ObjectStreamField("bidWithHighestBid", Bid.class)
+    };
+
+    /** Leading bid of an item nobody has bid on yet. **/
+    private static final Bid NO_BIDS = new Bid("", "", 0, 0, null, null);
+
     public Item(){
         this("", 0, 0, "", "");
     }
@@ -39,13 +58,13 @@ public class Item implements Serializable {
      * @param imagePath Item's image path */
     public Item(String name, int quantity, int startingBid, String description, String imagePath) {
         this.name = name;
+        this.nameId = NameDictionary.ITEMS.idOf(name);
         this.quantity = quantity;
         this.startingBid = startingBid;
         this.description = description;
         this.imagePath = imagePath;
-        this.bids = new ArrayList<>();
-        this.highestBid = startingBid;
-        this.bidWithHighestBid = new Bid("", "", 0, 0, LocalDateTime.now(), LocalDateTime.now().plusDays(1));
+        this.bids = new BidHistory();
+        this.bidWithHighestBid = NO_BIDS;
     }
 
     /**
@@ -62,6 +81,7 @@ public class Item implements Serializable {
      */
     public void setName(String name){
         this.name = name;
+        this.nameId = NameDictionary.ITEMS.idOf(name);
     }
 
     /**
@@ -107,29 +127,60 @@ public class Item implements Serializable {
 
     //Group
 
-    /**
-     *
+    /** Accepts a bid only if it beats the current price at the moment it is accepted.
+     * The check and the swap of the leading bid happen under this item's lock, so of two
+     * bidders racing on the item only one can take a given price. Reading the price takes
+     * no lock, which lets callers drop a beaten bid early.
+     * @param bid the bid
+     * @return true if the bid was accepted and added, false if it no longer beats the price
+     */
+    public synchronized boolean tryBid(Bid bid) {
+        if (bid.getAmount() <= this.priceOf(this.bidWithHighestBid)) {
+            return false;
+        }
+        this.bidWithHighestBid = bid;
+        this.bids.add(bid);
+        return true;
+    }
+
+    /** Adds a bid whether or not it beats the current price, such as one being replayed.
      * @param bid
      */
-    public void addBid(Bid bid) {
-        bids.add(bid);
-        this.bidWithHighestBid = highestBid();
-        this.highestBid = this.getCurrentBid();
+    public synchronized void addBid(Bid bid) {
+        this.bids.add(bid);
+        this.track(bid);
+    }
 
+    /** Adds bids already known to be valid, such as ones loaded from a file.
+     * @param toAdd the bids, oldest first
+     */
+    public synchronized void addBids(Collection<Bid> toAdd) {
+        for (Bid bid : toAdd) {
+            this.bids.add(bid);
+            this.track(bid);
+        }
+    }
+
+    /** Makes a bid the leader if it is the first bid or beats the leader's amount. */
+    private synchronized void track(Bid bid) {
+        Bid leader = this.bidWithHighestBid;
+        if (leader == NO_BIDS || bid.getAmount() > leader.getAmount()) {
+            this.bidWithHighestBid = bid;
+        }
+    }
+
+    /** Gets the price a bid must beat while this bid leads. */
+    private int priceOf(Bid leader) {
+        //There are no bids yet so startingBid is bid to beat.
+        return leader == NO_BIDS ? this.startingBid : Math.max(0, leader.getAmount());
     }
 
     /**
      *
-     * @return
+     * @return the earliest bid with the highest amount, or a bid of 0 if there are none
      */
     public Bid highestBid() {
-        Bid toSend = bids.get(0);
-        for (int i = 0; i < bids.size(); i++) {
-            if (bids.get(i).getAmount() > toSend.getAmount()) {
-                toSend = bids.get(i);
-            }
-        }
-        return toSend;
+        return this.bidWithHighestBid;
     }
 
     //Group
@@ -142,6 +193,13 @@ public class Item implements Serializable {
         return this.name;
     }
 
+    /** Gets the name's id, so items can be compared without comparing names.
+     * @return the id in NameDictionary.ITEMS
+     */
+    public int getNameId() {
+        return this.nameId;
+    }
+
     /**
      *
      * @return
@@ -158,12 +216,30 @@ public class Item implements Serializable {
     		return this.description;
     }
 
-    /**
-     *
-     * @return
+    /** Gets the bids, built from the packed history; adding to the list does not bid.
+     * @return the bids, oldest first
      */
     public ArrayList<Bid> getBids() {
-    	return this.bids;
+    	return this.bids.toList();
+    }
+
+    /** Gets a copy of the bids that stays safe to iterate while bids are being placed.
+     * @return the bids, oldest first
+     */
+    public ArrayList<Bid> getBidsSnapshot() {
+        return this.bids.toList();
+    }
+
+    /** Gets the item's bid history without building any bids.
+     * @return the history */
+    public BidHistory getBidHistory() {
+        return this.bids;
+    }
+
+    /** Gets the number of bids without building them.
+     * @return bid count */
+    public int getBidCount() {
+        return this.bids.size();
     }
 
     /**
@@ -172,30 +248,65 @@ public class Item implements Serializable {
      */
     public String getImagePath() {return this.imagePath; }
 
+    /**
+     *
+     * @return
+     */
+    public int getStartingBid() {return this.startingBid; }
+
     /**
      *
      * @return
      */
     public int getCurrentBid() {
-        int bid = 0;
-        
-        if(bids.size() == 0) {
-            //There are no bids yet so startingBid is bid to beat.
-            bid = startingBid;
-        } else {
-            //Bids will be added to the list in ascending order.
-            //Therefore, last value in bids will be the bid to beat.
-            //To make this secure, bids must be immutable.
-            //bid = bids.get(bids.size() - 1).getAmount();
-            for (Bid b : this.bids) {
-                if (b.getAmount() > bid) {
-                    bid = b.getAmount();
-                    Arrays.toString(this.bids.toArray());
-                }
+        //The leading bid is kept current as bids arrive, so no scan is needed.
+        return this.priceOf(this.bidWithHighestBid);
+    }
+
+    /** Writes the bids as a list, with the current price, as older versions did. */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ArrayList<Bid> list;
+        Bid leader;
+        synchronized (this) {
+            list = this.bids.toList();
+            leader = this.bidWithHighestBid;
+        }
+        // Share the leader with the list instead of writing it twice.
+        for (int i = 0; i < list.size() && leader != NO_BIDS; i++) {
+            Bid bid = list.get(i);
+            if (bid.getAmount() == leader.getAmount() && bid.getBidderId() == leader.getBidderId()) {
+                list.set(i, leader);
+                break;
             }
         }
-        
-        return bid;
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("name", this.name);
+        fields.put("quantity", this.quantity);
+        fields.put("description", this.description);
+        fields.put("startingBid", this.startingBid);
+        fields.put("imagePath", this.imagePath);
+        fields.put("bids", list);
+        fields.put("highestBid", this.priceOf(leader));
+        fields.put("bidWithHighestBid", leader);
+        out.writeFields();
+    }
+
+    /** Packs the serialized list of bids and restores the leader. */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        this.name = (String) fields.get("name", null);
+        this.nameId = NameDictionary.ITEMS.idOf(this.name);
+        this.quantity = fields.get("quantity", 0);
+        this.description = (String) fields.get("description", null);
+        this.startingBid = fields.get("startingBid", 0);
+        this.imagePath = (String) fields.get("imagePath", null);
+        this.bids = new BidHistory();
+        this.bidWithHighestBid = NO_BIDS;
+        ArrayList<Bid> list = (ArrayList<Bid>) fields.get("bids", null);
+        if (list != null) {
+            this.addBids(list);
+        }
     }
 }
 
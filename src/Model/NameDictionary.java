@@ -0,0 +1,80 @@
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Gives every distinct name a small int id, so the model can compare and hash ids
+ * instead of strings, and bid histories can store an int per bid instead of a
+ * reference. Ids are dense, start at 0, are never reused and only live as long as the
+ * process: files keep the names.
+ * @version Oct 18, 2026
+ */
+public final class NameDictionary {
+    /** Id of a missing (null) name. **/
+    public static final int NONE = -1;
+
+    /** Bidders' names. **/
+    public static final NameDictionary BIDDERS = new NameDictionary();
+    /** Items' names. **/
+    public static final NameDictionary ITEMS = new NameDictionary();
+    /** Organizations' names. **/
+    public static final NameDictionary ORGANIZATIONS = new NameDictionary();
+
+    private final ConcurrentHashMap<String, Integer> ids;
+    /** Names by id. A slot is written once, before its id is published through ids;
+     * the array is replaced only when it grows. **/
+    private volatile String[] names;
+    private int count;
+
+    /** Creates an empty dictionary. */
+    public NameDictionary() {
+        this.ids = new ConcurrentHashMap<>();
+        this.names = new String[64];
+    }
+
+    /** Gets a name's id, assigning the next one on first use.
+     * @param name the name, or null
+     * @return the id, or NONE for null */
+    public int idOf(String name) {
+        if (name == null) {
+            return NONE;
+        }
+        Integer id = this.ids.get(name);
+        return id != null ? id : this.assign(name);
+    }
+
+    /** Gets a name's id without assigning one, for lookups.
+     * @param name the name, or null
+     * @return the id, or NONE for null or a name never seen */
+    public int find(String name) {
+        Integer id = name == null ? null : this.ids.get(name);
+        return id == null ? NONE : id;
+    }
+
+    /** Gets the name behind an id.
+     * @param id an id from idOf
+     * @return the name, or null for NONE */
+    public String nameOf(int id) {
+        return id == NONE ? null : this.names[id];
+    }
+
+    /** Gets the number of names with an id.
+     * @return name count */
+    public synchronized int size() {
+        return this.count;
+    }
+
+    private synchronized int assign(String name) {
+        Integer id = this.ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        String[] names = this.names;
+        if (this.count == names.length) {
+            names = Arrays.copyOf(names, names.length * 2);
+        }
+        names[this.count] = name;
+        this.names = names;
+        // The map publishes the slot: whoever is handed the id also sees the name.
+        this.ids.put(name, this.count);
+        return this.count++;
+    }
+}
@@ -3,8 +3,9 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Observable;
 
 /**
@@ -46,19 +47,35 @@ public class AuctionsInChronoOrderScreen extends Observable {
      * @throws ClassNotFoundException
      */
     private void setElements() throws IOException, ClassNotFoundException {
+        // One pass over the end-ordered view splits the auctions without any sorting.
+        List<Auction> past = new ArrayList<>();
+        List<Auction> live = new ArrayList<>();
+        List<Auction> future = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Auction auction : this.dataControl.getAuctionPage(this.dataControl.getAuctionsSortedByEnd(),
+                0, Integer.MAX_VALUE)) {
+            if (auction.isCanceled()) {
+                continue;
+            }
+            if (auction.getEnd().isBefore(now)) {
+                past.add(auction);
+            } else if (auction.getStart().isAfter(now)) {
+                future.add(auction);
+            } else if (auction.getStart().isBefore(now) && auction.getEnd().isAfter(now)) {
+                live.add(auction);
+            }
+        }
+
         JPanel container = new JPanel(new GridLayout(7, 1));
         container.add(new JLabel("\tSorted Chronologically by End Date"));
         container.add(new JLabel("\tPast auction(s): "));
-        container.add(new JScrollPane(
-                this.getAuctionTable(this.dataControl.getPastAuctions())));
+        container.add(new JScrollPane(this.getAuctionTable(past)));
 
         container.add(new JLabel("\tLive auction(s): "));
-        container.add(new JScrollPane(
-                this.getAuctionTable(this.dataControl.getActiveAuctions())));
+        container.add(new JScrollPane(this.getAuctionTable(live)));
 
         container.add(new JLabel("\tFuture auction(s): "));
-        container.add(new JScrollPane(
-                this.getAuctionTable(this.dataControl.getFutureAuctions())));
+        container.add(new JScrollPane(this.getAuctionTable(future)));
 
         this.chronoOrderScreen.add(container, BorderLayout.CENTER);
         JButton back = new JButton("Back");
@@ -71,21 +88,20 @@ public class AuctionsInChronoOrderScreen extends Observable {
 
     /**
      *
-     * @param auctions
+     * @param auctionList auctions already in end date order
      * @return
      */
-    private JTable getAuctionTable(HashSet<Auction> auctions) {
+    private JTable getAuctionTable(List<Auction> auctionList) {
         String[] columns = new String[] {"Auction Name", "Auction ID", "Number Items", "Start Date", "End Date"};
         final Class[] columnClass = new Class[] {
                 String.class, String.class, String.class, String.class, String.class
         };
-        Object[][] auctionTiming = new Object[auctions.size()][5];
+        Object[][] auctionTiming = new Object[auctionList.size()][5];
         int counter = 0;
-        ArrayList<Auction> auctionList = this.dataControl.sortAuctionSet(auctions);
         for (Auction auction : auctionList) {
             auctionTiming[counter][0] = auction.getOrganization();
             auctionTiming[counter][1] = auction.getAuctionID() + "";
-            auctionTiming[counter][2] = auction.getItems().size();
+            auctionTiming[counter][2] = auction.getItemCount();
             auctionTiming[counter][3] = auction.getStart().toString();
             auctionTiming[counter][4] = auction.getEnd().toString();
             counter++;
@@ -92,7 +92,7 @@ public class AuctionsInTimeFrameScreen extends Observable {
         for (Auction auction : auctionList) {
             auctionTiming[counter][0] = auction.getOrganization();
             auctionTiming[counter][1] = auction.getAuctionID() + "";
-            auctionTiming[counter][2] = auction.getItems().size();
+            auctionTiming[counter][2] = auction.getItemCount();
             auctionTiming[counter][3] = auction.getStart().toString();
             auctionTiming[counter][4] = auction.getEnd().toString();
             counter++;
@@ -88,7 +88,7 @@ public class CancelAuctionScreen extends Observable {
             auctionTiming[counter][0] = false;
             int bidCount = 0;
             for (Item item : auction.getItems()) {
-                bidCount += item.getBids().size();
+                bidCount += item.getBidCount();
             }
             auctionTiming[counter][1] = "" + bidCount;
             auctionTiming[counter][2] = auction.getAuctionID();
@@ -2,6 +2,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.Observable;
 
 public class MainScreen_Admin extends Observable {
@@ -64,10 +65,27 @@ public class MainScreen_Admin extends Observable {
             notifyObservers(4); // 4 - Change frame to cancel an auction
         });
         logout.addActionListener((ActionEvent e) -> {
+            logout.setEnabled(false);
+            CompletableFuture<Void> saved;
             try {
-                this.dataControl.logOutAdmin();
-            } catch (IOException | ClassNotFoundException e1) { e1.printStackTrace(); }
-            System.exit(0);
+                saved = this.dataControl.logOutAdmin();
+            } catch (IOException | ClassNotFoundException e1) {
+                e1.printStackTrace();
+                saved = CompletableFuture.completedFuture(null);
+            }
+            // The checkpoint runs on its own thread; once it is done, close and exit off both
+            // that thread, which close waits for, and the UI thread.
+            saved.whenCompleteAsync((done, failure) -> {
+                if (failure != null) {
+                    failure.printStackTrace();
+                }
+                try {
+                    this.dataControl.close();
+                } catch (IOException e1) {
+                    e1.printStackTrace();
+                }
+                System.exit(0);
+            });
         });
     }
 
@@ -0,0 +1,460 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/** Binary TCP gateway for placing bids and streaming prices; see BidProtocol for the
+ * frames. One selector thread serves every connection: it reads whatever frames have
+ * arrived, checks each bid's time and price with BidRules, hands it to
+ * DataControlCenter.submitBid and moves on, so a client can keep many bids in flight on one connection. Bid results,
+ * and the price updates heard as a BidListener, come back to the selector thread as
+ * tasks; replies gathered in one pass go out in one write per connection.
+ * <p>
+ * A connection whose unsent replies pile up past PAUSE_READS is not read from until
+ * it catches up, which holds back a client that sends faster than it reads. One that
+ * falls MAX_BACKLOG behind on price updates is dropped. When DataControlCenter's
+ * ingestion queue is full, submitBid waits for room and the selector thread waits
+ * with it, slowing every client alike until the queue drains.
+ * @version Oct 18, 2026
+ */
+public class BidGateway implements BidListener {
+    /** System property naming the port main listens on. **/
+    public static final String PORT_PROPERTY = "auctioncentral.gateway.port";
+    /** Port main listens on by default. **/
+    public static final int DEFAULT_PORT = 9090;
+    /** System property naming the address main binds, e.g. 0.0.0.0 to listen on every interface. **/
+    public static final String BIND_PROPERTY = "auctioncentral.gateway.bind";
+    /** Address main binds by default, so only this machine can connect unless told otherwise. **/
+    public static final String DEFAULT_BIND = "127.0.0.1";
+    /** Size of each connection's read buffer. **/
+    private static final int READ_BUFFER = 64 * 1024;
+    /** Unsent bytes above which a connection is not read from. **/
+    private static final int PAUSE_READS = 256 * 1024;
+    /** Unsent bytes at which a connection is dropped. **/
+    private static final int MAX_BACKLOG = 4 * 1024 * 1024;
+
+    private final DataControlCenter dataControl;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Thread loop;
+    /** Work handed to the selector thread by other threads. **/
+    private final ConcurrentLinkedQueue<Runnable> tasks;
+    /** Set while a wakeup is on its way, so a burst of tasks costs one wakeup. **/
+    private final AtomicBoolean wakeupPending;
+    /** Connections subscribed to each auction. Selector thread only. **/
+    private final IntHashMap<ArrayList<Connection>> subscribers;
+    /** Connections with replies waiting to be written. Selector thread only. **/
+    private final ArrayList<Connection> dirty;
+    /** Bidders logged in so far, by username. Selector thread only. **/
+    private final HashMap<String, Bidder> bidders;
+    /** Number of subscriptions, read by bidPlaced to skip the hand-off when nobody listens. **/
+    private volatile int subscriptions;
+    private volatile boolean running;
+
+    /** One client's socket and buffers. Selector thread only. */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer in;
+        /** Unsent bytes, in write mode. **/
+        private ByteBuffer out;
+        private Bidder bidder;
+        private final HashSet<Integer> subscribed;
+        private boolean queued;
+        private boolean closed;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+            this.in = ByteBuffer.allocate(READ_BUFFER);
+            this.out = ByteBuffer.allocate(READ_BUFFER);
+            this.subscribed = new HashSet<>();
+        }
+
+        /** Makes room for one more frame, growing the buffer up to MAX_BACKLOG.
+         * @return false if the connection is too far behind and was closed */
+        boolean reserve(int bytes) {
+            if (this.closed) {
+                return false;
+            }
+            if (this.out.remaining() < bytes) {
+                if (this.out.position() + bytes > MAX_BACKLOG) {
+                    close(this);
+                    return false;
+                }
+                ByteBuffer bigger = ByteBuffer.allocate(Math.min(MAX_BACKLOG, 2 * this.out.capacity()));
+                this.out.flip();
+                bigger.put(this.out);
+                this.out = bigger;
+            }
+            if (!this.queued) {
+                this.queued = true;
+                dirty.add(this);
+            }
+            return true;
+        }
+
+        void reply(int tag, byte status, int value) {
+            if (this.reserve(4 + BidProtocol.REPLY_LENGTH)) {
+                BidProtocol.putReply(this.out, tag, status, value);
+            }
+        }
+    }
+
+    /** Creates a gateway; call start to accept connections.
+     * @param dataControl the shared data control
+     * @param address address to bind, port 0 for any free port
+     * @throws IOException if the address cannot be bound
+     */
+    public BidGateway(DataControlCenter dataControl, InetSocketAddress address) throws IOException {
+        this.dataControl = dataControl;
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.wakeupPending = new AtomicBoolean();
+        this.subscribers = new IntHashMap<>();
+        this.dirty = new ArrayList<>();
+        this.bidders = new HashMap<>();
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        this.server.bind(address);
+        this.server.configureBlocking(false);
+        this.server.register(this.selector, SelectionKey.OP_ACCEPT);
+        this.loop = new Thread(this::run, "bid-gateway");
+        this.loop.setDaemon(true);
+    }
+
+    /** Starts accepting connections and listening for accepted bids. */
+    public void start() {
+        this.running = true;
+        this.dataControl.addBidListener(this);
+        this.loop.start();
+    }
+
+    /** Closes every connection and stops the selector thread. Bids already handed to
+     * DataControlCenter are still placed; their replies are not sent.
+     * @throws InterruptedException if interrupted while waiting for the thread */
+    public void stop() throws InterruptedException {
+        this.dataControl.removeBidListener(this);
+        this.running = false;
+        this.selector.wakeup();
+        this.loop.join();
+    }
+
+    /** Gets the port the gateway is bound to.
+     * @return the port */
+    public int getPort() {
+        return this.server.socket().getLocalPort();
+    }
+
+    /** Starts a gateway over the configured store; the port comes from the first
+     * argument, else auctioncentral.gateway.port, else 9090; the address from the second argument,
+     * else auctioncentral.gateway.bind, else 127.0.0.1.
+     * @param args optional port, then optional address to bind
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public static void main(String... args) throws IOException, ClassNotFoundException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+        String bind = args.length > 1 ? args[1] : System.getProperty(BIND_PROPERTY, DEFAULT_BIND);
+        DataControlCenter dataControl = new DataControlCenter();
+        BidGateway gateway = new BidGateway(dataControl, new InetSocketAddress(bind, port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                gateway.stop();
+                dataControl.close();
+            } catch (IOException | InterruptedException e) {
+                e.printStackTrace();
+            }
+        }));
+        gateway.start();
+        System.out.println("Auction Central bid gateway listening on " + bind + ":" + gateway.getPort());
+    }
+
+    /** Hands a price update to the selector thread when anyone is subscribed. */
+    @Override
+    public void bidPlaced(Auction auction, Item item, Bid bid) {
+        if (this.subscriptions == 0) {
+            return;
+        }
+        int auctionId = auction.getAuctionID();
+        int itemId = item.getNameId();
+        int price = bid.getAmount();
+        this.execute(() -> this.publish(auctionId, itemId, price));
+    }
+
+    /** Runs a task on the selector thread. */
+    private void execute(Runnable task) {
+        this.tasks.add(task);
+        if (this.wakeupPending.compareAndSet(false, true)) {
+            this.selector.wakeup();
+        }
+    }
+
+    private void run() {
+        try {
+            while (this.running) {
+                this.selector.select();
+                this.wakeupPending.set(false);
+                for (Runnable task; (task = this.tasks.poll()) != null; ) {
+                    task.run();
+                }
+                Iterator<SelectionKey> ready = this.selector.selectedKeys().iterator();
+                while (ready.hasNext()) {
+                    SelectionKey key = ready.next();
+                    ready.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        this.accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    if (key.isWritable()) {
+                        this.flush(connection);
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        this.read(connection);
+                    }
+                }
+                for (Connection connection : this.dirty) {
+                    connection.queued = false;
+                    this.flush(connection);
+                }
+                this.dirty.clear();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            for (SelectionKey key : this.selector.keys()) {
+                if (key.attachment() instanceof Connection) {
+                    this.close((Connection) key.attachment());
+                }
+            }
+            try {
+                this.server.close();
+                this.selector.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = this.server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(this.selector, SelectionKey.OP_READ);
+            key.attach(new Connection(channel, key));
+        }
+    }
+
+    /** Reads what has arrived and handles every complete frame. */
+    private void read(Connection connection) {
+        int count;
+        try {
+            count = connection.channel.read(connection.in);
+        } catch (IOException e) {
+            count = -1;
+        }
+        if (count < 0) {
+            this.close(connection);
+            return;
+        }
+        ByteBuffer in = connection.in;
+        in.flip();
+        while (in.remaining() >= 4 && !connection.closed) {
+            int length = in.getInt(in.position());
+            if (length < 5 || length > BidProtocol.MAX_FRAME) {
+                this.close(connection);
+                return;
+            }
+            if (in.remaining() < 4 + length) {
+                break;
+            }
+            int end = in.position() + 4 + length;
+            ByteBuffer frame = in.duplicate();
+            frame.position(in.position() + 4).limit(end);
+            in.position(end);
+            this.handle(connection, frame);
+        }
+        in.compact();
+    }
+
+    /** Handles one frame: the type, the tag, then the type's body. */
+    private void handle(Connection connection, ByteBuffer frame) {
+        byte type = frame.get();
+        int tag = frame.getInt();
+        try {
+            switch (type) {
+                case BidProtocol.BID:
+                    this.bid(connection, tag, frame.getInt(), frame.getInt(), frame.getInt());
+                    break;
+                case BidProtocol.LOGIN:
+                    this.login(connection, tag, BidProtocol.getString(frame));
+                    break;
+                case BidProtocol.LOOKUP:
+                    int auctionId = frame.getInt();
+                    Item item = this.dataControl.getItemInAuction(auctionId, BidProtocol.getString(frame));
+                    connection.reply(tag, item == null ? BidProtocol.NOT_FOUND : BidProtocol.OK,
+                            item == null ? 0 : item.getNameId());
+                    break;
+                case BidProtocol.SUBSCRIBE:
+                    this.subscribe(connection, tag, frame.getInt());
+                    break;
+                case BidProtocol.UNSUBSCRIBE:
+                    this.unsubscribe(connection, frame.getInt());
+                    connection.reply(tag, BidProtocol.OK, 0);
+                    break;
+                default:
+                    connection.reply(tag, BidProtocol.BAD_REQUEST, 0);
+            }
+        } catch (BufferUnderflowException e) {
+            connection.reply(tag, BidProtocol.BAD_REQUEST, 0);
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            // Includes UncheckedIOException from the store; one bad request must not stop the loop.
+            e.printStackTrace();
+            connection.reply(tag, BidProtocol.FAILED, 0);
+        }
+    }
+
+    /** Checks a bid on the same rules as the bidder screens and submits it; the reply
+     * follows once DataControlCenter has placed and stored it, or refused it. The item
+     * limits are checked there, under the bidder's lock, not here. */
+    private void bid(Connection connection, int tag, int auctionId, int itemId, int amount)
+            throws IOException, ClassNotFoundException {
+        Bidder bidder = connection.bidder;
+        if (bidder == null) {
+            connection.reply(tag, BidProtocol.NOT_LOGGED_IN, 0);
+            return;
+        }
+        Auction auction = this.dataControl.getAuctionById(auctionId);
+        Item item = auction == null ? null : this.dataControl.getItemInAuction(auctionId, itemId);
+        if (item == null) {
+            connection.reply(tag, BidProtocol.NOT_FOUND, 0);
+            return;
+        }
+        String refused = BidRules.check(auction, item, amount);
+        if (refused != null) {
+            connection.reply(tag, BidProtocol.statusOf(refused), item.getCurrentBid());
+            return;
+        }
+        Bid bid = new Bid(bidder.getName(), item.getName(), amount, auctionId, auction.getStart(), auction.getEnd());
+        this.dataControl.submitBid(auction, item, bid).whenComplete((placed, error) -> this.execute(() ->
+                connection.reply(tag, error != null ? statusOf(error)
+                        : placed ? BidProtocol.OK : BidProtocol.OUTBID, item.getCurrentBid())));
+    }
+
+    /** Maps a submitted bid's failure to its status: a limit refusal, else FAILED. */
+    private static byte statusOf(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof BidLimitException) {
+            return BidProtocol.statusOf(BidRules.messageOf((BidLimitException) cause));
+        }
+        return BidProtocol.FAILED;
+    }
+
+    private void login(Connection connection, int tag, String username) throws IOException, ClassNotFoundException {
+        Bidder bidder = this.bidders.get(username);
+        if (bidder == null) {
+            bidder = this.dataControl.getBidderByUsername(username);
+            if (bidder != null) {
+                this.bidders.put(username, bidder);
+            }
+        }
+        if (bidder != null) {
+            connection.bidder = bidder;
+        }
+        connection.reply(tag, bidder == null ? BidProtocol.NOT_FOUND : BidProtocol.OK, 0);
+    }
+
+    private void subscribe(Connection connection, int tag, int auctionId) throws IOException, ClassNotFoundException {
+        if (this.dataControl.getAuctionById(auctionId) == null) {
+            connection.reply(tag, BidProtocol.NOT_FOUND, 0);
+            return;
+        }
+        if (connection.subscribed.add(auctionId)) {
+            ArrayList<Connection> listeners = this.subscribers.get(auctionId);
+            if (listeners == null) {
+                listeners = new ArrayList<>();
+                this.subscribers.put(auctionId, listeners);
+            }
+            listeners.add(connection);
+            this.subscriptions++;
+        }
+        connection.reply(tag, BidProtocol.OK, 0);
+    }
+
+    private void unsubscribe(Connection connection, int auctionId) {
+        if (!connection.subscribed.remove(auctionId)) {
+            return;
+        }
+        ArrayList<Connection> listeners = this.subscribers.get(auctionId);
+        listeners.remove(connection);
+        if (listeners.isEmpty()) {
+            this.subscribers.remove(auctionId);
+        }
+        this.subscriptions--;
+    }
+
+    /** Queues a price update for every connection subscribed to the auction. */
+    private void publish(int auctionId, int itemId, int price) {
+        ArrayList<Connection> listeners = this.subscribers.get(auctionId);
+        if (listeners == null) {
+            return;
+        }
+        // A listener may be dropped as too slow while we go, so walk a copy.
+        for (Connection connection : listeners.toArray(new Connection[0])) {
+            if (connection.reserve(4 + BidProtocol.PRICE_LENGTH)) {
+                BidProtocol.putPrice(connection.out, auctionId, itemId, price);
+            }
+        }
+    }
+
+    /** Writes what the socket takes now, and reads again only once the backlog is small. */
+    private void flush(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        ByteBuffer out = connection.out;
+        out.flip();
+        try {
+            connection.channel.write(out);
+        } catch (IOException e) {
+            this.close(connection);
+            return;
+        } finally {
+            out.compact();
+        }
+        int ops = out.position() > 0 ? SelectionKey.OP_WRITE : 0;
+        if (out.position() < PAUSE_READS) {
+            ops |= SelectionKey.OP_READ;
+        }
+        connection.key.interestOps(ops);
+    }
+
+    private void close(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        connection.closed = true;
+        for (Integer auctionId : new ArrayList<>(connection.subscribed)) {
+            this.unsubscribe(connection, auctionId);
+        }
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
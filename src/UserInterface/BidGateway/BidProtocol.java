@@ -0,0 +1,141 @@
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/** Wire format of the binary bid gateway. Every frame is a big-endian int giving the
+ * number of bytes that follow, then a one-byte type, then the body. Requests carry a
+ * client-chosen int tag, echoed in their reply, so a client may send many requests
+ * without waiting; replies to bids can come back in a different order than the bids
+ * were sent. Strings are an unsigned short byte count followed by UTF-8.
+ * <pre>
+ * LOGIN       tag, username              reply OK or NOT_FOUND
+ * LOOKUP      tag, auctionId, item name  reply OK with the item id, or NOT_FOUND
+ * BID         tag, auctionId, itemId, amount
+ *                                        reply with a status and the item's price
+ * SUBSCRIBE   tag, auctionId             reply OK, then PRICE frames for the auction
+ * UNSUBSCRIBE tag, auctionId             reply OK
+ * REPLY       tag, status, value         server to client
+ * PRICE       auctionId, itemId, price   server to client, after every accepted bid
+ * </pre>
+ * Item ids are the item names' ids in NameDictionary.ITEMS, valid for the life of the
+ * server.
+ * @version Oct 18, 2026
+ */
+public final class BidProtocol {
+    /** Largest frame body either side accepts. **/
+    public static final int MAX_FRAME = 1024;
+
+    /** Frame types; see the table above. **/
+    public static final byte LOGIN = 1;
+    public static final byte LOOKUP = 2;
+    public static final byte BID = 3;
+    public static final byte SUBSCRIBE = 4;
+    public static final byte UNSUBSCRIBE = 5;
+    public static final byte REPLY = 16;
+    public static final byte PRICE = 17;
+
+    /** Done; for a bid, the bid is placed and stored. **/
+    public static final byte OK = 0;
+    /** The bid does not beat the item's price, or another bid beat it first. **/
+    public static final byte OUTBID = 1;
+    /** The auction has started or is cancelled. **/
+    public static final byte TOO_LATE = 2;
+    /** The bidder is at Bidder.MAX_ITEMS_WITH_BID_IN_AN_AUCTION in this auction. **/
+    public static final byte AUCTION_LIMIT = 3;
+    /** The bidder is at Bidder.MAX_ITEMS_WITH_BID_IN_ALL_AUCTIONS. **/
+    public static final byte ALL_AUCTIONS_LIMIT = 4;
+    /** No such bidder, auction or item. **/
+    public static final byte NOT_FOUND = 5;
+    /** Bids need a LOGIN first. **/
+    public static final byte NOT_LOGGED_IN = 6;
+    /** The frame could not be read. **/
+    public static final byte BAD_REQUEST = 7;
+    /** The bid could not be stored. **/
+    public static final byte FAILED = 8;
+
+    /** Body size of a REPLY frame. **/
+    public static final int REPLY_LENGTH = 10;
+    /** Body size of a PRICE frame. **/
+    public static final int PRICE_LENGTH = 13;
+    /** Body size of a BID frame. **/
+    public static final int BID_LENGTH = 17;
+
+    /** Private constructor to prevent instantiation. **/
+    private BidProtocol() { }
+
+    /** Maps a refusal from BidRules to its status.
+     * @param refusal one of PlacingABidScreen's messages
+     * @return the status */
+    public static byte statusOf(String refusal) {
+        switch (refusal) {
+            case PlacingABidScreen.TOO_LATE_TO_BID: return TOO_LATE;
+            case PlacingABidScreen.MAX_NUMBER_OF_ITEMS_REACHED_PER_AUCTION: return AUCTION_LIMIT;
+            case PlacingABidScreen.MAX_NUMBER_OF_ITEMS_REACHED_ALL_AUCTIONS: return ALL_AUCTIONS_LIMIT;
+            default: return OUTBID;
+        }
+    }
+
+    /** Writes a REPLY frame.
+     * @param out buffer in write mode with room for 4 + REPLY_LENGTH bytes
+     * @param tag the request's tag
+     * @param status the status
+     * @param value the item id for LOOKUP, the item's price for BID, else 0 */
+    public static void putReply(ByteBuffer out, int tag, byte status, int value) {
+        out.putInt(REPLY_LENGTH).put(REPLY).putInt(tag).put(status).putInt(value);
+    }
+
+    /** Writes a PRICE frame.
+     * @param out buffer in write mode with room for 4 + PRICE_LENGTH bytes
+     * @param auctionId the auction id
+     * @param itemId the item id
+     * @param price the item's new price */
+    public static void putPrice(ByteBuffer out, int auctionId, int itemId, int price) {
+        out.putInt(PRICE_LENGTH).put(PRICE).putInt(auctionId).putInt(itemId).putInt(price);
+    }
+
+    /** Writes a BID frame.
+     * @param out buffer in write mode with room for 4 + BID_LENGTH bytes
+     * @param tag the request's tag
+     * @param auctionId the auction id
+     * @param itemId the item id from LOOKUP
+     * @param amount the amount to bid */
+    public static void putBid(ByteBuffer out, int tag, int auctionId, int itemId, int amount) {
+        out.putInt(BID_LENGTH).put(BID).putInt(tag).putInt(auctionId).putInt(itemId).putInt(amount);
+    }
+
+    /** Writes a frame whose body is a type, a tag, optionally an int, then a string.
+     * Used for LOGIN (no int) and LOOKUP (the auction id).
+     * @param out buffer in write mode
+     * @param type LOGIN or LOOKUP
+     * @param tag the request's tag
+     * @param auctionId the auction id for LOOKUP, ignored for LOGIN
+     * @param text the username or item name */
+    public static void putNamed(ByteBuffer out, byte type, int tag, int auctionId, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        boolean withId = type != LOGIN;
+        out.putInt(1 + 4 + (withId ? 4 : 0) + 2 + bytes.length).put(type).putInt(tag);
+        if (withId) {
+            out.putInt(auctionId);
+        }
+        out.putShort((short) bytes.length).put(bytes);
+    }
+
+    /** Writes a SUBSCRIBE or UNSUBSCRIBE frame.
+     * @param out buffer in write mode
+     * @param type SUBSCRIBE or UNSUBSCRIBE
+     * @param tag the request's tag
+     * @param auctionId the auction id */
+    public static void putSubscription(ByteBuffer out, byte type, int tag, int auctionId) {
+        out.putInt(9).put(type).putInt(tag).putInt(auctionId);
+    }
+
+    /** Reads a string.
+     * @param in the buffer
+     * @return the string
+     * @throws BufferUnderflowException if the buffer ends first */
+    public static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
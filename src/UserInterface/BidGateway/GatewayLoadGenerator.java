@@ -0,0 +1,185 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Measures the bid gateway on localhost. Starts a DataControlCenter over an in-memory
+ * copy of the configured store, adds an upcoming auction with ITEMS items, and opens
+ * connections that each log in as one of the store's bidders and keep a window of
+ * bids in flight, each a little above the price the connection last saw. The first
+ * connection also subscribes to the auction's price updates.
+ * <p>
+ * Usage: GatewayLoadGenerator [connections [seconds [window]]]
+ * <br>Add -Dauctioncentral.bidPath=sequencer to measure the ring-buffer path.
+ * @version Oct 18, 2026
+ */
+public class GatewayLoadGenerator {
+    /** Items in the generated auction; Bidder.MAX_ITEMS_WITH_BID_IN_AN_AUCTION lets every bidder bid on all of them. **/
+    private static final int ITEMS = Bidder.MAX_ITEMS_WITH_BID_IN_AN_AUCTION;
+
+    private final AtomicLong replies = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong outbid = new AtomicLong();
+    private final AtomicLong prices = new AtomicLong();
+    private final AtomicLong other = new AtomicLong();
+
+    /** Runs the load and prints the report.
+     * @param args connections, seconds and bids in flight per connection
+     * @throws Exception if the gateway cannot be started or reached */
+    public static void main(String... args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int window = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        AuctionStore store;
+        try (AuctionStore seed = AuctionStores.open()) {
+            store = InMemoryAuctionStore.copyOf(seed);
+        }
+        List<String> bidders = new ArrayList<>();
+        for (Bidder bidder : store.loadBidders()) {
+            bidders.add(bidder.getUsername());
+        }
+        DataControlCenter dataControl = new DataControlCenter(store);
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        Auction auction = new Auction("Gateway Load Test", start, start.plusHours(4),
+                dataControl.getNextAvailableAuctionId());
+        for (int i = 0; i < ITEMS; i++) {
+            auction.addItem(new Item("Load item " + i, 1, 1, "", ""));
+        }
+        dataControl.addAuction(auction);
+        BidGateway gateway = new BidGateway(dataControl, new InetSocketAddress("127.0.0.1", 0));
+        gateway.start();
+        try {
+            new GatewayLoadGenerator().run(gateway.getPort(), auction.getAuctionID(), bidders, connections, seconds, window);
+        } finally {
+            gateway.stop();
+        }
+    }
+
+    private void run(int port, int auctionId, List<String> bidders, int connections, int seconds, int window)
+            throws InterruptedException {
+        System.out.println(connections + " connections for " + seconds + "s, " + window + " bids in flight each, "
+                + bidders.size() + " bidders");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> clients = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            String bidder = bidders.get(i % bidders.size());
+            boolean subscribe = i == 0;
+            Thread client = new Thread(() -> {
+                try {
+                    this.client(port, auctionId, bidder, subscribe, window, deadline);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }, "gateway-client-" + i);
+            client.start();
+            clients.add(client);
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        double elapsed = (System.nanoTime() - started) / 1e9;
+        System.out.printf("%d bids in %.1fs: %.0f bids/s; accepted %d, outbid %d, other %d; %d price updates%n",
+                this.replies.get(), elapsed, this.replies.get() / elapsed, this.accepted.get(), this.outbid.get(),
+                this.other.get(), this.prices.get());
+    }
+
+    /** One connection: log in, look up the items, then send windows of bids until the deadline. */
+    private void client(int port, int auctionId, String bidder, boolean subscribe, int window, long deadline)
+            throws IOException {
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", port))) {
+            ByteBuffer out = ByteBuffer.allocate(window * (4 + BidProtocol.BID_LENGTH) + BidProtocol.MAX_FRAME * (ITEMS + 2));
+            ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+            in.flip();
+            int[] itemIds = new int[ITEMS];
+            int[] known = new int[ITEMS];
+            BidProtocol.putNamed(out, BidProtocol.LOGIN, -1, 0, bidder);
+            for (int i = 0; i < ITEMS; i++) {
+                BidProtocol.putNamed(out, BidProtocol.LOOKUP, i, auctionId, "Load item " + i);
+            }
+            if (subscribe) {
+                BidProtocol.putSubscription(out, BidProtocol.SUBSCRIBE, -2, auctionId);
+            }
+            this.send(channel, out);
+            for (int pending = ITEMS + (subscribe ? 2 : 1); pending > 0; ) {
+                ByteBuffer frame = this.next(channel, in);
+                if (frame.get() == BidProtocol.REPLY) {
+                    int tag = frame.getInt();
+                    byte status = frame.get();
+                    if (status != BidProtocol.OK) {
+                        throw new IOException("Setup request " + tag + " failed with status " + status);
+                    }
+                    if (tag >= 0) {
+                        itemIds[tag] = frame.getInt();
+                    }
+                    pending--;
+                }
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadline) {
+                for (int i = 0; i < window; i++) {
+                    int item = random.nextInt(ITEMS);
+                    BidProtocol.putBid(out, item, auctionId, itemIds[item], known[item] + 1 + random.nextInt(3));
+                }
+                this.send(channel, out);
+                for (int pending = window; pending > 0; ) {
+                    ByteBuffer frame = this.next(channel, in);
+                    if (frame.get() == BidProtocol.PRICE) {
+                        frame.getInt();
+                        int itemId = frame.getInt();
+                        int price = frame.getInt();
+                        for (int i = 0; i < ITEMS; i++) {
+                            if (itemIds[i] == itemId) {
+                                known[i] = Math.max(known[i], price);
+                            }
+                        }
+                        this.prices.incrementAndGet();
+                        continue;
+                    }
+                    int item = frame.getInt();
+                    byte status = frame.get();
+                    known[item] = Math.max(known[item], frame.getInt());
+                    if (status == BidProtocol.OK) {
+                        this.accepted.incrementAndGet();
+                    } else if (status == BidProtocol.OUTBID) {
+                        this.outbid.incrementAndGet();
+                    } else {
+                        this.other.incrementAndGet();
+                    }
+                    this.replies.incrementAndGet();
+                    pending--;
+                }
+            }
+        }
+    }
+
+    private void send(SocketChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /** Reads the next frame; the returned buffer is positioned at its type. */
+    private ByteBuffer next(SocketChannel channel, ByteBuffer in) throws IOException {
+        while (in.remaining() < 4 || in.remaining() < 4 + in.getInt(in.position())) {
+            in.compact();
+            if (channel.read(in) < 0) {
+                throw new EOFException("Gateway closed the connection");
+            }
+            in.flip();
+        }
+        int length = in.getInt();
+        ByteBuffer frame = in.slice();
+        frame.limit(length);
+        in.position(in.position() + length);
+        return frame;
+    }
+}
@@ -36,6 +36,7 @@ public class BidItemsInAllAuctionScreen extends Observable {
      * @throws ClassNotFoundException
      */
     private void setupFrame() throws IOException, ClassNotFoundException {
+        dataControl.collectPlacedBids(currBidder);
         this.itemsInAllAuctionScreen.add(new JLabel("\tHere are all the items you have bid on: "), BorderLayout.NORTH);
         JPanel auctionFrame = new JPanel();
         auctionFrame.add(new JScrollPane(this.getItemTable()));
@@ -41,6 +41,7 @@ public class BidItemsInAnAuctionScreen extends Observable {
      * @throws ClassNotFoundException
      */
     private void setupAuctions() throws IOException, ClassNotFoundException {
+        dataControl.collectPlacedBids(currBidder);
         JPanel auctionFrame = new JPanel(new GridLayout(dataControl.getAuctionsCurrBidderCanBidOn(currBidder).size(), 1));
         this.itemsInAuctionScreen.add(new JLabel("\tHere are all the auctions, please pick one to view the items that you have bid on: "), BorderLayout.NORTH);
 
@@ -0,0 +1,38 @@
+import java.time.LocalDateTime;
+
+/** The checks PlacingABidScreen and MainScreen_Bidder apply before a bidder may bid,
+ * gathered in one place for front ends without a screen to grey out.
+ * @version Oct 18, 2026
+ */
+public final class BidRules {
+    /** Private constructor to prevent instantiation. **/
+    private BidRules() { }
+
+    /** Checks whether a bid may be sent for an item. The price is checked again when
+     * the bid is placed, so a bid that passes here can still lose to a faster one. The
+     * item limits are left to DataControlCenter, which checks them under the bidder's
+     * lock as it places the bid and refuses with a BidLimitException; see messageOf.
+     * @param auction the auction listing the item
+     * @param item the item
+     * @param amount the amount to bid
+     * @return null if the bid may go ahead, else one of PlacingABidScreen's messages
+     */
+    public static String check(Auction auction, Item item, int amount) {
+        if (auction.isCanceled() || !auction.getStart().isAfter(LocalDateTime.now())) {
+            return PlacingABidScreen.TOO_LATE_TO_BID;
+        }
+        if (amount <= item.getCurrentBid()) {
+            return PlacingABidScreen.BID_IS_LESS_THAN_MINIMUM;
+        }
+        return null;
+    }
+
+    /** Gives the screens' message for a bid refused at an item limit.
+     * @param refused the refusal from DataControlCenter
+     * @return one of PlacingABidScreen's limit messages
+     */
+    public static String messageOf(BidLimitException refused) {
+        return refused.isAllAuctions() ? PlacingABidScreen.MAX_NUMBER_OF_ITEMS_REACHED_ALL_AUCTIONS
+                : PlacingABidScreen.MAX_NUMBER_OF_ITEMS_REACHED_PER_AUCTION;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Observable;
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This is the top level main screen that shows all the options a Bidder have.
@@ -92,15 +93,27 @@ public class MainScreen_Bidder extends Observable{
             notifyObservers(MainScreen_Bidder.BID_FOR_AN_ITEM_IN_AN_AUCTION);
         });
         logout.addActionListener((ActionEvent e) -> {
+            logout.setEnabled(false);
+            CompletableFuture<Void> saved;
             try {
-                this.dataControl.logOutBidder(currBidder);
-                //this.dataControl.logOutNP();
-            } catch (ClassNotFoundException e1) {
-                e1.printStackTrace();
-            } catch (IOException e1) {
+                saved = this.dataControl.logOutBidder(currBidder);
+            } catch (IOException | ClassNotFoundException e1) {
                 e1.printStackTrace();
+                saved = CompletableFuture.completedFuture(null);
             }
-            System.exit(0);
+            // The checkpoint runs on its own thread; once it is done, close and exit off both
+            // that thread, which close waits for, and the UI thread.
+            saved.whenCompleteAsync((done, failure) -> {
+                if (failure != null) {
+                    failure.printStackTrace();
+                }
+                try {
+                    this.dataControl.close();
+                } catch (IOException e1) {
+                    e1.printStackTrace();
+                }
+                System.exit(0);
+            });
         });
 
         toSend.add(viewAuctionsICanBid);
@@ -110,6 +123,7 @@ public class MainScreen_Bidder extends Observable{
         toSend.add(bidForAnItemInAnAuction);
         toSend.add(logout);
 
+        dataControl.collectPlacedBids(currBidder);
         Map<Integer, ArrayList<Bid>> numOfBidsByAuctionID = new HashMap<>();
 
         for (Bid bid : currBidder.getBids()) {
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.*;
+import java.util.concurrent.CompletionException;
 
 /**
  * This Panel displays the items of an auction chosen by the Bidder.
@@ -42,6 +43,8 @@ public class PlacingABidScreen extends Observable {
      */
     private void setupAuctions() throws IOException, ClassNotFoundException {
         Map<Integer, ArrayList<Bid>> numOfBidsByAuctionID = new HashMap<>();
+        // Picks up bids the proxy engine placed for this bidder since the last screen.
+        dataControl.collectPlacedBids(currBidder);
 
         for (Bid bid : currBidder.getBids()) {
             if (!numOfBidsByAuctionID.containsKey(bid.getAuctionID())) {
@@ -101,16 +104,50 @@ public class PlacingABidScreen extends Observable {
                                 int bidderBidPrice = Integer.parseInt(price);
                                 Bid bid = new Bid(currBidder.getName(), itm.getName(), bidderBidPrice,
                                         auc.getAuctionID(), auc.getStart(), auc.getEnd());
-
-                                if (bidderBidPrice <= itm.getCurrentBid()) {
-                                    String errorMessage = "The amount you enter must be higher than the current bid price of this item.\nPlease try again.";
-                                    JOptionPane.showMessageDialog(itemsFrame, errorMessage, "Failed to place bid", JOptionPane.ERROR_MESSAGE);
+                                int automatic = JOptionPane.showConfirmDialog(itemsFrame,
+                                        "Bid automatically, only as high as other bidders force you to, up to $" + bidderBidPrice + "?\n"
+                                                + "Choose No to bid exactly $" + bidderBidPrice + " now.",
+                                        "Automatic bidding", JOptionPane.YES_NO_CANCEL_OPTION);
+
+                                if (automatic == JOptionPane.CANCEL_OPTION || automatic == JOptionPane.CLOSED_OPTION) {
+                                    return;
+                                } else if (automatic == JOptionPane.YES_OPTION) {
+                                    boolean registered;
+                                    try {
+                                        registered = dataControl.placeProxyBid(auc, itm, currBidder.getName(), bidderBidPrice);
+                                    } catch (BidLimitException limit) {
+                                        JOptionPane.showMessageDialog(itemsFrame, BidRules.messageOf(limit), "Failed to place bid", JOptionPane.ERROR_MESSAGE);
+                                        return;
+                                    }
+                                    if (registered) {
+                                        // The engine may have bid for the bidder already; record it as if placed here.
+                                        dataControl.collectPlacedBids(currBidder);
+                                        JOptionPane.showMessageDialog(itemsFrame, "Your maximum of $" + bidderBidPrice
+                                                + " is registered. The current price is $" + itm.getCurrentBid() + ".",
+                                                "Success", JOptionPane.PLAIN_MESSAGE);
+                                    } else {
+                                        String errorMessage = "Your maximum must be higher than the current bid price of this item"
+                                                + " and than any maximum you set before.\nPlease try again.";
+                                        JOptionPane.showMessageDialog(itemsFrame, errorMessage, "Failed to place bid", JOptionPane.ERROR_MESSAGE);
+                                    }
                                 } else {
-                                    dataControl.placeBid(auc, itm, bid);
-                                    currBidder.addBid(bid);
-                                    currBidder.payForBid(bid.getAmount());
-                                    JOptionPane.showMessageDialog(itemsFrame, "You have placed your bid successfully!", "Success", JOptionPane.PLAIN_MESSAGE);
-                                    System.out.println("test");
+                                    // Applied on the ingestion thread; the outcome comes back to the event thread.
+                                    dataControl.submitBid(auc, itm, bid).whenComplete((placed, error) -> SwingUtilities.invokeLater(() -> {
+                                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                                        if (cause instanceof BidLimitException) {
+                                            JOptionPane.showMessageDialog(itemsFrame, BidRules.messageOf((BidLimitException) cause),
+                                                    "Failed to place bid", JOptionPane.ERROR_MESSAGE);
+                                        } else if (error != null) {
+                                            JOptionPane.showMessageDialog(itemsFrame, "Your bid could not be saved. Please try again.",
+                                                    "Failed to place bid", JOptionPane.ERROR_MESSAGE);
+                                        } else if (!placed) {
+                                            String errorMessage = "The amount you enter must be higher than the current bid price of this item.\nPlease try again.";
+                                            JOptionPane.showMessageDialog(itemsFrame, errorMessage, "Failed to place bid", JOptionPane.ERROR_MESSAGE);
+                                        } else {
+                                            dataControl.collectPlacedBids(currBidder);
+                                            JOptionPane.showMessageDialog(itemsFrame, "You have placed your bid successfully!", "Success", JOptionPane.PLAIN_MESSAGE);
+                                        }
+                                    }));
                                 }
                             } catch (NumberFormatException e) {
                                 JOptionPane.showMessageDialog(itemsFrame, "Input Error! Please enter bid price in numbers and try again!", "Input Error", JOptionPane.ERROR_MESSAGE);
@@ -0,0 +1,544 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/** HTTP/JSON front end over one shared DataControlCenter, serving the same actions as
+ * the Swing screens. Each request runs on its own virtual thread when the JVM has them,
+ * else on a cached thread pool. The caller names themselves with the X-User header,
+ * which must be the username of a bidder, non-profit contact or employee, depending
+ * on the action.
+ * <ul>
+ * <li>GET /auctions?order=end|start|organization&amp;offset=&amp;limit= - one page of auctions</li>
+ * <li>GET /auctions/{id}, GET /auctions/{id}/items, GET /auctions/{id}/items/{name}</li>
+ * <li>POST /auctions/{id}/items/{name}/bids {"amount":n, "proxy":false} - bidder</li>
+ * <li>POST /auctions {"start":"2026-11-20T10:00", "end":..., "items":[...]} - non-profit</li>
+ * <li>GET /np/auctions - the non-profit's submitted auctions</li>
+ * <li>GET /admin/auctions?from=&amp;to=, GET /admin/collisions,
+ * GET|PUT /admin/max-auctions {"max":n}, POST /admin/auctions/{id}/cancel - employee</li>
+ * </ul>
+ * Errors come back as {"error":"..."} with a 4xx or 5xx status; a body over 64KB gets 413.
+ * @version Oct 18, 2026
+ */
+public class AuctionHttpServer {
+    /** System property naming the port main listens on. **/
+    public static final String PORT_PROPERTY = "auctioncentral.http.port";
+    /** Port main listens on by default. **/
+    public static final int DEFAULT_PORT = 8080;
+    /** System property naming the interface main binds; 0.0.0.0 serves every interface. **/
+    public static final String BIND_PROPERTY = "auctioncentral.http.bind";
+    /** Loopback, so the API is only reachable from this machine unless BIND_PROPERTY says otherwise. **/
+    public static final String DEFAULT_BIND = "127.0.0.1";
+    /** Page size when a listing gives no limit. **/
+    private static final int DEFAULT_PAGE = 50;
+    /** Largest request body read, in bytes. **/
+    private static final int MAX_BODY = 64 * 1024;
+    /** Largest page a listing returns. **/
+    private static final int MAX_PAGE = 500;
+    /** Same cap AddItemScreen puts on a submitted auction. **/
+    private static final int MAX_ITEMS_PER_AUCTION = 10;
+    /** Days before an auction that it goes online, as in SubmitAuctionRequest_Screen. **/
+    private static final int MIN_SCHEDULE_OUT_DAYS = 14;
+    private static final String USER_HEADER = "X-User";
+
+    private final DataControlCenter dataControl;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    /** Users seen so far by username. DataControlCenter reads every user from the
+     * store on each lookup, which is fine for one login but not for every request. **/
+    private final Map<String, Bidder> bidders;
+    private final Map<String, NPContact> contacts;
+    private final Set<String> admins;
+
+    static {
+        // The JDK server writes headers and body separately; without TCP_NODELAY every
+        // response on a kept-alive connection waits out the client's delayed ACK (~40ms).
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    /** Raised by a route to answer with an error status. */
+    private static final class ApiException extends RuntimeException {
+        private static final long serialVersionUID = -4411378290735184526L;
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /** Creates a server; call start to accept requests.
+     * @param dataControl the shared data control
+     * @param address address to bind, port 0 for any free port
+     * @throws IOException if the address cannot be bound
+     */
+    public AuctionHttpServer(DataControlCenter dataControl, InetSocketAddress address) throws IOException {
+        this.dataControl = dataControl;
+        this.bidders = new ConcurrentHashMap<>();
+        this.contacts = new ConcurrentHashMap<>();
+        this.admins = ConcurrentHashMap.newKeySet();
+        this.executor = newRequestExecutor();
+        this.server = HttpServer.create(address, 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(this.executor);
+    }
+
+    /** Starts accepting requests. */
+    public void start() {
+        this.server.start();
+    }
+
+    /** Stops accepting requests and waits up to a second for open exchanges. */
+    public void stop() {
+        this.server.stop(1);
+        this.executor.shutdown();
+    }
+
+    /** Gets the port the server is bound to.
+     * @return the port */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /** Starts a server over the configured store; the port comes from the first
+     * argument, else auctioncentral.http.port, else 8080; the address from the second argument,
+     * else auctioncentral.http.bind, else 127.0.0.1.
+     * @param args optional port, then optional address to bind
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    public static void main(String... args) throws IOException, ClassNotFoundException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+        String bind = args.length > 1 ? args[1] : System.getProperty(BIND_PROPERTY, DEFAULT_BIND);
+        DataControlCenter dataControl = new DataControlCenter();
+        AuctionHttpServer server = new AuctionHttpServer(dataControl, new InetSocketAddress(bind, port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            try {
+                dataControl.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }));
+        server.start();
+        System.out.println("Auction Central API listening on " + bind + ":" + server.getPort());
+    }
+
+    /** A virtual thread per task when the JVM offers it, else a cached pool. */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /** Routes one exchange and writes its answer. */
+    private void handle(HttpExchange exchange) throws IOException {
+        int status = 200;
+        Object body;
+        try {
+            body = this.route(exchange, this.segments(exchange));
+        } catch (ApiException e) {
+            status = e.status;
+            body = error(e.getMessage());
+        } catch (BidLimitException e) {
+            status = 409;
+            body = error(BidRules.messageOf(e));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            status = 400;
+            body = error(e.getMessage());
+        } catch (UncheckedIOException | IOException | ClassNotFoundException e) {
+            e.printStackTrace();
+            status = 500;
+            body = error("Storage error");
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            status = 500;
+            body = error("Internal error");
+        }
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private Object route(HttpExchange exchange, List<String> path) throws IOException, ClassNotFoundException {
+        String method = exchange.getRequestMethod();
+        int size = path.size();
+        if (size >= 1 && path.get(0).equals("auctions")) {
+            if (size == 1) {
+                return method.equals("POST") ? this.submitAuction(exchange) : this.get(method, this.listAuctions(exchange));
+            }
+            Auction auction = this.auction(path.get(1));
+            if (size == 2) {
+                return this.get(method, auctionJson(auction));
+            }
+            if (path.get(2).equals("items")) {
+                if (size == 3) {
+                    List<Object> items = new ArrayList<>();
+                    for (Item item : auction.getItems()) {
+                        items.add(itemJson(item));
+                    }
+                    return this.get(method, items);
+                }
+                Item item = this.item(auction, path.get(3));
+                if (size == 4) {
+                    return this.get(method, itemJson(item));
+                }
+                if (size == 5 && path.get(4).equals("bids")) {
+                    this.expect(method, "POST");
+                    return this.placeBid(exchange, auction, item);
+                }
+            }
+        } else if (size == 2 && path.get(0).equals("np") && path.get(1).equals("auctions")) {
+            List<Object> auctions = new ArrayList<>();
+            for (Auction auction : this.dataControl.getSubmittedAuctionsByNPContact(this.contact(exchange))) {
+                auctions.add(auctionJson(auction));
+            }
+            return this.get(method, auctions);
+        } else if (size >= 2 && path.get(0).equals("admin")) {
+            this.admin(exchange);
+            return this.routeAdmin(exchange, method, path);
+        }
+        throw new ApiException(404, "No such resource");
+    }
+
+    private Object routeAdmin(HttpExchange exchange, String method, List<String> path)
+            throws IOException, ClassNotFoundException {
+        String section = path.get(1);
+        if (path.size() == 2 && section.equals("auctions")) {
+            Map<String, String> query = query(exchange);
+            HashSet<Auction> found = this.dataControl.getAuctionsWithBounds(
+                    LocalDateTime.parse(required(query, "from")), LocalDateTime.parse(required(query, "to")));
+            if (found == null) {
+                throw new IllegalArgumentException("to is before from");
+            }
+            List<Object> auctions = new ArrayList<>();
+            for (Auction auction : this.dataControl.sortAuctionSet(found)) {
+                auctions.add(auctionJson(auction));
+            }
+            return this.get(method, auctions);
+        }
+        if (path.size() == 4 && section.equals("auctions") && path.get(3).equals("cancel")) {
+            this.expect(method, "POST");
+            Auction auction = this.auction(path.get(2));
+            if (!this.dataControl.cancelAuction(auction)) {
+                throw new ApiException(409, "Auctions with bids cannot be cancelled");
+            }
+            return auctionJson(auction);
+        }
+        if (path.size() == 2 && section.equals("collisions")) {
+            Map<String, Object> collisions = new LinkedHashMap<>();
+            for (Map.Entry<String, List<Auction>> entry : this.dataControl.getItemNameCollisions().entrySet()) {
+                List<Object> ids = new ArrayList<>();
+                for (Auction auction : entry.getValue()) {
+                    ids.add(auction.getAuctionID());
+                }
+                collisions.put(entry.getKey(), ids);
+            }
+            return this.get(method, collisions);
+        }
+        if (path.size() == 2 && section.equals("max-auctions")) {
+            if (method.equals("PUT")) {
+                int max = (int) number(this.body(exchange), "max");
+                if (!this.dataControl.setMaxAuctionAllowed(max)) {
+                    throw new IllegalArgumentException("max must not be negative");
+                }
+            } else {
+                this.expect(method, "GET");
+            }
+            return Collections.singletonMap("max", this.dataControl.getMaxAuctionAllowed());
+        }
+        throw new ApiException(404, "No such resource");
+    }
+
+    /** GET /auctions: one page of every auction in the requested order. */
+    private List<Object> listAuctions(HttpExchange exchange) {
+        Map<String, String> query = query(exchange);
+        String order = query.getOrDefault("order", "end");
+        Iterable<Auction> ordered;
+        switch (order) {
+            case "end": ordered = this.dataControl.getAuctionsSortedByEnd(); break;
+            case "start": ordered = this.dataControl.getAuctionsSortedByStart(true); break;
+            case "organization": ordered = this.dataControl.getAuctionsSortedByOrganization(); break;
+            default: throw new IllegalArgumentException("Unknown order: " + order);
+        }
+        int offset = Math.max(0, Integer.parseInt(query.getOrDefault("offset", "0")));
+        int limit = Math.max(0, Math.min(MAX_PAGE, Integer.parseInt(query.getOrDefault("limit", "" + DEFAULT_PAGE))));
+        List<Object> toSend = new ArrayList<>();
+        for (Auction auction : this.dataControl.getAuctionPage(ordered, offset, limit)) {
+            toSend.add(auctionJson(auction));
+        }
+        return toSend;
+    }
+
+    /** POST /auctions/{id}/items/{name}/bids: a plain bid, or with "proxy":true a maximum. */
+    private Object placeBid(HttpExchange exchange, Auction auction, Item item) throws IOException, ClassNotFoundException {
+        Bidder bidder = this.bidder(exchange);
+        Map<String, Object> request = this.body(exchange);
+        int amount = (int) number(request, "amount");
+        boolean proxy = Boolean.TRUE.equals(request.get("proxy"));
+        String refused = BidRules.check(auction, item, amount);
+        if (refused != null) {
+            throw new ApiException(409, refused);
+        }
+        Map<String, Object> toSend = new LinkedHashMap<>();
+        if (proxy) {
+            if (!this.dataControl.placeProxyBid(auction, item, bidder.getName(), amount)) {
+                throw new ApiException(409, "Your maximum must be higher than the current bid price of this item"
+                        + " and than any maximum you set before.");
+            }
+            toSend.put("maximum", amount);
+        } else {
+            Bid bid = new Bid(bidder.getName(), item.getName(), amount, auction.getAuctionID(),
+                    auction.getStart(), auction.getEnd());
+            if (!this.await(this.dataControl.submitBid(auction, item, bid))) {
+                throw new ApiException(409, PlacingABidScreen.BID_IS_LESS_THAN_MINIMUM);
+            }
+            toSend.put("amount", amount);
+        }
+        toSend.put("item", itemJson(item));
+        return toSend;
+    }
+
+    /** POST /auctions: schedules a non-profit's auction on the same checks as SubmitAuctionRequest_Screen. */
+    private Object submitAuction(HttpExchange exchange) throws IOException, ClassNotFoundException {
+        NPContact contact = this.contact(exchange);
+        Map<String, Object> request = this.body(exchange);
+        LocalDateTime start = LocalDateTime.parse(string(request, "start"));
+        LocalDateTime end = LocalDateTime.parse(string(request, "end"));
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("end must be after start");
+        }
+        Object items = request.getOrDefault("items", Collections.emptyList());
+        if (!(items instanceof List) || ((List<?>) items).size() > MAX_ITEMS_PER_AUCTION) {
+            throw new IllegalArgumentException("items must be a list of at most " + MAX_ITEMS_PER_AUCTION);
+        }
+        Auction auction = new Auction();
+        auction.setOrganization(contact.getName());
+        auction.setStart(start);
+        auction.setEnd(end);
+        auction.setOnlineStart(LocalDateTime.now().plusDays(MIN_SCHEDULE_OUT_DAYS));
+        for (Object element : (List<?>) items) {
+            if (!(element instanceof Map)) {
+                throw new IllegalArgumentException("items must be objects");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> item = (Map<String, Object>) element;
+            Object description = item.getOrDefault("description", "");
+            auction.addItem(new Item(string(item, "name"), (int) number(item, "quantity"),
+                    (int) number(item, "startingBid"), String.valueOf(description), ""));
+        }
+        String refused = this.dataControl.scheduleAuction(auction);
+        if (refused != null) {
+            throw new ApiException(409, refused);
+        }
+        return auctionJson(auction);
+    }
+
+    /** Waits for a submitted bid on this request's thread. */
+    private boolean await(CompletableFuture<Boolean> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(503, "Interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Auction auction(String id) throws IOException, ClassNotFoundException {
+        Auction toSend;
+        try {
+            toSend = this.dataControl.getAuctionById(Integer.parseInt(id));
+        } catch (NumberFormatException e) {
+            toSend = null;
+        }
+        if (toSend == null) {
+            throw new ApiException(404, "No auction " + id);
+        }
+        return toSend;
+    }
+
+    private Item item(Auction auction, String name) {
+        Item toSend = this.dataControl.getItemInAuction(auction.getAuctionID(), name);
+        if (toSend == null) {
+            throw new ApiException(404, "No item " + name + " in auction " + auction.getAuctionID());
+        }
+        return toSend;
+    }
+
+    private Bidder bidder(HttpExchange exchange) throws IOException, ClassNotFoundException {
+        String username = username(exchange);
+        Bidder toSend = this.bidders.get(username);
+        if (toSend == null) {
+            toSend = this.dataControl.getBidderByUsername(username);
+            if (toSend == null) {
+                throw new ApiException(403, username + " is not a bidder");
+            }
+            Bidder first = this.bidders.putIfAbsent(username, toSend);
+            toSend = first == null ? toSend : first;
+        }
+        return toSend;
+    }
+
+    private NPContact contact(HttpExchange exchange) throws IOException, ClassNotFoundException {
+        String username = username(exchange);
+        NPContact toSend = this.contacts.get(username);
+        if (toSend == null) {
+            toSend = this.dataControl.getNPContactByUsername(username);
+            if (toSend == null) {
+                throw new ApiException(403, username + " is not a non-profit contact");
+            }
+            NPContact first = this.contacts.putIfAbsent(username, toSend);
+            toSend = first == null ? toSend : first;
+        }
+        return toSend;
+    }
+
+    private void admin(HttpExchange exchange) throws IOException, ClassNotFoundException {
+        String username = username(exchange);
+        if (!this.admins.contains(username)) {
+            if (!this.dataControl.isAdminValid(username)) {
+                throw new ApiException(403, username + " is not an employee");
+            }
+            this.admins.add(username);
+        }
+    }
+
+    private static String username(HttpExchange exchange) {
+        String toSend = exchange.getRequestHeaders().getFirst(USER_HEADER);
+        if (toSend == null || toSend.isEmpty()) {
+            throw new ApiException(403, "Missing " + USER_HEADER + " header");
+        }
+        return toSend;
+    }
+
+    /** Answers a read-only route, refusing any method but GET. */
+    private Object get(String method, Object body) {
+        this.expect(method, "GET");
+        return body;
+    }
+
+    private void expect(String method, String allowed) {
+        if (!method.equals(allowed)) {
+            throw new ApiException(405, method + " not allowed here");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> body(HttpExchange exchange) throws IOException {
+        String text;
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY + 1);
+            if (bytes.length > MAX_BODY) {
+                throw new ApiException(413, "Body is larger than " + MAX_BODY + " bytes");
+            }
+            text = new String(bytes, StandardCharsets.UTF_8);
+        }
+        Object toSend = Json.parse(text);
+        if (!(toSend instanceof Map)) {
+            throw new IllegalArgumentException("Body must be a JSON object");
+        }
+        return (Map<String, Object>) toSend;
+    }
+
+    /** Decodes the path segments; a plus stays a plus, as in item names like "C++ book". */
+    private List<String> segments(HttpExchange exchange) {
+        List<String> toSend = new ArrayList<>();
+        for (String segment : exchange.getRequestURI().getRawPath().split("/")) {
+            if (!segment.isEmpty()) {
+                toSend.add(URLDecoder.decode(segment.replace("+", "%2B"), StandardCharsets.UTF_8));
+            }
+        }
+        return toSend;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> toSend = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return toSend;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            toSend.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return toSend;
+    }
+
+    private static String required(Map<String, String> query, String key) {
+        String toSend = query.get(key);
+        if (toSend == null) {
+            throw new IllegalArgumentException("Missing query parameter " + key);
+        }
+        return toSend;
+    }
+
+    private static long number(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        if (!(value instanceof Long) || (Long) value < Integer.MIN_VALUE || (Long) value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(key + " must be a whole number");
+        }
+        return (Long) value;
+    }
+
+    private static String string(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException(key + " must be a string");
+        }
+        return (String) value;
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Collections.singletonMap("error", message);
+    }
+
+    private static Map<String, Object> auctionJson(Auction auction) {
+        Map<String, Object> toSend = new LinkedHashMap<>();
+        toSend.put("id", auction.getAuctionID());
+        toSend.put("organization", auction.getOrganization());
+        toSend.put("start", auction.getStart());
+        toSend.put("end", auction.getEnd());
+        toSend.put("cancelled", auction.isCanceled());
+        toSend.put("items", auction.getItemCount());
+        return toSend;
+    }
+
+    private static Map<String, Object> itemJson(Item item) {
+        Map<String, Object> toSend = new LinkedHashMap<>();
+        toSend.put("name", item.getName());
+        toSend.put("quantity", item.getQuantity());
+        toSend.put("description", item.getDescription());
+        toSend.put("startingBid", item.getStartingBid());
+        toSend.put("currentBid", item.getCurrentBid());
+        toSend.put("bids", item.getBidCount());
+        return toSend;
+    }
+}
@@ -0,0 +1,201 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** Drives an AuctionHttpServer with many concurrent bidders and reports throughput and
+ * latency. Each simulated bidder loops over a mix of requests: mostly browsing pages,
+ * auctions and items, and one in five a bid a little above an item's current price.
+ * <p>
+ * Usage: HttpLoadGenerator [clients [seconds [url bidder,bidder,...]]]
+ * <br>Without a url it starts a server in this JVM over the store picked by
+ * AuctionStores (add -Dauctioncentral.store=memory to leave the files alone) and bids
+ * as that store's bidders.
+ * @version Oct 18, 2026
+ */
+public class HttpLoadGenerator {
+    /** Share of requests that are bids, in percent. **/
+    private static final int BID_PERCENT = 20;
+    /** Latency histogram buckets, one per power of two microseconds. **/
+    private static final int BUCKETS = 40;
+
+    private final HttpClient client;
+    private final String base;
+    private final List<String> bidders;
+    /** Item paths, "/auctions/{id}/items/{name}", found at startup. **/
+    private final List<String> items;
+    private final AtomicLongArray latencies;
+    /** Responses by status class: 2xx, 4xx and the rest. **/
+    private final AtomicLongArray statuses;
+
+    private HttpLoadGenerator(String base, List<String> bidders) {
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.base = base;
+        this.bidders = bidders;
+        this.items = new ArrayList<>();
+        this.latencies = new AtomicLongArray(BUCKETS);
+        this.statuses = new AtomicLongArray(3);
+    }
+
+    /** Runs the load and prints the report.
+     * @param args clients, seconds, and optionally a server url and its bidders' usernames
+     * @throws Exception if the server cannot be started or reached */
+    public static void main(String... args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        AuctionHttpServer server = null;
+        String base;
+        List<String> bidders = new ArrayList<>();
+        if (args.length > 2) {
+            base = args[2];
+            if (args.length > 3) {
+                bidders.addAll(Arrays.asList(args[3].split(",")));
+            }
+        } else {
+            AuctionStore store = AuctionStores.open();
+            for (Bidder bidder : store.loadBidders()) {
+                bidders.add(bidder.getUsername());
+            }
+            server = new AuctionHttpServer(new DataControlCenter(store), new InetSocketAddress("127.0.0.1", 0));
+            server.start();
+            base = "http://127.0.0.1:" + server.getPort();
+        }
+        try {
+            new HttpLoadGenerator(base, bidders).run(clients, seconds);
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+
+    /** Finds the items to hit, runs the clients for the given time and prints a report. */
+    private void run(int clients, int seconds) throws IOException, InterruptedException {
+        for (Object auction : (List<?>) Json.parse(this.send(this.get("/auctions?limit=500")).body())) {
+            String path = "/auctions/" + ((Map<?, ?>) auction).get("id") + "/items";
+            for (Object item : (List<?>) Json.parse(this.send(this.get(path)).body())) {
+                String name = (String) ((Map<?, ?>) item).get("name");
+                this.items.add(path + "/" + URLEncoder.encode(name, StandardCharsets.UTF_8).replace("+", "%20"));
+            }
+        }
+        if (this.items.isEmpty()) {
+            System.out.println("No items to bid on at " + this.base);
+            return;
+        }
+        System.out.println(clients + " clients for " + seconds + "s against " + this.base + ", "
+                + this.items.size() + " items, " + this.bidders.size() + " bidders");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService pool = newClientExecutor(clients);
+        long started = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            pool.execute(() -> this.client(deadline));
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        this.report((System.nanoTime() - started) / 1e9);
+    }
+
+    /** One simulated bidder, sending requests back to back until the deadline. */
+    private void client(long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String bidder = this.bidders.isEmpty() ? "" : this.bidders.get(random.nextInt(this.bidders.size()));
+        while (System.nanoTime() < deadline) {
+            String item = this.items.get(random.nextInt(this.items.size()));
+            HttpRequest request;
+            int roll = random.nextInt(100);
+            if (roll < BID_PERCENT && !bidder.isEmpty()) {
+                request = this.bid(item, bidder, random);
+            } else if (roll < 60) {
+                request = this.get(item);
+            } else if (roll < 80) {
+                request = this.get(item.substring(0, item.indexOf("/items")));
+            } else {
+                request = this.get("/auctions?order=start&limit=20&offset=" + random.nextInt(50));
+            }
+            if (request == null) {
+                continue;
+            }
+            long sent = System.nanoTime();
+            int status;
+            try {
+                status = this.send(request).statusCode();
+            } catch (IOException e) {
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long micros = Math.max(1, (System.nanoTime() - sent) / 1000);
+            this.latencies.incrementAndGet(Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(micros)));
+            this.statuses.incrementAndGet(status / 100 == 2 ? 0 : status / 100 == 4 ? 1 : 2);
+        }
+    }
+
+    /** Reads the item's price and builds a bid a little above it, or null if the read failed. */
+    private HttpRequest bid(String item, String bidder, ThreadLocalRandom random) {
+        long price;
+        try {
+            Object current = ((Map<?, ?>) Json.parse(this.send(this.get(item)).body())).get("currentBid");
+            price = current instanceof Long ? (Long) current : 0;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        String body = Json.write(Collections.singletonMap("amount", price + 1 + random.nextInt(5)));
+        return HttpRequest.newBuilder(URI.create(this.base + item + "/bids")).header("X-User", bidder)
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(this.base + path)).GET().build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return this.client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void report(double elapsed) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += this.latencies.get(i);
+        }
+        System.out.printf("%d requests in %.1fs: %.0f req/s; 2xx %d, 4xx %d, other %d%n", total, elapsed,
+                total / elapsed, this.statuses.get(0), this.statuses.get(1), this.statuses.get(2));
+        System.out.printf("latency p50 < %s, p99 < %s, p99.9 < %s%n", this.percentile(total, 0.50),
+                this.percentile(total, 0.99), this.percentile(total, 0.999));
+    }
+
+    /** Upper bound of the bucket holding the given fraction of requests. */
+    private String percentile(long total, double fraction) {
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.latencies.get(i);
+            if (seen >= Math.ceil(total * fraction)) {
+                long micros = 2L << i;
+                return micros < 1000 ? micros + "us" : micros / 1000 + "ms";
+            }
+        }
+        return "?";
+    }
+
+    /** A virtual thread per client when the JVM offers it, else a thread per client. */
+    private static ExecutorService newClientExecutor(int clients) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(clients);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+import java.util.*;
+
+/** Just enough JSON for the HTTP API: writes maps, collections, strings, numbers,
+ * booleans and null, and parses request bodies into the same types, with every number
+ * read as a Long.
+ * @version Oct 18, 2026
+ */
+public final class Json {
+    /** Deepest nesting of objects and arrays parse accepts. **/
+    public static final int MAX_DEPTH = 32;
+
+    /** Private constructor to prevent instantiation. **/
+    private Json() { }
+
+    /** Writes a value as JSON.
+     * @param value a Map with String keys, a Collection, String, Number, Boolean or null
+     * @return the JSON text */
+    public static String write(Object value) {
+        StringBuilder out = new StringBuilder();
+        write(value, out);
+        return out.toString();
+    }
+
+    /** Parses JSON text.
+     * @param text the text
+     * @return a LinkedHashMap, ArrayList, String, Long, Boolean or null
+     * @throws IllegalArgumentException if the text is not valid JSON, or nests deeper than MAX_DEPTH */
+    public static Object parse(String text) {
+        Parser parser = new Parser(text);
+        Object toSend = parser.value();
+        parser.skipSpace();
+        if (parser.pos != text.length()) {
+            throw parser.error("Trailing characters");
+        }
+        return toSend;
+    }
+
+    private static void write(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String) {
+            quote((String) value, out);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                quote(String.valueOf(entry.getKey()), out);
+                out.append(':');
+                write(entry.getValue(), out);
+            }
+            out.append('}');
+        } else if (value instanceof Collection) {
+            out.append('[');
+            boolean first = true;
+            for (Object element : (Collection<?>) value) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                write(element, out);
+            }
+            out.append(']');
+        } else {
+            quote(value.toString(), out);
+        }
+    }
+
+    private static void quote(String s, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    /** Recursive descent over the text, refusing to nest past MAX_DEPTH so a hostile
+     * body cannot run the stack out. */
+    private static final class Parser {
+        private final String text;
+        private int pos;
+        private int depth;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Object value() {
+            this.skipSpace();
+            if (this.pos >= this.text.length()) {
+                throw this.error("Unexpected end");
+            }
+            char c = this.text.charAt(this.pos);
+            switch (c) {
+                case '{': return this.nested(true);
+                case '[': return this.nested(false);
+                case '"': return this.string();
+                case 't': return this.literal("true", Boolean.TRUE);
+                case 'f': return this.literal("false", Boolean.FALSE);
+                case 'n': return this.literal("null", null);
+                default: return this.number();
+            }
+        }
+
+        private Object nested(boolean object) {
+            if (++this.depth > MAX_DEPTH) {
+                throw this.error("Nested deeper than " + MAX_DEPTH);
+            }
+            Object toSend = object ? this.object() : this.array();
+            this.depth--;
+            return toSend;
+        }
+
+        private Map<String, Object> object() {
+            LinkedHashMap<String, Object> toSend = new LinkedHashMap<>();
+            this.pos++;
+            this.skipSpace();
+            if (this.peek() == '}') {
+                this.pos++;
+                return toSend;
+            }
+            while (true) {
+                this.skipSpace();
+                if (this.peek() != '"') {
+                    throw this.error("Expected a key");
+                }
+                String key = this.string();
+                this.skipSpace();
+                this.expect(':');
+                toSend.put(key, this.value());
+                this.skipSpace();
+                if (this.peek() == ',') {
+                    this.pos++;
+                } else {
+                    this.expect('}');
+                    return toSend;
+                }
+            }
+        }
+
+        private List<Object> array() {
+            ArrayList<Object> toSend = new ArrayList<>();
+            this.pos++;
+            this.skipSpace();
+            if (this.peek() == ']') {
+                this.pos++;
+                return toSend;
+            }
+            while (true) {
+                toSend.add(this.value());
+                this.skipSpace();
+                if (this.peek() == ',') {
+                    this.pos++;
+                } else {
+                    this.expect(']');
+                    return toSend;
+                }
+            }
+        }
+
+        private String string() {
+            StringBuilder toSend = new StringBuilder();
+            this.pos++;
+            while (true) {
+                if (this.pos >= this.text.length()) {
+                    throw this.error("Unterminated string");
+                }
+                char c = this.text.charAt(this.pos++);
+                if (c == '"') {
+                    return toSend.toString();
+                }
+                if (c != '\\') {
+                    toSend.append(c);
+                    continue;
+                }
+                char escape = this.pos < this.text.length() ? this.text.charAt(this.pos++) : '?';
+                switch (escape) {
+                    case '"': case '\\': case '/': toSend.append(escape); break;
+                    case 'b': toSend.append('\b'); break;
+                    case 'f': toSend.append('\f'); break;
+                    case 'n': toSend.append('\n'); break;
+                    case 'r': toSend.append('\r'); break;
+                    case 't': toSend.append('\t'); break;
+                    case 'u':
+                        if (this.pos + 4 > this.text.length()) {
+                            throw this.error("Bad unicode escape");
+                        }
+                        try {
+                            toSend.append((char) Integer.parseInt(this.text.substring(this.pos, this.pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw this.error("Bad unicode escape");
+                        }
+                        this.pos += 4;
+                        break;
+                    default:
+                        throw this.error("Bad escape");
+                }
+            }
+        }
+
+        private Long number() {
+            int start = this.pos;
+            if (this.peek() == '-') {
+                this.pos++;
+            }
+            while (this.pos < this.text.length() && Character.isDigit(this.text.charAt(this.pos))) {
+                this.pos++;
+            }
+            try {
+                return Long.parseLong(this.text.substring(start, this.pos));
+            } catch (NumberFormatException e) {
+                throw this.error("Expected a whole number");
+            }
+        }
+
+        private Object literal(String word, Object value) {
+            if (!this.text.startsWith(word, this.pos)) {
+                throw this.error("Unexpected token");
+            }
+            this.pos += word.length();
+            return value;
+        }
+
+        private char peek() {
+            return this.pos < this.text.length() ? this.text.charAt(this.pos) : '\0';
+        }
+
+        private void expect(char c) {
+            if (this.peek() != c) {
+                throw this.error("Expected '" + c + "'");
+            }
+            this.pos++;
+        }
+
+        void skipSpace() {
+            while (this.pos < this.text.length() && Character.isWhitespace(this.text.charAt(this.pos))) {
+                this.pos++;
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + this.pos);
+        }
+    }
+}
@@ -2,6 +2,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.Observable;
 
 public class NPContact_MainScreen extends Observable {
@@ -86,10 +87,27 @@ public class NPContact_MainScreen extends Observable {
         });
 
         logout.addActionListener((ActionEvent e) -> {
+            logout.setEnabled(false);
+            CompletableFuture<Void> saved;
             try {
-                this.dataControl.logOutNP();
-            } catch (IOException | ClassNotFoundException e1) { e1.printStackTrace(); }
-            System.exit(0);
+                saved = this.dataControl.logOutNP();
+            } catch (IOException | ClassNotFoundException e1) {
+                e1.printStackTrace();
+                saved = CompletableFuture.completedFuture(null);
+            }
+            // The checkpoint runs on its own thread; once it is done, close and exit off both
+            // that thread, which close waits for, and the UI thread.
+            saved.whenCompleteAsync((done, failure) -> {
+                if (failure != null) {
+                    failure.printStackTrace();
+                }
+                try {
+                    this.dataControl.close();
+                } catch (IOException e1) {
+                    e1.printStackTrace();
+                }
+                System.exit(0);
+            });
         });
     }
 
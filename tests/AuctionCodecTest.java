@@ -0,0 +1,219 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AuctionCodecTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 11, 20, 10, 0);
+
+    private Auction auction;
+
+    @Before
+    public void setUp() {
+        this.auction = new Auction("Codec Org", START, START.plusHours(4), 7);
+        this.auction.setOnlineStart(START.minusDays(14));
+        Item pen = new Item("Pen", 2, 5, "A blue pen", "pen.png");
+        pen.addBid(new Bid("Amy", "Pen", 6, 7, START, START.plusHours(4)));
+        pen.addBid(new Bid("Bo", "Pen", 9, 7, START, START.plusHours(4)));
+        this.auction.addItem(pen);
+        Item lamp = new Item("Lamp", 1, 20, null, null);
+        // Kept whole: its auction id and times differ from the enclosing auction's.
+        lamp.addBid(new Bid("Amy", "Lamp", 25, 8, START.plusDays(1), START.plusDays(1).plusHours(2)));
+        this.auction.addItem(lamp);
+        this.auction.setIsCanceled(true);
+    }
+
+    @Test
+    public void readAuctions_WrittenByWriteAuctions_SameAuctionItemsAndBids() throws IOException, ClassNotFoundException {
+        Auction read = only(AuctionCodec.readAuctions(new ByteArrayInputStream(
+                AuctionCodec.auctionsToBytes(Arrays.asList(this.auction)))));
+        assertSameAuction(this.auction, read);
+    }
+
+    @Test
+    public void readAuctions_Version2File_ItemsDecodedOnFirstUse() throws IOException, ClassNotFoundException {
+        Auction read = only(AuctionCodec.readAuctions(new ByteArrayInputStream(
+                AuctionCodec.auctionsToBytes(Arrays.asList(this.auction)))));
+        assertNotNull(read.getItemLoader());
+        assertEquals(2, read.getItems().size());
+        assertNull(read.getItemLoader());
+    }
+
+    @Test
+    public void readAuctions_Version3File_ItemCountAndBiddersWithoutDecoding() throws IOException, ClassNotFoundException {
+        Auction read = only(AuctionCodec.readAuctions(new ByteArrayInputStream(
+                AuctionCodec.auctionsToBytes(Arrays.asList(this.auction)))));
+        assertEquals(2, read.getItemCount());
+        int[] bidders = read.getItemLoader().getBidderIds();
+        assertEquals(2, bidders.length);
+        assertEquals(NameDictionary.BIDDERS.idOf("Amy"), bidders[0]);
+        assertEquals(NameDictionary.BIDDERS.idOf("Bo"), bidders[1]);
+        assertNotNull(read.getItemLoader());
+    }
+
+    @Test
+    public void capturedToBytes_UnloadedAuction_EncodedWithoutLoadingIt() throws IOException, ClassNotFoundException {
+        Auction read = only(AuctionCodec.readAuctions(new ByteArrayInputStream(
+                AuctionCodec.auctionsToBytes(Arrays.asList(this.auction)))));
+        byte[] encoded = AuctionCodec.capturedToBytes(AuctionCodec.capture(Arrays.asList(read)));
+        assertNotNull(read.getItemLoader());
+        assertSameAuction(this.auction, only(AuctionCodec.readAuctions(new ByteArrayInputStream(encoded))));
+    }
+
+    @Test
+    public void capturedToBytes_ItemAddedAfterCapture_EncodesTheCapturedItems() throws IOException, ClassNotFoundException {
+        List<AuctionCodec.Captured> captured = AuctionCodec.capture(Arrays.asList(this.auction));
+        this.auction.addItem(new Item("Late", 1, 1, "", ""));
+        Auction read = only(AuctionCodec.readAuctions(new ByteArrayInputStream(AuctionCodec.capturedToBytes(captured))));
+        assertEquals(2, read.getItemCount());
+    }
+
+    @Test
+    public void readAuctions_LegacySerializedSet_ReadWithObjectInputStream() throws IOException, ClassNotFoundException {
+        HashSet<Auction> auctions = new HashSet<>();
+        auctions.add(this.auction);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(auctions);
+        }
+        Auction read = only(AuctionCodec.readAuctions(new ByteArrayInputStream(bytes.toByteArray())));
+        assertNull(read.getItemLoader());
+        assertSameAuction(this.auction, read);
+    }
+
+    @Test
+    public void readAuctions_Version1File_ItemsReadInline() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x41434442);
+        out.writeByte(1);
+        out.writeByte(1);
+        out.writeByte(2);                   // one auction
+        out.writeByte(14);                  // id 7
+        writeNewString(out, "V1 Org");
+        out.write(new byte[] {0, 0, 0, 0}); // no start, end, online start or creation date
+        out.writeByte(0);                   // not cancelled
+        out.writeByte(2);                   // one item
+        writeNewString(out, "Pen");
+        out.writeByte(2);                   // quantity 1
+        out.writeByte(10);                  // starting bid 5
+        out.writeByte(0);                   // no description
+        out.writeByte(0);                   // no image
+        out.writeByte(2);                   // one bid
+        out.writeByte(0);                   // item, auction and times from the enclosing records
+        writeNewString(out, "Amy");
+        out.writeByte(18);                  // amount 9
+        out.flush();
+        Auction read = only(AuctionCodec.readAuctions(new ByteArrayInputStream(bytes.toByteArray())));
+        assertNull(read.getItemLoader());
+        assertEquals(7, read.getAuctionID());
+        assertEquals("V1 Org", read.getOrganization());
+        Item pen = read.getItems().get(0);
+        assertEquals("Pen", pen.getName());
+        assertEquals(9, pen.getCurrentBid());
+        Bid bid = pen.getBids().get(0);
+        assertEquals("Amy", bid.getBidder());
+        assertEquals("Pen", bid.getItem());
+        assertEquals(7, bid.getAuctionID());
+    }
+
+    @Test
+    public void readAuctions_NotAnAuctionsFile_Refused() throws IOException, ClassNotFoundException {
+        Bidder bidder = new Bidder("Amy", "amy@example.com", "amy", "1 Elm Street", "5550100", 300);
+        byte[] bytes = AuctionCodec.biddersToBytes(Arrays.asList(bidder));
+        boolean refused = false;
+        try {
+            AuctionCodec.readAuctions(new ByteArrayInputStream(bytes));
+        } catch (InvalidObjectException e) {
+            refused = true;
+        }
+        assertTrue(refused);
+    }
+
+    @Test
+    public void readAuctions_NewerVersion_Refused() throws IOException, ClassNotFoundException {
+        byte[] bytes = AuctionCodec.auctionsToBytes(Arrays.asList(this.auction));
+        bytes[4] = 4;
+        boolean refused = false;
+        try {
+            AuctionCodec.readAuctions(new ByteArrayInputStream(bytes));
+        } catch (InvalidObjectException e) {
+            refused = true;
+        }
+        assertTrue(refused);
+    }
+
+    @Test
+    public void readBidders_WrittenByWriteBidders_SameDetailsAndBids() throws IOException, ClassNotFoundException {
+        Bidder bidder = new Bidder("Amy", "amy@example.com", "amy", "1 Elm Street", "5550100", 300);
+        bidder.addBid(new Bid("Amy", "Pen", 6, 7, START, START.plusHours(4)));
+        Bidder read = AuctionCodec.readBidders(new ByteArrayInputStream(
+                AuctionCodec.biddersToBytes(Arrays.asList(bidder)))).iterator().next();
+        assertEquals("Amy", read.getName());
+        assertEquals("amy", read.getUsername());
+        assertEquals(300, read.getBalance());
+        assertEquals(bidder.getBids().get(0), read.getBids().get(0));
+        assertEquals(START, read.getBids().get(0).getStart());
+    }
+
+    private static Auction only(HashSet<Auction> auctions) {
+        assertEquals(1, auctions.size());
+        return auctions.iterator().next();
+    }
+
+    /** Writes a string the first time it is used in a version 1 file: 1, then its UTF-8 length and bytes. */
+    private static void writeNewString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(1);
+        out.writeByte(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void assertSameAuction(Auction expected, Auction actual) {
+        assertEquals(expected.getAuctionID(), actual.getAuctionID());
+        assertEquals(expected.getOrganization(), actual.getOrganization());
+        assertEquals(expected.getStart(), actual.getStart());
+        assertEquals(expected.getEnd(), actual.getEnd());
+        assertEquals(expected.getOnlineStart(), actual.getOnlineStart());
+        assertEquals(expected.isCanceled(), actual.isCanceled());
+        ArrayList<Item> items = actual.getItems();
+        assertEquals(expected.getItems().size(), items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Item want = expected.getItems().get(i);
+            Item got = items.get(i);
+            assertEquals(want.getName(), got.getName());
+            assertEquals(want.getQuantity(), got.getQuantity());
+            assertEquals(want.getStartingBid(), got.getStartingBid());
+            assertEquals(want.getDescription(), got.getDescription());
+            assertEquals(want.getImagePath(), got.getImagePath());
+            assertEquals(want.getCurrentBid(), got.getCurrentBid());
+            assertEquals(want.getBids().size(), got.getBids().size());
+            for (int j = 0; j < got.getBids().size(); j++) {
+                Bid wantBid = want.getBids().get(j);
+                Bid gotBid = got.getBids().get(j);
+                assertEquals(wantBid, gotBid);
+                assertEquals(wantBid.getStart(), gotBid.getStart());
+                assertEquals(wantBid.getEnd(), gotBid.getEnd());
+            }
+        }
+        assertFalse(items.isEmpty());
+    }
+}
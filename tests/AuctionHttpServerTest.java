@@ -0,0 +1,136 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AuctionHttpServerTest {
+
+    private DataControlCenter dataControl;
+    private Auction auction;
+
+    @Before
+    public void setUp() throws IOException, ClassNotFoundException {
+        InMemoryAuctionStore store = new InMemoryAuctionStore(25);
+        store.saveBidder(new Bidder("Amy Smith", "amy@example.com", "amy", "1 Elm Street", "5550100", 300));
+        this.dataControl = new DataControlCenter(store);
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        this.auction = new Auction("Http Org", start, start.plusHours(2), this.dataControl.getNextAvailableAuctionId());
+        this.auction.addItem(new Item("C++ book", 1, 5, "", ""));
+        this.dataControl.addAuction(this.auction);
+    }
+
+    @Test
+    public void getAuction_KnownAndUnknownIds_AuctionOr404() throws IOException {
+        AuctionHttpServer server = start(this.dataControl);
+        try {
+            Response found = request(server, "GET", "/auctions/" + this.auction.getAuctionID(), null, null);
+            assertEquals(200, found.status);
+            Map<String, Object> json = found.json();
+            assertEquals((long) this.auction.getAuctionID(), json.get("id"));
+            assertEquals(1L, json.get("items"));
+            assertEquals(404, request(server, "GET", "/auctions/99999", null, null).status);
+            assertEquals(404, request(server, "GET", "/nowhere", null, null).status);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void postBid_BidderBeatsThePriceThenBidsLower_PlacedThenRefused() throws IOException {
+        AuctionHttpServer server = start(this.dataControl);
+        String path = "/auctions/" + this.auction.getAuctionID() + "/items/C++%20book/bids";
+        try {
+            Response placed = request(server, "POST", path, "amy", "{\"amount\":12}");
+            assertEquals(200, placed.status);
+            assertEquals(12, this.auction.getItems().get(0).getCurrentBid());
+            Response lower = request(server, "POST", path, "amy", "{\"amount\":10}");
+            assertEquals(409, lower.status);
+            assertTrue(lower.json().containsKey("error"));
+            assertEquals(1, this.auction.getItems().get(0).getBidCount());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void postBid_NoUserOrNotABidder_Forbidden() throws IOException {
+        AuctionHttpServer server = start(this.dataControl);
+        String path = "/auctions/" + this.auction.getAuctionID() + "/items/C++%20book/bids";
+        try {
+            assertEquals(403, request(server, "POST", path, null, "{\"amount\":12}").status);
+            assertEquals(403, request(server, "POST", path, "nobody", "{\"amount\":12}").status);
+            assertEquals(0, this.auction.getItems().get(0).getBidCount());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void request_WrongMethodOrBadBody_405Or400() throws IOException {
+        AuctionHttpServer server = start(this.dataControl);
+        String path = "/auctions/" + this.auction.getAuctionID() + "/items/C++%20book/bids";
+        try {
+            assertEquals(405, request(server, "DELETE", "/auctions/" + this.auction.getAuctionID(), null, null).status);
+            assertEquals(405, request(server, "GET", path, "amy", null).status);
+            assertEquals(400, request(server, "POST", path, "amy", "{\"amount\":\"twelve\"}").status);
+        } finally {
+            server.stop();
+        }
+    }
+
+    /** An answer's status and body. */
+    private static final class Response {
+        private final int status;
+        private final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> json() {
+            return (Map<String, Object>) Json.parse(this.body);
+        }
+    }
+
+    private static AuctionHttpServer start(DataControlCenter dataControl) throws IOException {
+        AuctionHttpServer server = new AuctionHttpServer(dataControl, new InetSocketAddress("127.0.0.1", 0));
+        server.start();
+        return server;
+    }
+
+    private static Response request(AuctionHttpServer server, String method, String path, String user, String body)
+            throws IOException {
+        HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+        connection.setRequestMethod(method);
+        if (user != null) {
+            connection.setRequestProperty("X-User", user);
+        }
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        try (InputStream answer = in) {
+            return new Response(status, new String(answer.readAllBytes(), StandardCharsets.UTF_8));
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AuctionLocksTest {
+
+    @Test
+    public void size_StripeCounts_RoundedUpToAPowerOfTwo() {
+        assertEquals(1, new AuctionLocks(0).size());
+        assertEquals(1, new AuctionLocks(1).size());
+        assertEquals(8, new AuctionLocks(5).size());
+        assertEquals(8, new AuctionLocks(8).size());
+    }
+
+    @Test
+    public void lockEach_RepeatedIds_EachStripeTakenOnceAndReleased() throws InterruptedException {
+        AuctionLocks locks = new AuctionLocks(4);
+        locks.lockEach(3, 3, 7, 3);
+        locks.unlockEach(3, 3, 7, 3);
+        Thread other = new Thread(() -> {
+            locks.lock(3);
+            locks.unlock(3);
+            locks.lock(7);
+            locks.unlock(7);
+        });
+        other.start();
+        other.join(5000);
+        assertFalse(other.isAlive());
+    }
+
+    @Test
+    public void lockAll_Held_OtherWritersWaitUntilReleased() throws InterruptedException {
+        AuctionLocks locks = new AuctionLocks(4);
+        AtomicInteger written = new AtomicInteger();
+        locks.lockAll();
+        Thread writer = new Thread(() -> {
+            locks.lock(42);
+            written.incrementAndGet();
+            locks.unlock(42);
+        });
+        writer.start();
+        writer.join(200);
+        assertTrue(writer.isAlive());
+        assertEquals(0, written.get());
+        locks.unlockAll();
+        writer.join(5000);
+        assertEquals(1, written.get());
+    }
+
+    @Test
+    public void lockEach_ThreadsNamingAuctionsInOppositeOrders_NoDeadlock() throws InterruptedException {
+        AuctionLocks locks = new AuctionLocks(16);
+        AtomicInteger done = new AtomicInteger();
+        Thread forward = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                locks.lockEach(1, 2, 3, 4);
+                locks.unlockEach(1, 2, 3, 4);
+            }
+            done.incrementAndGet();
+        });
+        Thread backward = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                locks.lockEach(4, 3, 2, 1);
+                locks.unlockEach(4, 3, 2, 1);
+            }
+            done.incrementAndGet();
+        });
+        // Daemons, so a deadlock fails the test instead of hanging the run.
+        forward.setDaemon(true);
+        backward.setDaemon(true);
+        forward.start();
+        backward.start();
+        forward.join(30000);
+        backward.join(30000);
+        assertEquals(2, done.get());
+    }
+}
@@ -0,0 +1,79 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AuctionTimeIndexTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 11, 20, 12, 0);
+
+    private AuctionTimeIndex index;
+    private Auction morning;
+    private Auction afternoon;
+    private Auction week;
+
+    @Before
+    public void setUp() {
+        this.index = new AuctionTimeIndex();
+        this.morning = auction(1, NOON.minusHours(4), NOON.minusHours(2));
+        this.afternoon = auction(2, NOON.plusHours(2), NOON.plusHours(4));
+        this.week = auction(3, NOON.minusDays(6), NOON.plusDays(1));
+        this.index.add(this.morning);
+        this.index.add(this.afternoon);
+        this.index.add(this.week);
+    }
+
+    @Test
+    public void within_BoundsOnStartAndEnd_Inclusive() {
+        List<Auction> found = this.index.within(NOON.minusHours(4), NOON.plusHours(4));
+        assertEquals(2, found.size());
+        assertSame(this.morning, found.get(0));
+        assertSame(this.afternoon, found.get(1));
+        assertEquals(1, this.index.within(NOON.minusHours(4), NOON.plusHours(3)).size());
+    }
+
+    @Test
+    public void runningAt_LongAuctionStartedDaysBefore_Found() {
+        List<Auction> running = this.index.runningAt(NOON);
+        assertEquals(1, running.size());
+        assertSame(this.week, running.get(0));
+        this.index.remove(this.week);
+        assertTrue(this.index.runningAt(NOON).isEmpty());
+        assertEquals(1, this.index.runningAt(NOON.minusHours(3)).size());
+    }
+
+    @Test
+    public void startingAfterAndEndedBefore_Noon_FutureAndPastSides() {
+        List<Auction> future = this.index.startingAfter(NOON);
+        assertEquals(1, future.size());
+        assertSame(this.afternoon, future.get(0));
+        List<Auction> past = this.index.endedBefore(NOON);
+        assertEquals(1, past.size());
+        assertSame(this.morning, past.get(0));
+    }
+
+    @Test
+    public void add_SameIdWithNewTimes_FiledOnlyUnderTheNewTimes() {
+        this.morning.setStart(NOON.plusDays(2));
+        this.morning.setEnd(NOON.plusDays(2).plusHours(2));
+        this.index.add(this.morning);
+        List<Auction> inStart = new ArrayList<>();
+        for (Auction auction : this.index.inStartOrder(true)) {
+            inStart.add(auction);
+        }
+        assertEquals(3, inStart.size());
+        assertSame(this.week, inStart.get(0));
+        assertSame(this.morning, inStart.get(2));
+        assertTrue(this.index.endedBefore(NOON).isEmpty());
+    }
+
+    private static Auction auction(int id, LocalDateTime start, LocalDateTime end) {
+        return new Auction("Org " + id, start, end, id);
+    }
+}
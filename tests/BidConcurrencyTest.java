@@ -0,0 +1,309 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BidConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int BIDS_PER_THREAD = 400;
+
+    private DataControlCenter dataControl;
+    private Auction auction;
+    private Item item;
+
+    @Before
+    public void setUp() throws IOException, ClassNotFoundException {
+        this.dataControl = new DataControlCenter(new InMemoryAuctionStore(25));
+        this.auction = addAuction(this.dataControl, 30, Bidder.MAX_ITEMS_WITH_BID_IN_AN_AUCTION);
+        this.item = this.auction.getItems().get(0);
+    }
+
+    @Test
+    public void tryBid_ThreadsRaceOnOneItem_HighestAmountLeadsAndHistoryRises() throws InterruptedException {
+        Item raced = new Item("Raced", 1, 1, "", "");
+        AtomicInteger accepted = new AtomicInteger();
+        race((thread, i) -> {
+            if (raced.tryBid(new Bid("racer" + thread, "Raced", amount(thread, i)))) {
+                accepted.incrementAndGet();
+            }
+        });
+        assertEquals(THREADS * BIDS_PER_THREAD + 1, raced.getCurrentBid());
+        assertEquals(accepted.get(), raced.getBidCount());
+        assertRising(raced.getBids());
+    }
+
+    @Test
+    public void placeBid_ThreadsRaceOnOneItem_PriceIsHighestAcceptedBid() throws InterruptedException {
+        AtomicInteger accepted = new AtomicInteger();
+        race((thread, i) -> {
+            if (this.dataControl.placeBid(this.auction, this.item, bid("racer" + thread, this.auction, this.item, amount(thread, i)))) {
+                accepted.incrementAndGet();
+            }
+        });
+        assertEquals(THREADS * BIDS_PER_THREAD + 1, this.item.getCurrentBid());
+        assertEquals(accepted.get(), this.item.getBidCount());
+        assertRising(this.item.getBids());
+    }
+
+    @Test
+    public void placeBid_OneBidderOnManyNewItemsAtOnce_StopsAtAuctionLimit()
+            throws IOException, ClassNotFoundException, InterruptedException {
+        Auction wide = addAuction(this.dataControl, 31, Bidder.MAX_ITEMS_WITH_BID_IN_AN_AUCTION + THREADS);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (Item each : wide.getItems()) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                    if (this.dataControl.placeBid(wide, each, bid("limited", wide, each, 5))) {
+                        accepted.incrementAndGet();
+                    }
+                } catch (BidLimitException e) {
+                    if (!e.isAllAuctions()) {
+                        refused.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(Bidder.MAX_ITEMS_WITH_BID_IN_AN_AUCTION, accepted.get());
+        assertEquals(THREADS, refused.get());
+    }
+
+    @Test
+    public void submitBid_ThreadsSubmitAcrossItems_EveryBidAnsweredAndItemsHoldTheAccepted() throws InterruptedException {
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        race((thread, i) -> {
+            Item target = this.auction.getItems().get(i % this.auction.getItems().size());
+            CompletableFuture<Boolean> result = this.dataControl.submitBid(this.auction, target,
+                    bid("racer" + thread, this.auction, target, amount(thread, i)));
+            synchronized (results) {
+                results.add(result);
+            }
+        });
+        int accepted = 0;
+        for (CompletableFuture<Boolean> result : results) {
+            if (result.join()) {
+                accepted++;
+            }
+        }
+        int held = 0;
+        for (Item each : this.auction.getItems()) {
+            held += each.getBidCount();
+            assertRising(each.getBids());
+        }
+        assertEquals(THREADS * BIDS_PER_THREAD, results.size());
+        assertEquals(accepted, held);
+    }
+
+    @Test
+    public void submitBid_StoreCannotRecordBids_BidFailsAndItemIsUnchanged() throws IOException, ClassNotFoundException {
+        DataControlCenter failing = new DataControlCenter(failingStore());
+        Auction stored = addAuction(failing, 30, 1);
+        Item target = stored.getItems().get(0);
+        boolean failed = false;
+        try {
+            failing.submitBid(stored, target, bid("racer0", stored, target, 10)).join();
+        } catch (CompletionException e) {
+            failed = e.getCause() instanceof UncheckedIOException;
+        }
+        assertTrue(failed);
+        assertEquals(1, target.getCurrentBid());
+        assertEquals(0, target.getBidCount());
+    }
+
+    @Test
+    public void placeBid_SequencerPathThreadsRaceOnOneItem_PriceIsHighestAcceptedBid()
+            throws IOException, ClassNotFoundException, InterruptedException {
+        DataControlCenter sequenced = sequenced(new InMemoryAuctionStore(25));
+        Auction raced = addAuction(sequenced, 30, 1);
+        Item target = raced.getItems().get(0);
+        AtomicInteger accepted = new AtomicInteger();
+        race((thread, i) -> {
+            if (sequenced.placeBid(raced, target, bid("racer" + thread, raced, target, amount(thread, i)))) {
+                accepted.incrementAndGet();
+            }
+        });
+        assertEquals(THREADS * BIDS_PER_THREAD + 1, target.getCurrentBid());
+        assertEquals(accepted.get(), target.getBidCount());
+        assertRising(target.getBids());
+    }
+
+    @Test
+    public void placeBid_SequencerPathStoreCannotRecordBids_BidFailsAndItemIsUnchanged()
+            throws IOException, ClassNotFoundException {
+        DataControlCenter failing = sequenced(failingStore());
+        Auction stored = addAuction(failing, 30, 1);
+        Item target = stored.getItems().get(0);
+        boolean failed = false;
+        try {
+            failing.placeBid(stored, target, bid("racer0", stored, target, 10));
+        } catch (UncheckedIOException e) {
+            failed = true;
+        }
+        assertTrue(failed);
+        assertEquals(1, target.getCurrentBid());
+        assertEquals(0, target.getBidCount());
+    }
+
+    @Test
+    public void place_HandlerOrConsumerThrows_BidFailsAndLaterBidsGoThrough() {
+        AtomicInteger journaled = new AtomicInteger();
+        AtomicInteger applied = new AtomicInteger();
+        BidSequencer sequencer = new BidSequencer(8, run -> {
+            if (applied.incrementAndGet() == 1) {
+                throw new IllegalStateException("Handler failed");
+            }
+            for (BidSequencer.Slot slot : run) {
+                slot.accepted = true;
+            }
+        }, run -> {
+            if (journaled.incrementAndGet() == 2) {
+                throw new UncheckedIOException(new IOException("Journal failed"));
+            }
+        }, run -> { });
+        Item target = new Item("Sequenced", 1, 1, "", "");
+        Bid bid = new Bid("racer0", "Sequenced", 5);
+        assertFailure(sequencer, target, bid, IllegalStateException.class);
+        assertFailure(sequencer, target, bid, UncheckedIOException.class);
+        assertTrue(sequencer.place(null, target, bid));
+        // The bid the journal failed on never reached the handler.
+        assertEquals(2, applied.get());
+    }
+
+    @Test
+    public void barrier_BidsPublishedAround_RunsAfterEarlierBidsAndBeforeLaterOnes() {
+        List<String> order = new ArrayList<>();
+        BidSequencer sequencer = new BidSequencer(8, run -> {
+            for (BidSequencer.Slot slot : run) {
+                order.add("apply " + slot.bid.getAmount());
+                slot.accepted = true;
+            }
+        }, run -> {
+            for (BidSequencer.Slot slot : run) {
+                order.add("journal " + slot.bid.getAmount());
+            }
+        }, run -> { });
+        Item target = new Item("Sequenced", 1, 1, "", "");
+        sequencer.place(null, target, new Bid("racer0", "Sequenced", 5));
+        sequencer.barrier(() -> order.add("barrier"));
+        sequencer.place(null, target, new Bid("racer0", "Sequenced", 6));
+        assertEquals(Arrays.asList("journal 5", "apply 5", "barrier", "journal 6", "apply 6"), order);
+    }
+
+    /** Creates a controller on the sequencer bid path. */
+    private static DataControlCenter sequenced(AuctionStore store) throws IOException, ClassNotFoundException {
+        System.setProperty("auctioncentral.bidPath", "sequencer");
+        try {
+            return new DataControlCenter(store);
+        } finally {
+            System.clearProperty("auctioncentral.bidPath");
+        }
+    }
+
+    /** A store whose journal is full. */
+    private static AuctionStore failingStore() {
+        return new InMemoryAuctionStore(25) {
+            @Override
+            public void appendBid(Auction auction, Item item, Bid bid) {
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+
+            @Override
+            public void appendBids(Auction auction, List<Item> items, List<Bid> bids) {
+                throw new UncheckedIOException(new IOException("Disk full"));
+            }
+        };
+    }
+
+    /** One step of a race: the thread's number and its bid's number. */
+    private interface Step {
+        void run(int thread, int i);
+    }
+
+    /** Runs THREADS threads of BIDS_PER_THREAD steps, released together. */
+    private static void race(Step step) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < BIDS_PER_THREAD; i++) {
+                    step.run(thread, i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /** Amounts interleave across threads and never repeat; the largest is THREADS * BIDS_PER_THREAD + 1. */
+    private static int amount(int thread, int i) {
+        return 2 + i * THREADS + thread;
+    }
+
+    private static Auction addAuction(DataControlCenter dataControl, int daysOut, int items) {
+        LocalDateTime start = LocalDateTime.now().plusDays(daysOut);
+        Auction toSend = new Auction("Concurrency " + daysOut, start, start.plusHours(2),
+                dataControl.getNextAvailableAuctionId());
+        for (int i = 0; i < items; i++) {
+            toSend.addItem(new Item("Item " + daysOut + "-" + i, 1, 1, "", ""));
+        }
+        dataControl.addAuction(toSend);
+        return toSend;
+    }
+
+    private static Bid bid(String bidder, Auction in, Item target, int amount) {
+        return new Bid(bidder, target.getName(), amount, in.getAuctionID(), in.getStart(), in.getEnd());
+    }
+
+    private static void assertRising(List<Bid> bids) {
+        for (int i = 1; i < bids.size(); i++) {
+            assertTrue(bids.get(i - 1).getAmount() < bids.get(i).getAmount());
+        }
+    }
+
+    private static void assertFailure(BidSequencer sequencer, Item target, Bid bid, Class<?> expected) {
+        boolean failed = false;
+        try {
+            sequencer.place(null, target, bid);
+        } catch (RuntimeException e) {
+            failed = expected.isInstance(e);
+        }
+        assertTrue(failed);
+    }
+}
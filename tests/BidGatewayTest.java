@@ -0,0 +1,140 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.assertEquals;
+
+public class BidGatewayTest {
+
+    private DataControlCenter dataControl;
+    private Auction auction;
+    private Item item;
+
+    @Before
+    public void setUp() throws IOException, ClassNotFoundException {
+        InMemoryAuctionStore store = new InMemoryAuctionStore(25);
+        store.saveBidder(new Bidder("Amy Smith", "amy@example.com", "amy", "1 Elm Street", "5550100", 300));
+        this.dataControl = new DataControlCenter(store);
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        this.auction = new Auction("Gateway Org", start, start.plusHours(2), this.dataControl.getNextAvailableAuctionId());
+        this.item = new Item("Gateway Lamp", 1, 5, "", "");
+        this.auction.addItem(this.item);
+        this.dataControl.addAuction(this.auction);
+    }
+
+    @Test
+    public void bid_BeforeLoginOrAsAStranger_Refused() throws IOException, InterruptedException {
+        BidGateway gateway = start(this.dataControl);
+        try (SocketChannel client = connect(gateway)) {
+            send(client, bid(1, this.auction.getAuctionID(), this.item.getNameId(), 12));
+            assertReply(read(client), 1, BidProtocol.NOT_LOGGED_IN);
+            send(client, named(BidProtocol.LOGIN, 2, 0, "nobody"));
+            assertReply(read(client), 2, BidProtocol.NOT_FOUND);
+        } finally {
+            gateway.stop();
+        }
+        assertEquals(0, this.item.getBidCount());
+    }
+
+    @Test
+    public void bid_LoggedInAfterLookup_PlacedThenLowerOneOutbid() throws IOException, InterruptedException {
+        BidGateway gateway = start(this.dataControl);
+        try (SocketChannel client = connect(gateway)) {
+            send(client, named(BidProtocol.LOGIN, 1, 0, "amy"));
+            assertReply(read(client), 1, BidProtocol.OK);
+            send(client, named(BidProtocol.LOOKUP, 2, this.auction.getAuctionID(), "Gateway Lamp"));
+            ByteBuffer lookup = read(client);
+            assertReply(lookup, 2, BidProtocol.OK);
+            int itemId = lookup.getInt();
+            assertEquals(this.item.getNameId(), itemId);
+            send(client, bid(3, this.auction.getAuctionID(), itemId, 12));
+            ByteBuffer placed = read(client);
+            assertReply(placed, 3, BidProtocol.OK);
+            assertEquals(12, placed.getInt());
+            send(client, bid(4, this.auction.getAuctionID(), itemId, 10));
+            assertReply(read(client), 4, BidProtocol.OUTBID);
+        } finally {
+            gateway.stop();
+        }
+        assertEquals(12, this.item.getCurrentBid());
+        assertEquals(1, this.item.getBidCount());
+    }
+
+    @Test
+    public void subscribe_BidPlacedElsewhere_PriceFrameSent() throws IOException, InterruptedException {
+        BidGateway gateway = start(this.dataControl);
+        try (SocketChannel client = connect(gateway)) {
+            ByteBuffer subscribe = ByteBuffer.allocate(64);
+            BidProtocol.putSubscription(subscribe, BidProtocol.SUBSCRIBE, 1, this.auction.getAuctionID());
+            send(client, subscribe);
+            assertReply(read(client), 1, BidProtocol.OK);
+            this.dataControl.placeBid(this.auction, this.item, new Bid("Amy Smith", this.item.getName(), 20,
+                    this.auction.getAuctionID(), this.auction.getStart(), this.auction.getEnd()));
+            ByteBuffer price = read(client);
+            assertEquals(BidProtocol.PRICE, price.get());
+            assertEquals(this.auction.getAuctionID(), price.getInt());
+            assertEquals(this.item.getNameId(), price.getInt());
+            assertEquals(20, price.getInt());
+        } finally {
+            gateway.stop();
+        }
+    }
+
+    private static BidGateway start(DataControlCenter dataControl) throws IOException {
+        BidGateway gateway = new BidGateway(dataControl, new InetSocketAddress("127.0.0.1", 0));
+        gateway.start();
+        return gateway;
+    }
+
+    private static SocketChannel connect(BidGateway gateway) throws IOException {
+        return SocketChannel.open(new InetSocketAddress("127.0.0.1", gateway.getPort()));
+    }
+
+    private static ByteBuffer named(byte type, int tag, int auctionId, String text) {
+        ByteBuffer toSend = ByteBuffer.allocate(BidProtocol.MAX_FRAME);
+        BidProtocol.putNamed(toSend, type, tag, auctionId, text);
+        return toSend;
+    }
+
+    private static ByteBuffer bid(int tag, int auctionId, int itemId, int amount) {
+        ByteBuffer toSend = ByteBuffer.allocate(4 + BidProtocol.BID_LENGTH);
+        BidProtocol.putBid(toSend, tag, auctionId, itemId, amount);
+        return toSend;
+    }
+
+    private static void send(SocketChannel client, ByteBuffer frame) throws IOException {
+        frame.flip();
+        while (frame.hasRemaining()) {
+            client.write(frame);
+        }
+    }
+
+    /** Reads one frame; the buffer is left at its type byte. */
+    private static ByteBuffer read(SocketChannel client) throws IOException {
+        ByteBuffer length = fill(client, ByteBuffer.allocate(4));
+        return fill(client, ByteBuffer.allocate(length.getInt()));
+    }
+
+    private static ByteBuffer fill(SocketChannel client, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (client.read(buffer) < 0) {
+                throw new EOFException("Gateway closed the connection");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /** Checks a REPLY frame's tag and status, leaving the buffer at its value. */
+    private static void assertReply(ByteBuffer reply, int tag, byte status) {
+        assertEquals(BidProtocol.REPLY, reply.get());
+        assertEquals(tag, reply.getInt());
+        assertEquals(status, reply.get());
+    }
+}
@@ -0,0 +1,94 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BidHistoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 11, 20, 10, 0);
+
+    private BidHistory history;
+
+    @Before
+    public void setUp() {
+        this.history = new BidHistory();
+    }
+
+    @Test
+    public void toList_SharedDetails_BidsRebuiltWhole() {
+        this.history.add(bid("Amy", "Pen", 6, 7));
+        this.history.add(bid("Bo", "Pen", 9, 7));
+        ArrayList<Bid> bids = this.history.toList();
+        assertEquals(2, bids.size());
+        assertSameBid(bid("Amy", "Pen", 6, 7), bids.get(0));
+        assertSameBid(bid("Bo", "Pen", 9, 7), bids.get(1));
+        assertEquals(9, this.history.getAmount(1));
+        assertEquals("Bo", this.history.getBidder(1));
+    }
+
+    @Test
+    public void get_BidWithOwnAuctionAndItem_KeptWhole() {
+        this.history.add(bid("Amy", "Pen", 6, 7));
+        Bid odd = new Bid("Bo", "Lamp", 8, 8, START.plusDays(1), START.plusDays(2));
+        this.history.add(odd);
+        this.history.add(bid("Cy", "Pen", 10, 7));
+        assertSameBid(odd, this.history.get(1));
+        assertSameBid(bid("Cy", "Pen", 10, 7), this.history.get(2));
+    }
+
+    @Test
+    public void toListAndContains_ByBidder_OnlyThatBiddersBids() {
+        this.history.add(bid("Amy", "Pen", 6, 7));
+        this.history.add(bid("Bo", "Pen", 8, 7));
+        this.history.add(bid("Amy", "Pen", 11, 7));
+        int amy = NameDictionary.BIDDERS.idOf("Amy");
+        ArrayList<Bid> amys = this.history.toList(amy);
+        assertEquals(2, amys.size());
+        assertEquals(11, amys.get(1).getAmount());
+        assertTrue(this.history.contains(amy, 6));
+        assertFalse(this.history.contains(amy, 8));
+        assertEquals(amy, this.history.getBidderId(2));
+    }
+
+    @Test
+    public void add_ManyBids_GrowsAndKeepsEveryBidInOrder() {
+        for (int i = 0; i < 1000; i++) {
+            this.history.add(bid(i % 2 == 0 ? "Amy" : "Bo", "Pen", 10 + i, 7));
+        }
+        assertEquals(1000, this.history.size());
+        ArrayList<Bid> bids = this.history.toList();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(10 + i, bids.get(i).getAmount());
+            assertEquals(i % 2 == 0 ? "Amy" : "Bo", bids.get(i).getBidder());
+        }
+        assertEquals(500, this.history.toList(NameDictionary.BIDDERS.idOf("Bo")).size());
+    }
+
+    @Test
+    public void getAmount_IndexPastTheEnd_Refused() {
+        this.history.add(bid("Amy", "Pen", 6, 7));
+        boolean refused = false;
+        try {
+            this.history.getAmount(1);
+        } catch (IndexOutOfBoundsException e) {
+            refused = true;
+        }
+        assertTrue(refused);
+    }
+
+    private static Bid bid(String bidder, String item, int amount, int auctionId) {
+        return new Bid(bidder, item, amount, auctionId, START, START.plusHours(4));
+    }
+
+    private static void assertSameBid(Bid expected, Bid actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.getItem(), actual.getItem());
+        assertEquals(expected.getStart(), actual.getStart());
+        assertEquals(expected.getEnd(), actual.getEnd());
+    }
+}
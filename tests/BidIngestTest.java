@@ -0,0 +1,140 @@
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BidIngestTest {
+
+    @Test
+    public void submit_QueuedBehindABusyApplier_GroupedByAuctionInSubmissionOrder() throws InterruptedException {
+        Auction first = auction(1);
+        Auction second = auction(2);
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> applied = new ArrayList<>();
+        BidIngest ingest = new BidIngest((auction, bids) -> {
+            if (busy.getCount() > 0) {
+                busy.countDown();
+                awaitQuietly(release);
+            }
+            StringBuilder group = new StringBuilder().append(auction.getAuctionID()).append(':');
+            for (BidIngest.Pending pending : bids) {
+                group.append(pending.bid.getAmount()).append(' ');
+                pending.result.complete(true);
+            }
+            synchronized (applied) {
+                applied.add(group.toString().trim());
+            }
+        }, 16, 16);
+        try {
+            CompletableFuture<Boolean> warmUp = ingest.submit(first, item(first), bid(first, 1));
+            busy.await();
+            // Queued while the applier is busy, so drained together as one batch.
+            ingest.submit(first, item(first), bid(first, 10));
+            ingest.submit(second, item(second), bid(second, 20));
+            ingest.submit(first, item(first), bid(first, 11));
+            CompletableFuture<Boolean> last = ingest.submit(second, item(second), bid(second, 21));
+            release.countDown();
+            assertTrue(warmUp.join());
+            assertTrue(last.join());
+        } finally {
+            ingest.shutdown();
+        }
+        assertEquals(3, applied.size());
+        assertEquals("1:1", applied.get(0));
+        assertEquals("1:10 11", applied.get(1));
+        assertEquals("2:20 21", applied.get(2));
+    }
+
+    @Test
+    public void submit_ApplierThrows_ThatGroupFailsAndLaterBidsApplied() throws InterruptedException {
+        Auction auction = auction(1);
+        BidIngest ingest = new BidIngest((target, bids) -> {
+            for (BidIngest.Pending pending : bids) {
+                if (pending.bid.getAmount() < 0) {
+                    throw new IllegalArgumentException("Negative bid");
+                }
+                pending.result.complete(true);
+            }
+        }, 16, 1);
+        try {
+            boolean failed = false;
+            try {
+                ingest.submit(auction, item(auction), bid(auction, -1)).join();
+            } catch (CompletionException e) {
+                failed = e.getCause() instanceof IllegalArgumentException;
+            }
+            assertTrue(failed);
+            assertTrue(ingest.submit(auction, item(auction), bid(auction, 5)).join());
+        } finally {
+            ingest.shutdown();
+        }
+    }
+
+    @Test
+    public void shutdown_BidsStillQueued_AppliedFirstThenSubmitRefused() throws InterruptedException {
+        Auction auction = auction(1);
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> applied = new ArrayList<>();
+        BidIngest ingest = new BidIngest((target, bids) -> {
+            if (busy.getCount() > 0) {
+                busy.countDown();
+                awaitQuietly(release);
+            }
+            for (BidIngest.Pending pending : bids) {
+                synchronized (applied) {
+                    applied.add(pending.bid.getAmount());
+                }
+                pending.result.complete(true);
+            }
+        }, 16, 16);
+        ingest.submit(auction, item(auction), bid(auction, 1));
+        busy.await();
+        CompletableFuture<Boolean> queued = ingest.submit(auction, item(auction), bid(auction, 2));
+        release.countDown();
+        ingest.shutdown();
+        // shutdown waited for the drain thread, so the queued bid is already applied.
+        assertTrue(queued.isDone());
+        assertEquals(2, applied.size());
+        boolean refused = false;
+        try {
+            ingest.submit(auction, item(auction), bid(auction, 3)).join();
+        } catch (CompletionException e) {
+            refused = e.getCause() instanceof IllegalStateException;
+        }
+        assertTrue(refused);
+        assertEquals(2, applied.size());
+    }
+
+    private static Auction auction(int id) {
+        LocalDateTime start = LocalDateTime.of(2026, 11, 20, 10, 0).plusDays(id);
+        Auction toSend = new Auction("Org " + id, start, start.plusHours(2), id);
+        toSend.addItem(new Item("Item " + id, 1, 1, "", ""));
+        return toSend;
+    }
+
+    private static Item item(Auction auction) {
+        return auction.getItems().get(0);
+    }
+
+    private static Bid bid(Auction auction, int amount) {
+        return new Bid("Amy", item(auction).getName(), amount, auction.getAuctionID(), auction.getStart(),
+                auction.getEnd());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
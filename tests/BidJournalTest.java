@@ -0,0 +1,136 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BidJournalTest {
+
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        this.path = Files.createTempFile("bids", ".journal");
+        Files.delete(this.path);
+        this.path.toFile().deleteOnExit();
+    }
+
+    @Test
+    public void replay_AppendedBids_SameBidsInOrder() throws IOException {
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            journal.append(7, new Bid("Amy", "Pen", 6));
+            journal.appendAll(8, Arrays.asList(new Bid("Bo", "Lamp", 21), new Bid("Amy", "Lamp", 22)));
+        }
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            List<BidJournal.Entry> entries = journal.replay();
+            assertEquals(3, entries.size());
+            assertEntry(entries.get(0), 7, "Amy", "Pen", 6);
+            assertEntry(entries.get(1), 8, "Bo", "Lamp", 21);
+            assertEntry(entries.get(2), 8, "Amy", "Lamp", 22);
+            assertEquals(3, journal.size());
+        }
+    }
+
+    @Test
+    public void replay_TornLastRecord_CutOffAndLaterAppendsReplay() throws IOException {
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            journal.append(7, new Bid("Amy", "Pen", 6));
+        }
+        long intact = Files.size(this.path);
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            journal.append(7, new Bid("Bo", "Pen", 7));
+        }
+        truncate(this.path, Files.size(this.path) - 3);
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            assertEquals(1, journal.replay().size());
+            assertEquals(intact, Files.size(this.path));
+            journal.append(7, new Bid("Cy", "Pen", 8));
+        }
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            List<BidJournal.Entry> entries = journal.replay();
+            assertEquals(2, entries.size());
+            assertEntry(entries.get(1), 7, "Cy", "Pen", 8);
+        }
+    }
+
+    @Test
+    public void replay_CorruptRecord_StopsBeforeIt() throws IOException {
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            journal.append(7, new Bid("Amy", "Pen", 6));
+            journal.append(7, new Bid("Bo", "Pen", 7));
+        }
+        byte[] bytes = Files.readAllBytes(this.path);
+        bytes[bytes.length - 6] ^= 0x55;
+        Files.write(this.path, bytes);
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            List<BidJournal.Entry> entries = journal.replay();
+            assertEquals(1, entries.size());
+            assertEntry(entries.get(0), 7, "Amy", "Pen", 6);
+            assertTrue(Files.size(this.path) < bytes.length);
+        }
+    }
+
+    @Test
+    public void discardUpTo_MaximumsCarried_KeptInFrontOfTheTail() throws IOException {
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            journal.appendMaximum(7, "Amy", "Pen", 40);
+            journal.append(7, new Bid("Amy", "Pen", 6));
+            long mark = journal.mark();
+            journal.append(7, new Bid("Bo", "Pen", 7));
+            journal.discardUpTo(mark, Arrays.asList(new BidJournal.Entry(7, "Amy", "Pen", 40, true)));
+            assertEquals(2, journal.size());
+        }
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            List<BidJournal.Entry> entries = journal.replay();
+            assertEquals(2, entries.size());
+            assertEntry(entries.get(0), 7, "Amy", "Pen", 40);
+            assertTrue(entries.get(0).maximum);
+            assertEntry(entries.get(1), 7, "Bo", "Pen", 7);
+            assertTrue(!entries.get(1).maximum);
+        }
+    }
+
+    @Test
+    public void discardUpTo_MarkAtTheEnd_JournalEmptyAndStillAppends() throws IOException {
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            journal.append(7, new Bid("Amy", "Pen", 6));
+            journal.append(7, new Bid("Bo", "Pen", 7));
+            journal.discardUpTo(journal.mark());
+            assertEquals(0, journal.size());
+            journal.append(7, new Bid("Cy", "Pen", 8));
+        }
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            List<BidJournal.Entry> entries = journal.replay();
+            assertEquals(1, entries.size());
+            assertEntry(entries.get(0), 7, "Cy", "Pen", 8);
+        }
+    }
+
+    @Test
+    public void replay_NoFile_Empty() throws IOException {
+        try (BidJournal journal = new BidJournal(this.path, 1, 0)) {
+            assertTrue(journal.replay().isEmpty());
+        }
+    }
+
+    private static void truncate(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static void assertEntry(BidJournal.Entry entry, int auctionId, String bidder, String item, int amount) {
+        assertEquals(auctionId, entry.auctionId);
+        assertEquals(bidder, entry.bidder);
+        assertEquals(item, entry.item);
+        assertEquals(amount, entry.amount);
+    }
+}
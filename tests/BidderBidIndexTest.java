@@ -0,0 +1,66 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class BidderBidIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 11, 20, 10, 0);
+
+    private HashMap<Integer, Auction> read;
+    private BidderBidIndex index;
+
+    @Before
+    public void setUp() throws IOException, ClassNotFoundException {
+        Auction first = auction(1, "Index Amy", "Index Bo");
+        Auction second = auction(2, "Index Cy");
+        this.read = new HashMap<>();
+        for (Auction auction : AuctionCodec.readAuctions(new ByteArrayInputStream(
+                AuctionCodec.auctionsToBytes(Arrays.asList(first, second))))) {
+            this.read.put(auction.getAuctionID(), auction);
+        }
+        this.index = new BidderBidIndex();
+        for (Auction auction : this.read.values()) {
+            this.index.addAuction(auction);
+        }
+    }
+
+    @Test
+    public void addAuction_HeadersNameTheBidders_NoItemsLoaded() {
+        assertEquals(1, this.index.getAuctionIds(NameDictionary.BIDDERS.idOf("Index Bo")).length);
+        assertNotNull(this.read.get(1).getItemLoader());
+        assertNotNull(this.read.get(2).getItemLoader());
+    }
+
+    @Test
+    public void getItems_OneBiddersAuction_LoadsOnlyThatAuction() {
+        assertEquals(1, this.index.getItems(NameDictionary.BIDDERS.idOf("Index Amy"), 1).size());
+        assertNull(this.read.get(1).getItemLoader());
+        assertNotNull(this.read.get(2).getItemLoader());
+    }
+
+    @Test
+    public void getBids_AfterLoad_BidsOfThatBidderOnly() {
+        assertEquals(1, this.index.getBids(NameDictionary.BIDDERS.idOf("Index Bo"), 1).size());
+        assertEquals(7, this.index.getBids(NameDictionary.BIDDERS.idOf("Index Bo"), 1).get(0).getAmount());
+    }
+
+    /** Builds an auction with one item, bid on by each bidder in turn. */
+    private static Auction auction(int auctionId, String... bidders) {
+        Auction toSend = new Auction("Index Org", START, START.plusHours(2), auctionId);
+        Item item = new Item("Index item " + auctionId, 1, 5, "", "");
+        for (int i = 0; i < bidders.length; i++) {
+            item.addBid(new Bid(bidders[i], item.getName(), 6 + i, auctionId, START, START.plusHours(2)));
+        }
+        toSend.addItem(item);
+        return toSend;
+    }
+}
@@ -122,4 +122,21 @@ public class BidderTest {
                 this.future.getItems().size();
         assertTrue(allItemCount == 1);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getAuctionNameByItem_ItemListedInAuction_True()
+            throws IOException, ClassNotFoundException {
+        Auction owner = this.dataControl.getAuctionNameByItem("Wicker Sofa Set");
+        assertTrue(owner != null && owner.getAuctionID() == 1);
+        assertTrue(this.dataControl.getAuctionsByItemName("wicker sofa set", true).contains(owner));
+    }
+
+    @Test
+    public void getAuctionNameByItem_ItemAddedAfterLoad_True()
+            throws IOException, ClassNotFoundException {
+        Auction owner = this.dataControl.getAuctionById(1);
+        owner.addItem(this.someItem);
+        assertTrue(this.dataControl.getAuctionNameByItem(this.someItem.getName()) == owner);
+        assertTrue(this.dataControl.getItemInAuction(1, this.someItem.getName()) == this.someItem);
+    }
+}
@@ -0,0 +1,99 @@
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CheckpointerTest {
+
+    @Test
+    public void noteChanges_ThresholdReachedTwice_CheckpointRunsEachTime() throws InterruptedException {
+        Semaphore runs = new Semaphore(0);
+        Checkpointer checkpointer = new Checkpointer(runs::release, 0, 10);
+        try {
+            checkpointer.noteChanges(4);
+            checkpointer.noteChanges(5);
+            assertEquals(0, runs.availablePermits());
+            checkpointer.noteChange();
+            runs.acquire();
+            checkpointer.noteChanges(9);
+            checkpointer.noteChange();
+            runs.acquire();
+        } finally {
+            checkpointer.shutdown();
+        }
+    }
+
+    @Test
+    public void request_WhileOneIsWaiting_SharesIt() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        Checkpointer checkpointer = new Checkpointer(() -> {
+            if (runs.incrementAndGet() == 1) {
+                running.countDown();
+                awaitQuietly(release);
+            }
+        }, 0, 0);
+        try {
+            CompletableFuture<Void> first = checkpointer.request();
+            running.await();
+            // The first is running, so these wait for one checkpoint after it.
+            CompletableFuture<Void> second = checkpointer.request();
+            assertSame(second, checkpointer.request());
+            release.countDown();
+            first.join();
+            second.join();
+            assertEquals(2, runs.get());
+        } finally {
+            checkpointer.shutdown();
+        }
+    }
+
+    @Test
+    public void flush_AfterABackgroundFailure_FailsWithItOnce() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        Checkpointer checkpointer = new Checkpointer(() -> {
+            if (runs.incrementAndGet() == 1) {
+                throw new IOException("Disk full");
+            }
+        }, 0, 0);
+        try {
+            boolean failed = false;
+            try {
+                checkpointer.request().join();
+            } catch (CompletionException e) {
+                failed = e.getCause() instanceof IOException;
+            }
+            assertTrue(failed);
+            IOException reported = null;
+            try {
+                checkpointer.flush().join();
+            } catch (CompletionException e) {
+                reported = (IOException) e.getCause();
+            }
+            assertEquals("Disk full", reported.getMessage());
+            assertNull(checkpointer.takeFailure());
+            checkpointer.flush().join();
+            assertEquals(3, runs.get());
+        } finally {
+            checkpointer.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CsvReaderTest {
+
+    @Test
+    public void next_UnquotedFields_Trimmed() throws IOException {
+        try (CsvReader reader = reader("Maurice Chiu,  maurice ,  12 \n")) {
+            assertTrue(reader.next());
+            assertEquals(3, reader.fieldCount());
+            assertEquals("Maurice Chiu", reader.field(0));
+            assertEquals("maurice", reader.field(1));
+            assertEquals(12, reader.intField(2));
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void next_QuotedFields_KeepCommasLineBreaksAndDoubledQuotes() throws IOException {
+        try (CsvReader reader = reader("  \"Smith, Jane\",\"Line one\nline two\",\"Say \"\"hi\"\"\"\nnext,row\n")) {
+            assertTrue(reader.next());
+            assertEquals(3, reader.fieldCount());
+            assertEquals("Smith, Jane", reader.field(0));
+            assertEquals("Line one\nline two", reader.field(1));
+            assertEquals("Say \"hi\"", reader.field(2));
+            assertTrue(reader.next());
+            assertEquals(3, reader.getLine());
+            assertEquals("row", reader.field(1));
+        }
+    }
+
+    @Test
+    public void next_QuoteInsideUnquotedField_PlainText() throws IOException {
+        try (CsvReader reader = reader("68\" Recurve Long Bow, 1\n")) {
+            assertTrue(reader.next());
+            assertEquals("68\" Recurve Long Bow", reader.field(0));
+            assertEquals(1, reader.intField(1));
+        }
+    }
+
+    @Test
+    public void next_BlankLinesAndMissingFinalNewline_SkippedAndLastRecordRead() throws IOException {
+        try (CsvReader reader = reader("\n\na,b\r\n\n c , d ")) {
+            assertTrue(reader.next());
+            assertEquals(3, reader.getLine());
+            assertEquals("b", reader.field(1));
+            assertTrue(reader.next());
+            assertEquals(5, reader.getLine());
+            assertEquals("c", reader.field(0));
+            assertEquals("d", reader.field(1));
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void next_RecordsAcrossBufferRefills_ReadWholeWithMultiByteText() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            text.append("Caf\u00e9 ").append(i).append(',').append(i).append('\n');
+        }
+        try (CsvReader reader = reader(text.toString())) {
+            for (int i = 0; i < 20000; i++) {
+                assertTrue(reader.next());
+                assertEquals("Caf\u00e9 " + i, reader.field(0));
+                assertEquals(i, reader.intField(1));
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void parseInt_Extremes_ReadAndOverflowRefused() {
+        byte[] min = "-2147483648".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(Integer.MIN_VALUE, CsvReader.parseInt(min, 0, min.length));
+        byte[] over = "2147483648".getBytes(StandardCharsets.US_ASCII);
+        boolean refused = false;
+        try {
+            CsvReader.parseInt(over, 0, over.length);
+        } catch (NumberFormatException e) {
+            refused = true;
+        }
+        assertTrue(refused);
+    }
+
+    @Test
+    public void intField_NotANumber_Refused() throws IOException {
+        boolean refused = false;
+        try (CsvReader reader = reader("12x\n")) {
+            assertTrue(reader.next());
+            reader.intField(0);
+        } catch (NumberFormatException e) {
+            refused = true;
+        }
+        assertTrue(refused);
+    }
+
+    private static CsvReader reader(String text) {
+        return CsvReader.open(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,155 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FileAuctionStoreTest {
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("store");
+        SnapshotFiles.writeAtomically(this.directory.resolve("auctions.bin"),
+                AuctionCodec.auctionsToBytes(Collections.emptyList()));
+        SnapshotFiles.writeAtomically(this.directory.resolve("bidders.bin"),
+                AuctionCodec.biddersToBytes(Collections.emptyList()));
+        SnapshotFiles.writeAtomically(this.directory.resolve("npcontact.bin"), new HashSet<NPContact>());
+        SnapshotFiles.writeAtomically(this.directory.resolve("admins.bin"), new HashSet<AuctionCentralEmployee>());
+        SnapshotFiles.writeAtomically(this.directory.resolve("system.bin"), 25);
+    }
+
+    @Test
+    public void dataControlCenter_RestartWithoutACheckpoint_BidsAndProxiesReplayed()
+            throws IOException, ClassNotFoundException {
+        DataControlCenter before = new DataControlCenter(new FileAuctionStore(this.directory));
+        Auction auction = addAuction(before);
+        Item item = auction.getItems().get(0);
+        before.checkpoint();
+        assertTrue(before.placeProxyBid(auction, item, "Amy", 40));
+        assertTrue(before.placeBid(auction, item, bid(auction, item, "Bo", 20)));
+        int price = item.getCurrentBid();
+        int count = item.getBidCount();
+
+        // The first controller is never closed, as if the process had died.
+        DataControlCenter after = new DataControlCenter(new FileAuctionStore(this.directory));
+        Item back = after.getItemInAuction(auction.getAuctionID(), item.getName());
+        assertEquals(price, back.getCurrentBid());
+        assertEquals(count, back.getBidCount());
+        assertEquals(40, after.getProxyMaximum(after.getAuctionById(auction.getAuctionID()), back, "Amy"));
+    }
+
+    @Test
+    public void prepareCheckpoint_BidAfterTheCapture_KeptInTheJournal() throws IOException, ClassNotFoundException {
+        Auction auction = auction(7);
+        Item item = auction.getItems().get(0);
+        try (FileAuctionStore store = new FileAuctionStore(this.directory)) {
+            placed(store, auction, item, bid(auction, item, "Amy", 6));
+            AuctionStore.Checkpoint checkpoint = store.prepareCheckpoint(Collections.singletonList(auction),
+                    Collections.emptyList(), Collections.singletonList(auction), Collections.emptyList());
+            placed(store, auction, item, bid(auction, item, "Bo", 9));
+            checkpoint.commit();
+        }
+        try (FileAuctionStore store = new FileAuctionStore(this.directory)) {
+            List<BidJournal.Entry> pending = store.loadPendingBids();
+            assertEquals(1, pending.size());
+            assertEquals(9, pending.get(0).amount);
+            Auction read = only(store.loadAuctions());
+            assertTrue(read.getItems().get(0).getCurrentBid() >= 6);
+        }
+    }
+
+    @Test
+    public void prepareCheckpoint_CancelledAuction_GoneAfterRestartAndItsIdKept()
+            throws IOException, ClassNotFoundException {
+        Auction kept = auction(7);
+        Auction cancelled = auction(9);
+        try (FileAuctionStore store = new FileAuctionStore(this.directory)) {
+            store.prepareCheckpoint(list(kept, cancelled), Collections.emptyList(), list(kept, cancelled),
+                    Collections.emptyList()).commit();
+            store.prepareCheckpoint(Collections.emptyList(), list(cancelled), list(kept),
+                    Collections.emptyList()).commit();
+        }
+        try (FileAuctionStore store = new FileAuctionStore(this.directory)) {
+            assertEquals(7, only(store.loadAuctions()).getAuctionID());
+            assertEquals(9, store.loadHighestCancelledId());
+        }
+    }
+
+    @Test
+    public void prepareCheckpoint_SegmentsPiledUp_CompactedIntoOneSnapshot() throws IOException, ClassNotFoundException {
+        List<Auction> all = new ArrayList<>();
+        for (int id = 1; id <= 300; id++) {
+            all.add(auction(id));
+        }
+        Auction cancelled = all.remove(all.size() - 1);
+        try (FileAuctionStore store = new FileAuctionStore(this.directory)) {
+            store.prepareCheckpoint(all, list(cancelled), all, Collections.emptyList()).commit();
+            store.prepareCheckpoint(Collections.emptyList(), Collections.emptyList(), all,
+                    Collections.emptyList()).commit();
+        }
+        SegmentStore segments = new SegmentStore(this.directory.resolve("segments"));
+        // Only the tombstone above every live id survives compaction.
+        assertEquals(1, segments.auctionSegmentCount());
+        try (FileAuctionStore store = new FileAuctionStore(this.directory)) {
+            assertEquals(299, store.loadAuctions().size());
+            assertEquals(300, store.loadHighestCancelledId());
+            assertNull(findById(store.loadAuctions(), 300));
+        }
+    }
+
+    private static void placed(AuctionStore store, Auction auction, Item item, Bid bid) throws IOException {
+        store.appendBid(auction, item, bid);
+        item.addBid(bid);
+    }
+
+    private static Auction addAuction(DataControlCenter dataControl) {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        Auction toSend = new Auction("Recovery", start, start.plusHours(2), dataControl.getNextAvailableAuctionId());
+        toSend.addItem(new Item("Recovered", 1, 1, "", ""));
+        dataControl.addAuction(toSend);
+        return toSend;
+    }
+
+    private static Auction auction(int id) {
+        LocalDateTime start = LocalDateTime.of(2026, 11, 20, 10, 0).plusDays(id);
+        Auction toSend = new Auction("Org " + id, start, start.plusHours(2), id);
+        toSend.addItem(new Item("Item " + id, 1, 5, "", ""));
+        return toSend;
+    }
+
+    private static Bid bid(Auction auction, Item item, String bidder, int amount) {
+        return new Bid(bidder, item.getName(), amount, auction.getAuctionID(), auction.getStart(), auction.getEnd());
+    }
+
+    private static List<Auction> list(Auction... auctions) {
+        List<Auction> toSend = new ArrayList<>();
+        Collections.addAll(toSend, auctions);
+        return toSend;
+    }
+
+    private static Auction only(HashSet<Auction> auctions) {
+        assertEquals(1, auctions.size());
+        return auctions.iterator().next();
+    }
+
+    private static Auction findById(HashSet<Auction> auctions, int id) {
+        for (Auction auction : auctions) {
+            if (auction.getAuctionID() == id) {
+                return auction;
+            }
+        }
+        return null;
+    }
+}
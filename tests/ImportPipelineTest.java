@@ -0,0 +1,92 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ImportPipelineTest {
+
+    private ImportPipeline pipeline;
+
+    @Before
+    public void setUp() {
+        // Small chunks keep several in flight across the workers.
+        this.pipeline = new ImportPipeline(4, 7);
+    }
+
+    @Test
+    public void run_ManyChunks_AssembledInFileOrder() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("row ").append(i).append(',').append(i).append('\n');
+        }
+        List<Integer> seen = new ArrayList<>();
+        int assembled;
+        try {
+            assembled = this.pipeline.run("rows", reader(text.toString()),
+                    row -> row.intField(1), (value, row) -> seen.add(value));
+        } finally {
+            this.pipeline.close();
+        }
+        assertEquals(1000, assembled);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) seen.get(i));
+        }
+    }
+
+    @Test
+    public void run_BadRowsFromParserAndAssembler_RejectedWithLineAndImportGoesOn() throws IOException {
+        List<String> kept = new ArrayList<>();
+        int assembled;
+        try {
+            assembled = this.pipeline.run("people", reader("Amy,30\nBo,old\nCy,41\nAmy,52\n"),
+                    row -> {
+                        row.intField(1);
+                        return row.field(0);
+                    },
+                    (name, row) -> {
+                        if (kept.contains(name)) {
+                            throw new IllegalStateException("Duplicate " + name);
+                        }
+                        kept.add(name);
+                    });
+        } finally {
+            this.pipeline.close();
+        }
+        assertEquals(2, assembled);
+        List<ImportPipeline.Rejection> rejections = this.pipeline.getRejections();
+        assertEquals(2, rejections.size());
+        assertEquals(2, rejections.get(0).row.line);
+        assertTrue(rejections.get(0).reason.startsWith("NumberFormatException"));
+        assertEquals(4, rejections.get(1).row.line);
+        assertEquals("IllegalStateException: Duplicate Amy", rejections.get(1).reason);
+    }
+
+    @Test
+    public void writeReport_Rejections_OneLinePerRow() throws IOException {
+        try {
+            this.pipeline.run("people", reader("Amy,x\nBo,y\n"), row -> row.intField(1), (value, row) -> { });
+        } finally {
+            this.pipeline.close();
+        }
+        Path report = Files.createTempFile("import", ".txt");
+        report.toFile().deleteOnExit();
+        this.pipeline.writeReport(report);
+        List<String> lines = Files.readAllLines(report, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("people:1: "));
+        assertTrue(lines.get(1).startsWith("people:2: "));
+    }
+
+    private static CsvReader reader(String text) {
+        return CsvReader.open(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,101 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IntHashMapTest {
+
+    private IntHashMap<String> map;
+
+    @Before
+    public void setUp() {
+        this.map = new IntHashMap<>();
+    }
+
+    @Test
+    public void remove_EveryOtherKeyOfACrowdedTable_RestStillFound() {
+        for (int key = 0; key < 1000; key++) {
+            this.map.put(key * 16, "v" + key);
+        }
+        for (int key = 0; key < 1000; key += 2) {
+            assertEquals("v" + key, this.map.remove(key * 16));
+        }
+        assertEquals(500, this.map.size());
+        for (int key = 0; key < 1000; key++) {
+            if (key % 2 == 0) {
+                assertFalse(this.map.containsKey(key * 16));
+            } else {
+                assertEquals("v" + key, this.map.get(key * 16));
+            }
+        }
+    }
+
+    @Test
+    public void remove_AbsentKey_ReturnsNullAndKeepsSize() {
+        this.map.put(1, "one");
+        assertNull(this.map.remove(2));
+        assertEquals(1, this.map.size());
+    }
+
+    @Test
+    public void putGetRemove_RandomOperations_SameAsHashMap() {
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50000; i++) {
+            // A small key range keeps probe chains long and removals frequent.
+            int key = random.nextInt(512) - 256;
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.put(key, "v" + i), this.map.put(key, "v" + i));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key), this.map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), this.map.get(key));
+            }
+            assertEquals(expected.size(), this.map.size());
+        }
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), this.map.get(entry.getKey()));
+        }
+        assertEquals(expected.size(), this.map.keys().length);
+    }
+
+    @Test
+    public void put_PastExpectedSize_GrowsAndKeepsEveryEntry() {
+        IntHashMap<String> small = new IntHashMap<>(2);
+        for (int key = 1; key <= 100; key++) {
+            small.put(key, "v" + key);
+        }
+        assertEquals(100, small.size());
+        int values = 0;
+        for (String value : small.values()) {
+            assertEquals(value, small.get(Integer.parseInt(value.substring(1))));
+            values++;
+        }
+        assertEquals(100, values);
+        small.clear();
+        assertTrue(small.isEmpty());
+        assertNull(small.get(1));
+    }
+
+    @Test
+    public void put_NullValue_Refused() {
+        boolean refused = false;
+        try {
+            this.map.put(1, null);
+        } catch (IllegalArgumentException e) {
+            refused = true;
+        }
+        assertTrue(refused);
+        assertTrue(this.map.isEmpty());
+    }
+}
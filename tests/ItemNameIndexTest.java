@@ -0,0 +1,71 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ItemNameIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 11, 20, 10, 0);
+
+    private ItemNameIndex index;
+    private Auction first;
+    private Auction second;
+
+    @Before
+    public void setUp() {
+        this.index = new ItemNameIndex();
+        this.first = auction(1, "Quilt", "Oak Bench");
+        this.second = auction(2, "Quilt", "Tea Set");
+        this.index.addAuction(this.first);
+        this.index.addAuction(this.second);
+    }
+
+    @Test
+    public void find_NameInTwoAuctions_BothFoundAndReportedAsCollision() {
+        List<Auction> owners = this.index.find("Quilt");
+        assertEquals(2, owners.size());
+        assertSame(this.first, owners.get(0));
+        assertTrue(this.index.isCollision("Quilt"));
+        assertFalse(this.index.isCollision("Tea Set"));
+        assertEquals(1, this.index.getCollisions().size());
+    }
+
+    @Test
+    public void findIgnoreCase_DifferentCase_Found() {
+        assertTrue(this.index.find("oak bench").isEmpty());
+        List<Auction> owners = this.index.findIgnoreCase("oak BENCH");
+        assertEquals(1, owners.size());
+        assertSame(this.first, owners.get(0));
+    }
+
+    @Test
+    public void getItem_ByAuctionAndName_ThatAuctionsItem() {
+        assertSame(this.second.getItems().get(1), this.index.getItem(2, "Tea Set"));
+        assertNull(this.index.getItem(1, "Tea Set"));
+        assertNull(this.index.getItem(9, "Quilt"));
+    }
+
+    @Test
+    public void removeAuction_OneOfTwoOwners_CollisionCleared() {
+        this.index.removeAuction(this.first);
+        assertEquals(1, this.index.find("Quilt").size());
+        assertFalse(this.index.isCollision("Quilt"));
+        assertTrue(this.index.findIgnoreCase("oak bench").isEmpty());
+        assertNull(this.index.getItem(1, "Quilt"));
+    }
+
+    private static Auction auction(int id, String... items) {
+        Auction toSend = new Auction("Org " + id, START.plusDays(id), START.plusDays(id).plusHours(2), id);
+        for (String name : items) {
+            toSend.addItem(new Item(name, 1, 5, "", ""));
+        }
+        return toSend;
+    }
+}
@@ -53,6 +53,33 @@ public class NPContactTest {
         oneAuctions.add(auctionOne);
     }
 
+    @Test
+    public void scheduleAuction_CheckpointBetweenRequests_LimitStillHolds() throws Exception {
+        DataControlCenter inMemory = new DataControlCenter(new InMemoryAuctionStore(25));
+        inMemory.setMaxAuctionAllowed(1);
+        LocalDateTime start = LocalDateTime.now().plusDays(20).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        assertNull(inMemory.scheduleAuction(new Auction("American Cancer Society", start, start.plusHours(2), 0)));
+        inMemory.checkpoint();
+        assertEquals(DataControlCenter.NO_MORE_AUCTIONS, inMemory.scheduleAuction(
+                new Auction("American Red Cross", start.plusDays(1), start.plusDays(1).plusHours(2), 0)));
+    }
+
+    @Test
+    public void findNextAvailableAuctionId_HighestCancelledThenRestart_IdNotReused() throws Exception {
+        InMemoryAuctionStore store = new InMemoryAuctionStore(25);
+        DataControlCenter before = new DataControlCenter(store);
+        LocalDateTime start = LocalDateTime.now().plusDays(20);
+        before.addAuction(new Auction("American Cancer Society", start, start.plusHours(2), before.getNextAvailableAuctionId()));
+        Auction cancelled = new Auction("American Red Cross", start.plusDays(1), start.plusDays(1).plusHours(2),
+                before.getNextAvailableAuctionId());
+        before.addAuction(cancelled);
+        before.checkpoint();
+        assertTrue(before.cancelAuction(cancelled));
+        before.checkpoint();
+        DataControlCenter after = new DataControlCenter(store);
+        assertEquals(cancelled.getAuctionID() + 1, after.getNextAvailableAuctionId());
+    }
+
     @Test
     public void isRequestedAuctionDateValid_forMaxSetNumberOfDateIsless_true() {
         assertTrue(dataControlCenter.isRequestedAuctionDateValid(LocalDateTime.now().plusDays(setNumberOfDays)));
@@ -0,0 +1,64 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OrganizationIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 11, 20, 10, 0);
+
+    private OrganizationIndex index;
+
+    @Before
+    public void setUp() {
+        this.index = new OrganizationIndex();
+    }
+
+    @Test
+    public void inOrder_SeveralOrganizations_SortedByNameThenAdded() {
+        Auction zoo = auction(1, "Zoo Friends");
+        Auction art = auction(2, "Art League");
+        Auction artAgain = auction(3, "Art League");
+        this.index.add(zoo);
+        this.index.add(art);
+        this.index.add(artAgain);
+        List<Auction> order = new ArrayList<>();
+        for (Auction auction : this.index.inOrder()) {
+            order.add(auction);
+        }
+        assertEquals(3, order.size());
+        assertSame(art, order.get(0));
+        assertSame(artAgain, order.get(1));
+        assertSame(zoo, order.get(2));
+        assertEquals(2, this.index.get("Art League").size());
+    }
+
+    @Test
+    public void remove_LastAuctionOfAnOrganization_OrganizationGone() {
+        Auction art = auction(2, "Art League");
+        this.index.add(art);
+        // A copy with the same id stands in for the same auction reloaded.
+        this.index.remove(new Auction(art));
+        assertTrue(this.index.get("Art League").isEmpty());
+        assertFalse(this.index.inOrder().iterator().hasNext());
+    }
+
+    @Test
+    public void get_UnknownOrNullOrganization_Empty() {
+        this.index.add(auction(1, null));
+        assertTrue(this.index.get("Never Seen").isEmpty());
+        assertTrue(this.index.get(null).isEmpty());
+        assertFalse(this.index.inOrder().iterator().hasNext());
+    }
+
+    private static Auction auction(int id, String organization) {
+        return new Auction(organization, START.plusDays(id), START.plusDays(id).plusHours(2), id);
+    }
+}
@@ -0,0 +1,98 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ProxyBookTest {
+
+    private static final int AMY = 1;
+    private static final int BO = 2;
+    private static final int CY = 3;
+
+    private ProxyBook book;
+
+    @Before
+    public void setUp() {
+        this.book = new ProxyBook();
+    }
+
+    @Test
+    public void respond_OneProxyBelowAnotherBidder_BidsOneStepOverThePrice() {
+        assertTrue(this.book.register(AMY, 50, 10, NameDictionary.NONE));
+        assertCounter(this.book.respond(10, CY), AMY, 11);
+    }
+
+    @Test
+    public void respond_TwoProxies_StrongerBidsJustPastTheWeakersMaximum() {
+        this.book.register(AMY, 50, 10, NameDictionary.NONE);
+        this.book.register(BO, 30, 10, NameDictionary.NONE);
+        assertCounter(this.book.respond(10, NameDictionary.NONE), AMY, 30 + ProxyBook.INCREMENT);
+        assertEquals(2, this.book.size());
+    }
+
+    @Test
+    public void respond_EqualMaximums_EarlierRegistrationWinsAtTheMaximum() {
+        this.book.register(AMY, 40, 10, NameDictionary.NONE);
+        this.book.register(BO, 40, 10, NameDictionary.NONE);
+        assertCounter(this.book.respond(10, NameDictionary.NONE), AMY, 40);
+    }
+
+    @Test
+    public void respond_LeaderAlreadyTopAndRivalBeaten_NoBid() {
+        this.book.register(AMY, 50, 10, NameDictionary.NONE);
+        this.book.register(BO, 30, 10, NameDictionary.NONE);
+        assertNull(this.book.respond(31, AMY));
+    }
+
+    @Test
+    public void respond_PriceAboveEveryMaximum_NoBid() {
+        this.book.register(AMY, 50, 10, NameDictionary.NONE);
+        assertNull(this.book.respond(50, CY));
+    }
+
+    @Test
+    public void register_MaximumNotBeatingPriceOrNotRaisingOwn_Refused() {
+        assertFalse(this.book.register(AMY, 9, 10, NameDictionary.NONE));
+        assertFalse(this.book.register(AMY, 10, 10, BO));
+        assertTrue(this.book.register(AMY, 10, 10, AMY));
+        assertFalse(this.book.register(AMY, 10, 10, AMY));
+        assertTrue(this.book.register(AMY, 20, 10, AMY));
+        assertEquals(20, this.book.getMaximum(AMY));
+        assertEquals(0, this.book.getMaximum(BO));
+        assertEquals(1, this.book.size());
+    }
+
+    @Test
+    public void prune_ProxiesThatCannotBeatThePrice_DroppedExceptTheLeader() {
+        this.book.register(AMY, 50, 10, NameDictionary.NONE);
+        this.book.register(BO, 30, 10, NameDictionary.NONE);
+        this.book.register(CY, 20, 10, NameDictionary.NONE);
+        this.book.prune(30, BO);
+        assertEquals(2, this.book.size());
+        assertEquals(0, this.book.getMaximum(CY));
+        this.book.prune(50, AMY);
+        assertEquals(1, this.book.size());
+        assertEquals(50, this.book.getMaximum(AMY));
+    }
+
+    @Test
+    public void biddersInRegistrationOrder_RaisedMaximum_MovesBehindLaterRegistrations() {
+        this.book.register(AMY, 30, 10, NameDictionary.NONE);
+        this.book.register(BO, 40, 10, NameDictionary.NONE);
+        this.book.register(AMY, 50, 10, NameDictionary.NONE);
+        int[] order = this.book.biddersInRegistrationOrder();
+        assertEquals(2, order.length);
+        assertEquals(BO, order[0]);
+        assertEquals(AMY, order[1]);
+        assertFalse(this.book.accepts(AMY, 50, 10, NameDictionary.NONE));
+        assertEquals(2, this.book.size());
+    }
+
+    private static void assertCounter(ProxyBook.CounterBid counter, int bidder, int amount) {
+        assertEquals(bidder, counter.bidderId);
+        assertEquals(amount, counter.amount);
+    }
+}
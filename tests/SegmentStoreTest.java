@@ -0,0 +1,72 @@
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SegmentStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 11, 20, 10, 0);
+
+    private SegmentStore segments;
+
+    @Before
+    public void setUp() throws IOException {
+        this.segments = new SegmentStore(Files.createTempDirectory("segments").resolve("segments"));
+    }
+
+    @Test
+    public void writeAuction_WrittenTwice_LatestSegmentRead() throws IOException, ClassNotFoundException {
+        Auction auction = auction(7);
+        this.segments.writeAuction(auction);
+        auction.getItems().get(0).addBid(new Bid("Amy", "Pen", 6, 7, START, START.plusHours(2)));
+        this.segments.writeAuction(auction);
+        List<Auction> read = this.segments.readAuctions();
+        assertEquals(1, read.size());
+        assertEquals(6, read.get(0).getItems().get(0).getCurrentBid());
+        assertEquals(1, this.segments.auctionSegmentCount());
+    }
+
+    @Test
+    public void cancelAuction_AfterASegment_TombstoneReplacesIt() throws IOException, ClassNotFoundException {
+        this.segments.writeAuction(auction(7));
+        this.segments.writeAuction(auction(8));
+        this.segments.cancelAuction(7);
+        this.segments.cancelAuction(7);
+        List<Auction> read = this.segments.readAuctions();
+        assertEquals(1, read.size());
+        assertEquals(8, read.get(0).getAuctionID());
+        assertEquals(1, this.segments.readCancelled().size());
+        assertEquals(7, (int) this.segments.readCancelled().get(0));
+        assertEquals(2, this.segments.auctionSegmentCount());
+    }
+
+    @Test
+    public void clearAuctions_SegmentsAndTombstones_AllGoneButBidders() throws IOException, ClassNotFoundException {
+        this.segments.writeAuction(auction(7));
+        this.segments.cancelAuction(8);
+        this.segments.writeBidder(new Bidder("Amy", "amy@example.com", "amy", "1 Elm Street", "5550100", 300));
+        this.segments.clearAuctions();
+        assertEquals(0, this.segments.auctionSegmentCount());
+        assertTrue(this.segments.readAuctions().isEmpty());
+        assertEquals("amy", this.segments.readBidders().get(0).getUsername());
+    }
+
+    @Test
+    public void readAuctions_NothingWritten_EmptyWithoutADirectory() throws IOException, ClassNotFoundException {
+        assertTrue(this.segments.readAuctions().isEmpty());
+        assertTrue(this.segments.readCancelled().isEmpty());
+        assertTrue(this.segments.readBidders().isEmpty());
+    }
+
+    private static Auction auction(int id) {
+        Auction toSend = new Auction("Org " + id, START, START.plusHours(2), id);
+        toSend.addItem(new Item("Pen", 1, 5, "", ""));
+        return toSend;
+    }
+}